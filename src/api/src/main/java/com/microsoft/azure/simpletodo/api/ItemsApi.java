@@ -5,17 +5,22 @@
  */
 package com.microsoft.azure.simpletodo.api;
 
+import com.microsoft.azure.simpletodo.model.BulkUpdateResult;
 import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoItemBatchResult;
+import com.microsoft.azure.simpletodo.model.TodoItemChanges;
 import com.microsoft.azure.simpletodo.model.TodoState;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.Parameters;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import java.math.BigDecimal;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +28,7 @@ import java.util.Optional;
 import jakarta.annotation.Generated;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -55,7 +61,10 @@ public interface ItemsApi {
             @ApiResponse(
                 responseCode = "201",
                 description = "A Todo item result",
-                content = { @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)) }
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
             ),
             @ApiResponse(responseCode = "404", description = "Todo list not found"),
         }
@@ -63,8 +72,8 @@ public interface ItemsApi {
     @RequestMapping(
         method = RequestMethod.POST,
         value = "/lists/{listId}/items",
-        produces = { "application/json" },
-        consumes = { "application/json" }
+        produces = { "application/json", "application/x-jackson-smile" },
+        consumes = { "application/json", "application/x-jackson-smile" }
     )
     default ResponseEntity<TodoItem> createItem(
         @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
@@ -77,7 +86,67 @@ public interface ItemsApi {
                 for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
                     if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
                         String exampleString =
-                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\" }";
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /**
+     * POST /lists/{listId}/items:batch : Creates or replaces Todo items within a list in a single batch
+     * Items without an id are created, items with an id replace the item of the list with that id, or are created with that id. The items are written in a single bulk write, an ordered batch stops at its first failure and skips the items after it.
+     *
+     * @param listId The Todo list unique identifier (required)
+     * @param ordered Whether to write the items in order and stop at the first failure (optional, default to true)
+     * @param todoItem The Todo items (optional)
+     * @return The outcome of each Todo item, in the order of the request (status code 200)
+     *         or Batch request is invalid (status code 400)
+     *         or Todo list not found (status code 404)
+     */
+    @Operation(
+        operationId = "createItemsBatch",
+        summary = "Creates or replaces Todo items within a list in a single batch",
+        description = "Items without an id are created, items with an id replace the item of the list with that id, or are created with that id. The items are written in a single bulk write, an ordered batch stops at its first failure and skips the items after it.",
+        tags = { "Items" },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "The outcome of each Todo item, in the order of the request",
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItemBatchResult.class)),
+                }
+            ),
+            @ApiResponse(responseCode = "400", description = "Batch request is invalid"),
+            @ApiResponse(responseCode = "404", description = "Todo list not found"),
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.POST,
+        value = "/lists/{listId}/items:batch",
+        produces = { "application/json" },
+        consumes = { "application/json" }
+    )
+    default ResponseEntity<List<TodoItemBatchResult>> createItemsBatch(
+        @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
+            "listId"
+        ) String listId,
+        @Parameter(
+            name = "ordered",
+            description = "Whether to write the items in order and stop at the first failure"
+        ) @Valid @RequestParam(value = "ordered", required = false, defaultValue = "true") Boolean ordered,
+        @Parameter(name = "TodoItem", description = "The Todo items") @Valid @RequestBody(
+            required = false
+        ) List<TodoItem> todoItem
+    ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "[ { \"id\" : \"id\", \"error\" : \"error\", \"status\" : \"created\" }, { \"id\" : \"id\", \"error\" : \"error\", \"status\" : \"created\" } ]";
                         ApiUtil.setExampleResponse(request, "application/json", exampleString);
                         break;
                     }
@@ -115,12 +184,334 @@ public interface ItemsApi {
         return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
     }
 
+    /**
+     * GET /items/completed : Gets the Todo items of all lists completed within a date range
+     * The items are sorted by completion date, items without a completion date are left out.
+     *
+     * @param from The start of the date range, included. The range is open ended by default (optional)
+     * @param to The end of the date range, excluded. The range is open ended by default (optional)
+     * @param top The max number of items to returns in a result (optional, default to 20)
+     * @param continuationToken Opaque token returned in the x-ms-continuation header of the previous page (optional)
+     * @return An array of Todo items, sorted by date then by id (status code 200)
+     *         or Invalid continuation token (status code 400)
+     */
+    @Operation(
+        operationId = "getCompletedItems",
+        summary = "Gets the Todo items of all lists completed within a date range",
+        description = "The items are sorted by completion date, items without a completion date are left out.",
+        tags = { "Items" },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "An array of Todo items, sorted by date then by id",
+                headers = {
+                    @Header(
+                        name = "x-ms-continuation",
+                        description = "Token to pass as continuationToken to fetch the next page, absent on the last page",
+                        schema = @Schema(type = "string")
+                    ),
+                },
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token"),
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/items/completed",
+        produces = { "application/json", "application/x-jackson-smile" }
+    )
+    default ResponseEntity<List<TodoItem>> getCompletedItems(
+        @Parameter(
+            name = "from",
+            description = "The start of the date range, included. The range is open ended by default"
+        ) @Valid @RequestParam(value = "from", required = false) @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME
+        ) OffsetDateTime from,
+        @Parameter(
+            name = "to",
+            description = "The end of the date range, excluded. The range is open ended by default"
+        ) @Valid @RequestParam(value = "to", required = false) @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME
+        ) OffsetDateTime to,
+        @Parameter(name = "top", description = "The max number of items to returns in a result") @Valid @RequestParam(
+            value = "top",
+            required = false,
+            defaultValue = "20"
+        ) BigDecimal top,
+        @Parameter(
+            name = "continuationToken",
+            description = "Opaque token returned in the x-ms-continuation header of the previous page"
+        ) @Valid @RequestParam(value = "continuationToken", required = false) String continuationToken
+    ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /**
+     * GET /lists/{listId}/items/completed : Gets the Todo items of a list completed within a date range
+     * The items are sorted by completion date, items without a completion date are left out.
+     *
+     * @param listId The Todo list unique identifier (required)
+     * @param from The start of the date range, included. The range is open ended by default (optional)
+     * @param to The end of the date range, excluded. The range is open ended by default (optional)
+     * @param top The max number of items to returns in a result (optional, default to 20)
+     * @param continuationToken Opaque token returned in the x-ms-continuation header of the previous page (optional)
+     * @return An array of Todo items, sorted by date then by id (status code 200)
+     *         or Invalid continuation token (status code 400)
+     *         or Todo list not found (status code 404)
+     */
+    @Operation(
+        operationId = "getCompletedItemsByListId",
+        summary = "Gets the Todo items of a list completed within a date range",
+        description = "The items are sorted by completion date, items without a completion date are left out.",
+        tags = { "Items" },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "An array of Todo items, sorted by date then by id",
+                headers = {
+                    @Header(
+                        name = "x-ms-continuation",
+                        description = "Token to pass as continuationToken to fetch the next page, absent on the last page",
+                        schema = @Schema(type = "string")
+                    ),
+                },
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token"),
+            @ApiResponse(responseCode = "404", description = "Todo list not found"),
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/lists/{listId}/items/completed",
+        produces = { "application/json", "application/x-jackson-smile" }
+    )
+    default ResponseEntity<List<TodoItem>> getCompletedItemsByListId(
+        @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
+            "listId"
+        ) String listId,
+        @Parameter(
+            name = "from",
+            description = "The start of the date range, included. The range is open ended by default"
+        ) @Valid @RequestParam(value = "from", required = false) @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME
+        ) OffsetDateTime from,
+        @Parameter(
+            name = "to",
+            description = "The end of the date range, excluded. The range is open ended by default"
+        ) @Valid @RequestParam(value = "to", required = false) @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME
+        ) OffsetDateTime to,
+        @Parameter(name = "top", description = "The max number of items to returns in a result") @Valid @RequestParam(
+            value = "top",
+            required = false,
+            defaultValue = "20"
+        ) BigDecimal top,
+        @Parameter(
+            name = "continuationToken",
+            description = "Opaque token returned in the x-ms-continuation header of the previous page"
+        ) @Valid @RequestParam(value = "continuationToken", required = false) String continuationToken
+    ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /**
+     * GET /items/due : Gets the Todo items of all lists due within a date range
+     * The items are sorted by due date, items without a due date are left out.
+     *
+     * @param from The start of the date range, included. The range is open ended by default (optional)
+     * @param to The end of the date range, excluded. The range is open ended by default (optional)
+     * @param top The max number of items to returns in a result (optional, default to 20)
+     * @param continuationToken Opaque token returned in the x-ms-continuation header of the previous page (optional)
+     * @return An array of Todo items, sorted by date then by id (status code 200)
+     *         or Invalid continuation token (status code 400)
+     */
+    @Operation(
+        operationId = "getDueItems",
+        summary = "Gets the Todo items of all lists due within a date range",
+        description = "The items are sorted by due date, items without a due date are left out.",
+        tags = { "Items" },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "An array of Todo items, sorted by date then by id",
+                headers = {
+                    @Header(
+                        name = "x-ms-continuation",
+                        description = "Token to pass as continuationToken to fetch the next page, absent on the last page",
+                        schema = @Schema(type = "string")
+                    ),
+                },
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token"),
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/items/due",
+        produces = { "application/json", "application/x-jackson-smile" }
+    )
+    default ResponseEntity<List<TodoItem>> getDueItems(
+        @Parameter(
+            name = "from",
+            description = "The start of the date range, included. The range is open ended by default"
+        ) @Valid @RequestParam(value = "from", required = false) @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME
+        ) OffsetDateTime from,
+        @Parameter(
+            name = "to",
+            description = "The end of the date range, excluded. The range is open ended by default"
+        ) @Valid @RequestParam(value = "to", required = false) @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME
+        ) OffsetDateTime to,
+        @Parameter(name = "top", description = "The max number of items to returns in a result") @Valid @RequestParam(
+            value = "top",
+            required = false,
+            defaultValue = "20"
+        ) BigDecimal top,
+        @Parameter(
+            name = "continuationToken",
+            description = "Opaque token returned in the x-ms-continuation header of the previous page"
+        ) @Valid @RequestParam(value = "continuationToken", required = false) String continuationToken
+    ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /**
+     * GET /lists/{listId}/items/due : Gets the Todo items of a list due within a date range
+     * The items are sorted by due date, items without a due date are left out.
+     *
+     * @param listId The Todo list unique identifier (required)
+     * @param from The start of the date range, included. The range is open ended by default (optional)
+     * @param to The end of the date range, excluded. The range is open ended by default (optional)
+     * @param top The max number of items to returns in a result (optional, default to 20)
+     * @param continuationToken Opaque token returned in the x-ms-continuation header of the previous page (optional)
+     * @return An array of Todo items, sorted by date then by id (status code 200)
+     *         or Invalid continuation token (status code 400)
+     *         or Todo list not found (status code 404)
+     */
+    @Operation(
+        operationId = "getDueItemsByListId",
+        summary = "Gets the Todo items of a list due within a date range",
+        description = "The items are sorted by due date, items without a due date are left out.",
+        tags = { "Items" },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "An array of Todo items, sorted by date then by id",
+                headers = {
+                    @Header(
+                        name = "x-ms-continuation",
+                        description = "Token to pass as continuationToken to fetch the next page, absent on the last page",
+                        schema = @Schema(type = "string")
+                    ),
+                },
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token"),
+            @ApiResponse(responseCode = "404", description = "Todo list not found"),
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/lists/{listId}/items/due",
+        produces = { "application/json", "application/x-jackson-smile" }
+    )
+    default ResponseEntity<List<TodoItem>> getDueItemsByListId(
+        @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
+            "listId"
+        ) String listId,
+        @Parameter(
+            name = "from",
+            description = "The start of the date range, included. The range is open ended by default"
+        ) @Valid @RequestParam(value = "from", required = false) @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME
+        ) OffsetDateTime from,
+        @Parameter(
+            name = "to",
+            description = "The end of the date range, excluded. The range is open ended by default"
+        ) @Valid @RequestParam(value = "to", required = false) @DateTimeFormat(
+            iso = DateTimeFormat.ISO.DATE_TIME
+        ) OffsetDateTime to,
+        @Parameter(name = "top", description = "The max number of items to returns in a result") @Valid @RequestParam(
+            value = "top",
+            required = false,
+            defaultValue = "20"
+        ) BigDecimal top,
+        @Parameter(
+            name = "continuationToken",
+            description = "Opaque token returned in the x-ms-continuation header of the previous page"
+        ) @Valid @RequestParam(value = "continuationToken", required = false) String continuationToken
+    ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
     /**
      * GET /lists/{listId}/items/{itemId} : Gets a Todo item by unique identifier
      *
      * @param listId The Todo list unique identifier (required)
      * @param itemId The Todo item unique identifier (required)
+     * @param ifNoneMatch ETag of the copy the client has, a 304 is returned rather than the body if it is current (optional)
      * @return A Todo item result (status code 200)
+     *         or Not modified (status code 304)
      *         or Todo list or item not found (status code 404)
      */
     @Operation(
@@ -131,26 +522,100 @@ public interface ItemsApi {
             @ApiResponse(
                 responseCode = "200",
                 description = "A Todo item result",
-                content = { @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)) }
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
             ),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
             @ApiResponse(responseCode = "404", description = "Todo list or item not found"),
         }
     )
-    @RequestMapping(method = RequestMethod.GET, value = "/lists/{listId}/items/{itemId}", produces = { "application/json" })
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/lists/{listId}/items/{itemId}",
+        produces = { "application/json", "application/x-jackson-smile" }
+    )
     default ResponseEntity<TodoItem> getItemById(
         @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
             "listId"
         ) String listId,
         @Parameter(name = "itemId", description = "The Todo item unique identifier", required = true) @PathVariable(
             "itemId"
-        ) String itemId
+        ) String itemId,
+        @Parameter(
+            name = "If-None-Match",
+            description = "ETag of the copy the client has, a 304 is returned rather than the body if it is current"
+        ) @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
     ) {
         getRequest()
             .ifPresent(request -> {
                 for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
                     if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
                         String exampleString =
-                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\" }";
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /**
+     * GET /lists/{listId}/items/changes : Gets the Todo items of a list created, updated or deleted since a sync token
+     * Without a sync token, all the items of the list are returned. The changes are returned a page at a time, the client calls again with the returned sync token while hasMore is true, and keeps the last one for the next sync. An item may be returned again by the next sync.
+     *
+     * @param listId The Todo list unique identifier (required)
+     * @param syncToken The syncToken returned by the previous call, absent for a client without a copy of the list (optional)
+     * @param top The max number of items to returns in a result (optional, default to 20)
+     * @return The changes of the Todo items of the list (status code 200)
+     *         or Invalid sync token (status code 400)
+     *         or Todo list not found (status code 404)
+     *         or The sync token has expired, the client should sync again without one (status code 410)
+     */
+    @Operation(
+        operationId = "getItemChangesByListId",
+        summary = "Gets the Todo items of a list created, updated or deleted since a sync token",
+        description = "Without a sync token, all the items of the list are returned. The changes are returned a page at a time, the client calls again with the returned sync token while hasMore is true, and keeps the last one for the next sync. An item may be returned again by the next sync.",
+        tags = { "Items" },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "The changes of the Todo items of the list",
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItemChanges.class)),
+                }
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid sync token"),
+            @ApiResponse(responseCode = "404", description = "Todo list not found"),
+            @ApiResponse(
+                responseCode = "410",
+                description = "The sync token has expired, the client should sync again without one"
+            ),
+        }
+    )
+    @RequestMapping(method = RequestMethod.GET, value = "/lists/{listId}/items/changes", produces = { "application/json" })
+    default ResponseEntity<TodoItemChanges> getItemChangesByListId(
+        @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
+            "listId"
+        ) String listId,
+        @Parameter(
+            name = "syncToken",
+            description = "The syncToken returned by the previous call, absent for a client without a copy of the list"
+        ) @Valid @RequestParam(value = "syncToken", required = false) String syncToken,
+        @Parameter(name = "top", description = "The max number of items to returns in a result") @Valid @RequestParam(
+            value = "top",
+            required = false,
+            defaultValue = "20"
+        ) BigDecimal top
+    ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "{ \"deletedItemIds\" : [ \"deletedItemIds\", \"deletedItemIds\" ], \"syncToken\" : \"syncToken\", \"hasMore\" : true, \"items\" : [ { \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }, { \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 } ] }";
                         ApiUtil.setExampleResponse(request, "application/json", exampleString);
                         break;
                     }
@@ -165,7 +630,12 @@ public interface ItemsApi {
      * @param listId The Todo list unique identifier (required)
      * @param top The max number of items to returns in a result (optional, default to 20)
      * @param skip The number of items to skip within the results (optional, default to 0)
+     * @param continuationToken Opaque token returned in the x-ms-continuation header of the previous page (optional)
+     * @param fields The Todo item properties to return, all of them by default. The id is always returned (optional)
+     * @param ifNoneMatch ETag of the copy the client has, a 304 is returned rather than the body if it is current (optional)
      * @return An array of Todo items (status code 200)
+     *         or Not modified (status code 304)
+     *         or Invalid continuation token or fields (status code 400)
      *         or Todo list not found (status code 404)
      */
     @Operation(
@@ -176,12 +646,28 @@ public interface ItemsApi {
             @ApiResponse(
                 responseCode = "200",
                 description = "An array of Todo items",
-                content = { @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)) }
+                headers = {
+                    @Header(
+                        name = "x-ms-continuation",
+                        description = "Token to pass as continuationToken to fetch the next page, absent on the last page",
+                        schema = @Schema(type = "string")
+                    ),
+                },
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
             ),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token or fields"),
             @ApiResponse(responseCode = "404", description = "Todo list not found"),
         }
     )
-    @RequestMapping(method = RequestMethod.GET, value = "/lists/{listId}/items", produces = { "application/json" })
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/lists/{listId}/items",
+        produces = { "application/json", "application/x-jackson-smile" }
+    )
     default ResponseEntity<List<TodoItem>> getItemsByListId(
         @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
             "listId"
@@ -195,14 +681,26 @@ public interface ItemsApi {
             value = "skip",
             required = false,
             defaultValue = "0"
-        ) BigDecimal skip
+        ) BigDecimal skip,
+        @Parameter(
+            name = "continuationToken",
+            description = "Opaque token returned in the x-ms-continuation header of the previous page"
+        ) @Valid @RequestParam(value = "continuationToken", required = false) String continuationToken,
+        @Parameter(
+            name = "fields",
+            description = "The Todo item properties to return, all of them by default. The id is always returned"
+        ) @Valid @RequestParam(value = "fields", required = false) List<String> fields,
+        @Parameter(
+            name = "If-None-Match",
+            description = "ETag of the copy the client has, a 304 is returned rather than the body if it is current"
+        ) @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
     ) {
         getRequest()
             .ifPresent(request -> {
                 for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
                     if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
                         String exampleString =
-                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\" }";
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
                         ApiUtil.setExampleResponse(request, "application/json", exampleString);
                         break;
                     }
@@ -218,7 +716,12 @@ public interface ItemsApi {
      * @param state The Todo item state (required)
      * @param top The max number of items to returns in a result (optional, default to 20)
      * @param skip The number of items to skip within the results (optional, default to 0)
+     * @param continuationToken Opaque token returned in the x-ms-continuation header of the previous page (optional)
+     * @param fields The Todo item properties to return, all of them by default. The id is always returned (optional)
+     * @param ifNoneMatch ETag of the copy the client has, a 304 is returned rather than the body if it is current (optional)
      * @return An array of Todo items (status code 200)
+     *         or Not modified (status code 304)
+     *         or Invalid continuation token or fields (status code 400)
      *         or Todo list or item not found (status code 404)
      */
     @Operation(
@@ -229,15 +732,27 @@ public interface ItemsApi {
             @ApiResponse(
                 responseCode = "200",
                 description = "An array of Todo items",
-                content = { @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)) }
+                headers = {
+                    @Header(
+                        name = "x-ms-continuation",
+                        description = "Token to pass as continuationToken to fetch the next page, absent on the last page",
+                        schema = @Schema(type = "string")
+                    ),
+                },
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
             ),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token or fields"),
             @ApiResponse(responseCode = "404", description = "Todo list or item not found"),
         }
     )
     @RequestMapping(
         method = RequestMethod.GET,
         value = "/lists/{listId}/items/state/{state}",
-        produces = { "application/json" }
+        produces = { "application/json", "application/x-jackson-smile" }
     )
     default ResponseEntity<List<TodoItem>> getItemsByListIdAndState(
         @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
@@ -255,14 +770,227 @@ public interface ItemsApi {
             value = "skip",
             required = false,
             defaultValue = "0"
-        ) BigDecimal skip
+        ) BigDecimal skip,
+        @Parameter(
+            name = "continuationToken",
+            description = "Opaque token returned in the x-ms-continuation header of the previous page"
+        ) @Valid @RequestParam(value = "continuationToken", required = false) String continuationToken,
+        @Parameter(
+            name = "fields",
+            description = "The Todo item properties to return, all of them by default. The id is always returned"
+        ) @Valid @RequestParam(value = "fields", required = false) List<String> fields,
+        @Parameter(
+            name = "If-None-Match",
+            description = "ETag of the copy the client has, a 304 is returned rather than the body if it is current"
+        ) @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
     ) {
         getRequest()
             .ifPresent(request -> {
                 for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
                     if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
                         String exampleString =
-                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\" }";
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /**
+     * GET /items/overdue : Gets the overdue Todo items of all lists
+     * The items due before now that are not done, sorted by due date.
+     *
+     * @param top The max number of items to returns in a result (optional, default to 20)
+     * @param continuationToken Opaque token returned in the x-ms-continuation header of the previous page (optional)
+     * @return An array of Todo items, sorted by date then by id (status code 200)
+     *         or Invalid continuation token (status code 400)
+     */
+    @Operation(
+        operationId = "getOverdueItems",
+        summary = "Gets the overdue Todo items of all lists",
+        description = "The items due before now that are not done, sorted by due date.",
+        tags = { "Items" },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "An array of Todo items, sorted by date then by id",
+                headers = {
+                    @Header(
+                        name = "x-ms-continuation",
+                        description = "Token to pass as continuationToken to fetch the next page, absent on the last page",
+                        schema = @Schema(type = "string")
+                    ),
+                },
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token"),
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/items/overdue",
+        produces = { "application/json", "application/x-jackson-smile" }
+    )
+    default ResponseEntity<List<TodoItem>> getOverdueItems(
+        @Parameter(name = "top", description = "The max number of items to returns in a result") @Valid @RequestParam(
+            value = "top",
+            required = false,
+            defaultValue = "20"
+        ) BigDecimal top,
+        @Parameter(
+            name = "continuationToken",
+            description = "Opaque token returned in the x-ms-continuation header of the previous page"
+        ) @Valid @RequestParam(value = "continuationToken", required = false) String continuationToken
+    ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /**
+     * GET /lists/{listId}/items/overdue : Gets the overdue Todo items of a list
+     * The items due before now that are not done, sorted by due date.
+     *
+     * @param listId The Todo list unique identifier (required)
+     * @param top The max number of items to returns in a result (optional, default to 20)
+     * @param continuationToken Opaque token returned in the x-ms-continuation header of the previous page (optional)
+     * @return An array of Todo items, sorted by date then by id (status code 200)
+     *         or Invalid continuation token (status code 400)
+     *         or Todo list not found (status code 404)
+     */
+    @Operation(
+        operationId = "getOverdueItemsByListId",
+        summary = "Gets the overdue Todo items of a list",
+        description = "The items due before now that are not done, sorted by due date.",
+        tags = { "Items" },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "An array of Todo items, sorted by date then by id",
+                headers = {
+                    @Header(
+                        name = "x-ms-continuation",
+                        description = "Token to pass as continuationToken to fetch the next page, absent on the last page",
+                        schema = @Schema(type = "string")
+                    ),
+                },
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid continuation token"),
+            @ApiResponse(responseCode = "404", description = "Todo list not found"),
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/lists/{listId}/items/overdue",
+        produces = { "application/json", "application/x-jackson-smile" }
+    )
+    default ResponseEntity<List<TodoItem>> getOverdueItemsByListId(
+        @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
+            "listId"
+        ) String listId,
+        @Parameter(name = "top", description = "The max number of items to returns in a result") @Valid @RequestParam(
+            value = "top",
+            required = false,
+            defaultValue = "20"
+        ) BigDecimal top,
+        @Parameter(
+            name = "continuationToken",
+            description = "Opaque token returned in the x-ms-continuation header of the previous page"
+        ) @Valid @RequestParam(value = "continuationToken", required = false) String continuationToken
+    ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /**
+     * PATCH /lists/{listId}/items/{itemId} : Updates some properties of a Todo item by unique identifier
+     * Only the properties of the patch are written, the other ones are left as they are. The id, list and version of the item cannot be patched.
+     *
+     * @param listId The Todo list unique identifier (required)
+     * @param itemId The Todo item unique identifier (required)
+     * @param requestBody A JSON merge patch of the Todo item, its properties set to null are removed (required)
+     * @param ifMatch ETag of the copy the update is based on, a 412 is returned rather than updating if it is no longer current (optional)
+     * @return A Todo item result (status code 200)
+     *         or Todo item patch is invalid (status code 400)
+     *         or Todo list or item not found (status code 404)
+     *         or Precondition failed (status code 412)
+     */
+    @Operation(
+        operationId = "patchItemById",
+        summary = "Updates some properties of a Todo item by unique identifier",
+        description = "Only the properties of the patch are written, the other ones are left as they are. The id, list and version of the item cannot be patched.",
+        tags = { "Items" },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "A Todo item result",
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
+            ),
+            @ApiResponse(responseCode = "400", description = "Todo item patch is invalid"),
+            @ApiResponse(responseCode = "404", description = "Todo list or item not found"),
+            @ApiResponse(responseCode = "412", description = "Precondition failed"),
+        }
+    )
+    @RequestMapping(
+        method = RequestMethod.PATCH,
+        value = "/lists/{listId}/items/{itemId}",
+        produces = { "application/json", "application/x-jackson-smile" },
+        consumes = { "application/merge-patch+json", "application/json" }
+    )
+    default ResponseEntity<TodoItem> patchItemById(
+        @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
+            "listId"
+        ) String listId,
+        @Parameter(name = "itemId", description = "The Todo item unique identifier", required = true) @PathVariable(
+            "itemId"
+        ) String itemId,
+        @Parameter(
+            name = "request_body",
+            description = "A JSON merge patch of the Todo item, its properties set to null are removed",
+            required = true
+        ) @Valid @RequestBody Map<String, Object> requestBody,
+        @Parameter(
+            name = "If-Match",
+            description = "ETag of the copy the update is based on, a 412 is returned rather than updating if it is no longer current"
+        ) @RequestHeader(value = "If-Match", required = false) String ifMatch
+    ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
                         ApiUtil.setExampleResponse(request, "application/json", exampleString);
                         break;
                     }
@@ -277,9 +1005,11 @@ public interface ItemsApi {
      * @param listId The Todo list unique identifier (required)
      * @param itemId The Todo item unique identifier (required)
      * @param todoItem The Todo Item (optional)
+     * @param ifMatch ETag of the copy the update is based on, a 412 is returned rather than updating if it is no longer current (optional)
      * @return A Todo item result (status code 200)
      *         or Todo item is invalid (status code 400)
      *         or Todo list or item not found (status code 404)
+     *         or Precondition failed (status code 412)
      */
     @Operation(
         operationId = "updateItemById",
@@ -289,17 +1019,21 @@ public interface ItemsApi {
             @ApiResponse(
                 responseCode = "200",
                 description = "A Todo item result",
-                content = { @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)) }
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoItem.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoItem.class)),
+                }
             ),
             @ApiResponse(responseCode = "400", description = "Todo item is invalid"),
             @ApiResponse(responseCode = "404", description = "Todo list or item not found"),
+            @ApiResponse(responseCode = "412", description = "Precondition failed"),
         }
     )
     @RequestMapping(
         method = RequestMethod.PUT,
         value = "/lists/{listId}/items/{itemId}",
-        produces = { "application/json" },
-        consumes = { "application/json" }
+        produces = { "application/json", "application/x-jackson-smile" },
+        consumes = { "application/json", "application/x-jackson-smile" }
     )
     default ResponseEntity<TodoItem> updateItemById(
         @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
@@ -308,14 +1042,18 @@ public interface ItemsApi {
         @Parameter(name = "itemId", description = "The Todo item unique identifier", required = true) @PathVariable(
             "itemId"
         ) String itemId,
-        @Parameter(name = "TodoItem", description = "The Todo Item") @Valid @RequestBody(required = false) TodoItem todoItem
+        @Parameter(name = "TodoItem", description = "The Todo Item") @Valid @RequestBody(required = false) TodoItem todoItem,
+        @Parameter(
+            name = "If-Match",
+            description = "ETag of the copy the update is based on, a 412 is returned rather than updating if it is no longer current"
+        ) @RequestHeader(value = "If-Match", required = false) String ifMatch
     ) {
         getRequest()
             .ifPresent(request -> {
                 for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
                     if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
                         String exampleString =
-                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\" }";
+                            "{ \"listId\" : \"listId\", \"dueDate\" : \"2000-01-23T04:56:07.000+00:00\", \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"version\" : 0 }";
                         ApiUtil.setExampleResponse(request, "application/json", exampleString);
                         break;
                     }
@@ -330,7 +1068,7 @@ public interface ItemsApi {
      * @param listId The Todo list unique identifier (required)
      * @param state The Todo item state (required)
      * @param requestBody unique identifiers of the Todo items to update (optional)
-     * @return Todo items updated (status code 204)
+     * @return Todo items updated (status code 200)
      *         or Update request is invalid (status code 400)
      */
     @Operation(
@@ -338,16 +1076,23 @@ public interface ItemsApi {
         summary = "Changes the state of the specified list items",
         tags = { "Items" },
         responses = {
-            @ApiResponse(responseCode = "204", description = "Todo items updated"),
+            @ApiResponse(
+                responseCode = "200",
+                description = "Todo items updated",
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = BulkUpdateResult.class)),
+                }
+            ),
             @ApiResponse(responseCode = "400", description = "Update request is invalid"),
         }
     )
     @RequestMapping(
         method = RequestMethod.PUT,
         value = "/lists/{listId}/items/state/{state}",
+        produces = { "application/json" },
         consumes = { "application/json" }
     )
-    default ResponseEntity<Void> updateItemsStateByListId(
+    default ResponseEntity<BulkUpdateResult> updateItemsStateByListId(
         @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
             "listId"
         ) String listId,
@@ -359,6 +1104,16 @@ public interface ItemsApi {
             description = "unique identifiers of the Todo items to update"
         ) @Valid @RequestBody(required = false) List<String> requestBody
     ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString = "{ \"matchedCount\" : 0, \"modifiedCount\" : 0 }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
         return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
     }
 }
@@ -6,6 +6,8 @@
 package com.microsoft.azure.simpletodo.api;
 
 import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.model.TodoListDeletion;
+import com.microsoft.azure.simpletodo.model.TodoListStats;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.Parameters;
@@ -52,7 +54,10 @@ public interface ListsApi {
             @ApiResponse(
                 responseCode = "201",
                 description = "A Todo list result",
-                content = { @Content(mediaType = "application/json", schema = @Schema(implementation = TodoList.class)) }
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoList.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoList.class)),
+                }
             ),
             @ApiResponse(responseCode = "400", description = "Invalid request schema"),
         }
@@ -60,8 +65,8 @@ public interface ListsApi {
     @RequestMapping(
         method = RequestMethod.POST,
         value = "/lists",
-        produces = { "application/json" },
-        consumes = { "application/json" }
+        produces = { "application/json", "application/x-jackson-smile" },
+        consumes = { "application/json", "application/x-jackson-smile" }
     )
     default ResponseEntity<TodoList> createList(
         @Parameter(name = "TodoList", description = "The Todo List") @Valid @RequestBody(required = false) TodoList todoList
@@ -70,7 +75,8 @@ public interface ListsApi {
             .ifPresent(request -> {
                 for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
                     if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
-                        String exampleString = "{ \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\" }";
+                        String exampleString =
+                            "{ \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"version\" : 0 }";
                         ApiUtil.setExampleResponse(request, "application/json", exampleString);
                         break;
                     }
@@ -81,9 +87,10 @@ public interface ListsApi {
 
     /**
      * DELETE /lists/{listId} : Deletes a Todo list by unique identifier
+     * The items of the list are deleted in the background, poll the returned location for progress.
      *
      * @param listId The Todo list unique identifier (required)
-     * @return Todo list deleted successfully (status code 204)
+     * @return Todo list deleted, deletion of its items started (status code 202)
      *         or Todo list not found (status code 404)
      */
     @Operation(
@@ -91,16 +98,75 @@ public interface ListsApi {
         summary = "Deletes a Todo list by unique identifier",
         tags = { "Lists" },
         responses = {
-            @ApiResponse(responseCode = "204", description = "Todo list deleted successfully"),
+            @ApiResponse(
+                responseCode = "202",
+                description = "Todo list deleted, deletion of its items started",
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoListDeletion.class)),
+                }
+            ),
             @ApiResponse(responseCode = "404", description = "Todo list not found"),
         }
     )
-    @RequestMapping(method = RequestMethod.DELETE, value = "/lists/{listId}")
-    default ResponseEntity<Void> deleteListById(
+    @RequestMapping(method = RequestMethod.DELETE, value = "/lists/{listId}", produces = { "application/json" })
+    default ResponseEntity<TodoListDeletion> deleteListById(
         @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
             "listId"
         ) String listId
     ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "{ \"listId\" : \"listId\", \"status\" : \"inprogress\", \"deletedItemCount\" : 0, \"startedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\" }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /**
+     * GET /lists/{listId}/deletion : Gets the progress of the deletion of the items of a deleted Todo list
+     *
+     * @param listId The Todo list unique identifier (required)
+     * @return Progress of the deletion (status code 200)
+     *         or No recent deletion of the list (status code 404)
+     */
+    @Operation(
+        operationId = "getListDeletion",
+        summary = "Gets the progress of the deletion of the items of a deleted Todo list",
+        tags = { "Lists" },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "Progress of the deletion",
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoListDeletion.class)),
+                }
+            ),
+            @ApiResponse(responseCode = "404", description = "No recent deletion of the list"),
+        }
+    )
+    @RequestMapping(method = RequestMethod.GET, value = "/lists/{listId}/deletion", produces = { "application/json" })
+    default ResponseEntity<TodoListDeletion> getListDeletion(
+        @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
+            "listId"
+        ) String listId
+    ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "{ \"listId\" : \"listId\", \"status\" : \"inprogress\", \"deletedItemCount\" : 0, \"startedDate\" : \"2000-01-23T04:56:07.000+00:00\", \"completedDate\" : \"2000-01-23T04:56:07.000+00:00\" }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
         return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
     }
 
@@ -108,7 +174,9 @@ public interface ListsApi {
      * GET /lists/{listId} : Gets a Todo list by unique identifier
      *
      * @param listId The Todo list unique identifier (required)
+     * @param ifNoneMatch ETag of the copy the client has, a 304 is returned rather than the body if it is current (optional)
      * @return A Todo list result (status code 200)
+     *         or Not modified (status code 304)
      *         or Todo list not found (status code 404)
      */
     @Operation(
@@ -119,22 +187,84 @@ public interface ListsApi {
             @ApiResponse(
                 responseCode = "200",
                 description = "A Todo list result",
-                content = { @Content(mediaType = "application/json", schema = @Schema(implementation = TodoList.class)) }
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoList.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoList.class)),
+                }
             ),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
             @ApiResponse(responseCode = "404", description = "Todo list not found"),
         }
     )
-    @RequestMapping(method = RequestMethod.GET, value = "/lists/{listId}", produces = { "application/json" })
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/lists/{listId}",
+        produces = { "application/json", "application/x-jackson-smile" }
+    )
     default ResponseEntity<TodoList> getListById(
         @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
             "listId"
-        ) String listId
+        ) String listId,
+        @Parameter(
+            name = "If-None-Match",
+            description = "ETag of the copy the client has, a 304 is returned rather than the body if it is current"
+        ) @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
+    ) {
+        getRequest()
+            .ifPresent(request -> {
+                for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
+                    if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
+                        String exampleString =
+                            "{ \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"version\" : 0 }";
+                        ApiUtil.setExampleResponse(request, "application/json", exampleString);
+                        break;
+                    }
+                }
+            });
+        return new ResponseEntity<>(HttpStatus.NOT_IMPLEMENTED);
+    }
+
+    /**
+     * GET /lists/{listId}/stats : Gets the number of Todo items of a list, by state
+     *
+     * @param listId The Todo list unique identifier (required)
+     * @param ifNoneMatch ETag of the copy the client has, a 304 is returned rather than the body if it is current (optional)
+     * @return The number of Todo items of the list, by state (status code 200)
+     *         or Not modified (status code 304)
+     *         or Todo list not found (status code 404)
+     */
+    @Operation(
+        operationId = "getListStats",
+        summary = "Gets the number of Todo items of a list, by state",
+        tags = { "Lists" },
+        responses = {
+            @ApiResponse(
+                responseCode = "200",
+                description = "The number of Todo items of the list, by state",
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoListStats.class)),
+                }
+            ),
+            @ApiResponse(responseCode = "304", description = "Not modified"),
+            @ApiResponse(responseCode = "404", description = "Todo list not found"),
+        }
+    )
+    @RequestMapping(method = RequestMethod.GET, value = "/lists/{listId}/stats", produces = { "application/json" })
+    default ResponseEntity<TodoListStats> getListStats(
+        @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
+            "listId"
+        ) String listId,
+        @Parameter(
+            name = "If-None-Match",
+            description = "ETag of the copy the client has, a 304 is returned rather than the body if it is current"
+        ) @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch
     ) {
         getRequest()
             .ifPresent(request -> {
                 for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
                     if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
-                        String exampleString = "{ \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\" }";
+                        String exampleString =
+                            "{ \"total\" : 6, \"inprogress\" : 1, \"listId\" : \"listId\", \"todo\" : 0, \"done\" : 5 }";
                         ApiUtil.setExampleResponse(request, "application/json", exampleString);
                         break;
                     }
@@ -158,11 +288,18 @@ public interface ListsApi {
             @ApiResponse(
                 responseCode = "200",
                 description = "An array of Todo lists",
-                content = { @Content(mediaType = "application/json", schema = @Schema(implementation = TodoList.class)) }
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoList.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoList.class)),
+                }
             ),
         }
     )
-    @RequestMapping(method = RequestMethod.GET, value = "/lists", produces = { "application/json" })
+    @RequestMapping(
+        method = RequestMethod.GET,
+        value = "/lists",
+        produces = { "application/json", "application/x-jackson-smile" }
+    )
     default ResponseEntity<List<TodoList>> getLists(
         @Parameter(name = "top", description = "The max number of items to returns in a result") @Valid @RequestParam(
             value = "top",
@@ -179,7 +316,8 @@ public interface ListsApi {
             .ifPresent(request -> {
                 for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
                     if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
-                        String exampleString = "{ \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\" }";
+                        String exampleString =
+                            "{ \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"version\" : 0 }";
                         ApiUtil.setExampleResponse(request, "application/json", exampleString);
                         break;
                     }
@@ -193,9 +331,11 @@ public interface ListsApi {
      *
      * @param listId The Todo list unique identifier (required)
      * @param todoList The Todo List (optional)
+     * @param ifMatch ETag of the copy the update is based on, a 412 is returned rather than updating if it is no longer current (optional)
      * @return A Todo list result (status code 200)
      *         or Todo list not found (status code 404)
      *         or Todo list is invalid (status code 400)
+     *         or Precondition failed (status code 412)
      */
     @Operation(
         operationId = "updateListById",
@@ -205,29 +345,38 @@ public interface ListsApi {
             @ApiResponse(
                 responseCode = "200",
                 description = "A Todo list result",
-                content = { @Content(mediaType = "application/json", schema = @Schema(implementation = TodoList.class)) }
+                content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TodoList.class)),
+                    @Content(mediaType = "application/x-jackson-smile", schema = @Schema(implementation = TodoList.class)),
+                }
             ),
             @ApiResponse(responseCode = "404", description = "Todo list not found"),
             @ApiResponse(responseCode = "400", description = "Todo list is invalid"),
+            @ApiResponse(responseCode = "412", description = "Precondition failed"),
         }
     )
     @RequestMapping(
         method = RequestMethod.PUT,
         value = "/lists/{listId}",
-        produces = { "application/json" },
-        consumes = { "application/json" }
+        produces = { "application/json", "application/x-jackson-smile" },
+        consumes = { "application/json", "application/x-jackson-smile" }
     )
     default ResponseEntity<TodoList> updateListById(
         @Parameter(name = "listId", description = "The Todo list unique identifier", required = true) @PathVariable(
             "listId"
         ) String listId,
-        @Parameter(name = "TodoList", description = "The Todo List") @Valid @RequestBody(required = false) TodoList todoList
+        @Parameter(name = "TodoList", description = "The Todo List") @Valid @RequestBody(required = false) TodoList todoList,
+        @Parameter(
+            name = "If-Match",
+            description = "ETag of the copy the update is based on, a 412 is returned rather than updating if it is no longer current"
+        ) @RequestHeader(value = "If-Match", required = false) String ifMatch
     ) {
         getRequest()
             .ifPresent(request -> {
                 for (MediaType mediaType : MediaType.parseMediaTypes(request.getHeader("Accept"))) {
                     if (mediaType.isCompatibleWith(MediaType.valueOf("application/json"))) {
-                        String exampleString = "{ \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\" }";
+                        String exampleString =
+                            "{ \"name\" : \"name\", \"description\" : \"description\", \"id\" : \"id\", \"version\" : 0 }";
                         ApiUtil.setExampleResponse(request, "application/json", exampleString);
                         break;
                     }
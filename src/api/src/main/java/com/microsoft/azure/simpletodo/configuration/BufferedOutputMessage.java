@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.configuration;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+
+/**
+ * Output message of a converter whose body is written to a buffer, then to the response along with its
+ * Content-Length.
+ * <p>
+ * The Jackson converters of Spring MVC stream the body to the response and flush it, which commits the
+ * response before its size is known, and Tomcat then compresses it whatever its size. With the length,
+ * the responses smaller than `server.compression.min-response-size` are sent as they are. The bodies
+ * written by the converters are bounded by the page size of the listings, the streamed listings and
+ * exports don't go through them.
+ */
+final class BufferedOutputMessage implements HttpOutputMessage {
+
+    private static final int INITIAL_SIZE = 1024;
+
+    interface BodyWriter {
+        void write(HttpOutputMessage outputMessage) throws IOException;
+    }
+
+    private final HttpHeaders headers;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(INITIAL_SIZE);
+
+    private BufferedOutputMessage(HttpHeaders headers) {
+        this.headers = headers;
+    }
+
+    /**
+     * Writes the body of a message with the given writer, then sends it with its length.
+     */
+    static void write(HttpOutputMessage outputMessage, BodyWriter writer) throws IOException {
+        final HttpHeaders headers = outputMessage.getHeaders();
+        final BufferedOutputMessage buffered = new BufferedOutputMessage(headers);
+        writer.write(buffered);
+        if (headers.getContentLength() < 0 && !headers.containsKey(HttpHeaders.TRANSFER_ENCODING)) {
+            headers.setContentLength(buffered.body.size());
+        }
+        buffered.body.writeTo(outputMessage.getBody());
+    }
+
+    @Override
+    public OutputStream getBody() {
+        return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.configuration;
+
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import java.util.Map;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.util.StringUtils;
+
+/**
+ * In-process read-through cache of Todo lists and items.
+ * <p>
+ * The caches are declared on the repositories: lookups by id are cached and every write through a
+ * repository updates or evicts the entries it touches. Size and time to live are set with
+ * `spring.cache.caffeine.spec`, the TTL also bounds how long writes made through other instances
+ * can go unnoticed. Set `spring.cache.type=none` to turn caching off.
+ * <p>
+ * The lists and items are cached as BSON documents, and every lookup reads them into new objects: the
+ * callers change the entities they get, such as their version, which must not change the cached ones.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfiguration {
+
+    /**
+     * Todo lists by id.
+     */
+    public static final String TODO_LISTS = "todoLists";
+
+    /**
+     * Todo items by `listId + '/' + id`.
+     */
+    public static final String TODO_ITEMS = "todoItems";
+
+    /**
+     * Counts of the items of a list by state, by `listId + '/' + itemsVersion`.
+     */
+    public static final String LIST_STATS = "listStats";
+
+    // the caches of entities, which are copied in and out of the cache.
+    private static final Map<String, Class<?>> ENTITY_TYPES = Map.of(TODO_LISTS, TodoList.class, TODO_ITEMS, TodoItem.class);
+
+    /**
+     * The Caffeine cache manager of Spring Boot, set up with the same `spring.cache` properties, whose
+     * caches of entities keep copies.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "caffeine", matchIfMissing = true)
+    public CaffeineCacheManager cacheManager(
+        CacheProperties cacheProperties,
+        ObjectProvider<MongoConverter> mongoConverter
+    ) {
+        final CaffeineCacheManager cacheManager = new EntityCacheManager(mongoConverter);
+        if (StringUtils.hasText(cacheProperties.getCaffeine().getSpec())) {
+            cacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        }
+        if (!cacheProperties.getCacheNames().isEmpty()) {
+            cacheManager.setCacheNames(cacheProperties.getCacheNames());
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Evicts the cached items of a list, for writes that can touch any of them.
+     */
+    public static void evictItemsOfList(CacheManager cacheManager, String listId) {
+        final Cache cache = cacheManager.getCache(TODO_ITEMS);
+        if (cache == null) {
+            return;
+        }
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> caffeine) {
+            final String prefix = listId + "/";
+            caffeine.asMap().keySet().removeIf(key -> key.toString().startsWith(prefix));
+        } else {
+            cache.clear();
+        }
+    }
+
+    private static final class EntityCacheManager extends CaffeineCacheManager {
+
+        private final ObjectProvider<MongoConverter> mongoConverter;
+
+        private EntityCacheManager(ObjectProvider<MongoConverter> mongoConverter) {
+            this.mongoConverter = mongoConverter;
+        }
+
+        @Override
+        protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+            final Class<?> type = ENTITY_TYPES.get(name);
+            return type == null
+                ? super.adaptCaffeineCache(name, cache)
+                : new EntityCache(name, cache, isAllowNullValues(), type, mongoConverter.getObject());
+        }
+    }
+
+    /**
+     * Cache of entities of a type, stored as the documents they are written as in the database.
+     */
+    private static final class EntityCache extends CaffeineCache {
+
+        private final Class<?> type;
+
+        private final MongoConverter mongoConverter;
+
+        private EntityCache(
+            String name,
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+            boolean allowNullValues,
+            Class<?> type,
+            MongoConverter mongoConverter
+        ) {
+            super(name, cache, allowNullValues);
+            this.type = type;
+            this.mongoConverter = mongoConverter;
+        }
+
+        @Override
+        protected Object toStoreValue(Object userValue) {
+            if (!type.isInstance(userValue)) {
+                return super.toStoreValue(userValue);
+            }
+            final Document document = new Document();
+            mongoConverter.write(userValue, document);
+            return document;
+        }
+
+        @Override
+        protected Object fromStoreValue(Object storeValue) {
+            return storeValue instanceof Document document
+                ? mongoConverter.read(type, document)
+                : super.fromStoreValue(storeValue);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.configuration;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.deser.InstantDeserializer;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.OffsetDateTime;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class JacksonConfiguration {
+
+    /**
+     * (De)serializes the dates of the request and response bodies with {@link RFC3339DateTimeCodec}.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer rfc3339DateTimeCustomizer() {
+        return JacksonConfiguration::rfc3339DateTime;
+    }
+
+    /**
+     * Sets the (de)serializers of the dates on an object mapper builder, also used by the benchmarks to
+     * build an object mapper like the one of the application.
+     */
+    public static void rfc3339DateTime(Jackson2ObjectMapperBuilder builder) {
+        builder
+            .serializerByType(OffsetDateTime.class, new OffsetDateTimeSerializer())
+            .deserializerByType(OffsetDateTime.class, new OffsetDateTimeDeserializer());
+    }
+
+    /**
+     * @return an object mapper of Smile, the binary form of JSON, with the settings of the JSON one.
+     */
+    static ObjectMapper smileObjectMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new SmileFactory()).build();
+    }
+
+    static class OffsetDateTimeSerializer extends StdSerializer<OffsetDateTime> {
+
+        OffsetDateTimeSerializer() {
+            super(OffsetDateTime.class);
+        }
+
+        @Override
+        public void serialize(OffsetDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeString(RFC3339DateTimeCodec.format(value));
+        }
+    }
+
+    static class OffsetDateTimeDeserializer extends StdScalarDeserializer<OffsetDateTime> {
+
+        OffsetDateTimeDeserializer() {
+            super(OffsetDateTime.class);
+        }
+
+        @Override
+        public OffsetDateTime deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_STRING)) {
+                try {
+                    return RFC3339DateTimeCodec.parse(p.getText().trim());
+                } catch (DateTimeException e) {
+                    // not an RFC 3339 or ISO 8601 date, see below.
+                }
+            }
+            // the other forms Jackson accepts, such as epoch seconds or offsets without colon, and the errors.
+            return InstantDeserializer.OFFSET_DATE_TIME.deserialize(p, ctxt);
+        }
+    }
+}
@@ -5,13 +5,18 @@
 
 package com.microsoft.azure.simpletodo.configuration;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
-import java.time.ZoneOffset;
 import java.util.Arrays;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
 import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
 
 @Configuration
@@ -24,19 +29,48 @@ public class MongoDBConfiguration {
         );
     }
 
+    /**
+     * Sizes the connection pool of the MongoDB clients, for the settings that are set. The connection
+     * string options apply otherwise.
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+        @Value("${todo.mongodb.pool.max-size:#{null}}") Integer maxSize,
+        @Value("${todo.mongodb.pool.max-connecting:#{null}}") Integer maxConnecting,
+        @Value("${todo.mongodb.pool.max-wait-time:#{null}}") Duration maxWaitTime
+    ) {
+        return settings ->
+            settings.applyToConnectionPoolSettings(pool -> {
+                if (maxSize != null) {
+                    pool.maxSize(maxSize);
+                }
+                if (maxConnecting != null) {
+                    pool.maxConnecting(maxConnecting);
+                }
+                if (maxWaitTime != null) {
+                    pool.maxWaitTime(maxWaitTime.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            });
+    }
+
+    // the dates are stored as BSON dates, in UTC, so that they are ordered as instants: the bounds of the
+    // date range queries go through the same conversion as the stored dates. The driver reads BSON dates as
+    // Date, which only wraps their epoch milliseconds.
+    @WritingConverter
     static class OffsetDateTimeWriteConverter implements Converter<OffsetDateTime, Date> {
 
         @Override
         public Date convert(OffsetDateTime source) {
-            return Date.from(source.toInstant().atZone(ZoneOffset.UTC).toInstant());
+            return new Date(RFC3339DateTimeCodec.toEpochMilli(source));
         }
     }
 
+    @ReadingConverter
     static class OffsetDateTimeReadConverter implements Converter<Date, OffsetDateTime> {
 
         @Override
         public OffsetDateTime convert(Date source) {
-            return source.toInstant().atOffset(ZoneOffset.UTC);
+            return RFC3339DateTimeCodec.ofEpochMilli(source.getTime());
         }
     }
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.configuration;
+
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.mongodb.MongoException;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.bson.json.JsonParseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.CompoundIndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the MongoDB indexes in line with the query shapes of the repositories.
+ * <p>
+ * Once the application is ready it creates the indexes declared on the mapped entities and the ones
+ * of {@link #TODO_ITEM_INDEXES}, which is a no-op for indexes that already exist, and then checks that
+ * every query method of the repositories filters on the leading keys of an existing index, logging the
+ * ones that would scan the whole collection. It runs off the startup thread so an unreachable database
+ * doesn't hold up startup.
+ */
+@Component
+public class MongoIndexManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MongoIndexManager.class);
+
+    private static final String ID_FIELD = "_id";
+
+    // `?0`, `?1`... parameter placeholders of annotated queries, not valid JSON on their own.
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\?\\d+");
+
+    /**
+     * The indexes of the items. They are declared here rather than on {@link TodoItem}, which is
+     * generated from the OpenAPI spec.
+     */
+    static final List<IndexDefinition> TODO_ITEM_INDEXES = List.of(
+        // items of a list, also serves lookups of a single item within its list.
+        index("listId_id", "{ 'listId': 1, '_id': 1 }"),
+        // items of a list in a given state.
+        index("listId_state_id", "{ 'listId': 1, 'state': 1, '_id': 1 }"),
+        // items of a list within a due date range.
+        index("listId_dueDate_id", "{ 'listId': 1, 'dueDate': 1, '_id': 1 }"),
+        // items of all lists within a due date range.
+        index("dueDate_id", "{ 'dueDate': 1, '_id': 1 }"),
+        // items of a list, and of all lists, within a completion date range.
+        index("listId_completedDate_id", "{ 'listId': 1, 'completedDate': 1, '_id': 1 }"),
+        index("completedDate_id", "{ 'completedDate': 1, '_id': 1 }"),
+        // items of a list changed since a version of its items, for the delta sync.
+        index("listId_changeSeq_id", "{ 'listId': 1, 'changeSeq': 1, '_id': 1 }"),
+        // items marked with a pending change, for the sweep finishing the changes of failed writes.
+        index("pending_changeSeq_id", "{ 'changeSeq': 1, '_id': 1 }")
+            .partial(PartialIndexFilter.of(Document.parse("{ 'changeSeq': { '$lt': 0 } }")))
+    );
+
+    private final MongoTemplate mongoTemplate;
+
+    private final ListableBeanFactory beanFactory;
+
+    private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
+
+    public MongoIndexManager(MongoTemplate mongoTemplate, ListableBeanFactory beanFactory) {
+        this.mongoTemplate = mongoTemplate;
+        this.beanFactory = beanFactory;
+        this.mappingContext = mongoTemplate.getConverter().getMappingContext();
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            ensureIndexes();
+            checkQueryCoverage();
+        } catch (DataAccessException | MongoException e) {
+            LOGGER.warn("Unable to manage MongoDB indexes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the indexes declared with `@Indexed`/`@CompoundIndex` on every `@Document` entity, and
+     * the indexes of the items.
+     */
+    public void ensureIndexes() {
+        final IndexOperations todoItemIndexes = mongoTemplate.indexOps(TodoItem.class);
+        for (IndexDefinition definition : TODO_ITEM_INDEXES) {
+            final String name = todoItemIndexes.ensureIndex(definition);
+            LOGGER.info("Ensured index {} on collection {}", name, mongoTemplate.getCollectionName(TodoItem.class));
+        }
+        final IndexResolver resolver = IndexResolver.create(mappingContext);
+        for (MongoPersistentEntity<?> entity : mappingContext.getPersistentEntities()) {
+            if (!entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                continue;
+            }
+            final IndexOperations indexOperations = mongoTemplate.indexOps(entity.getType());
+            for (IndexDefinition definition : resolver.resolveIndexFor(entity.getTypeInformation())) {
+                final String name = indexOperations.ensureIndex(definition);
+                LOGGER.info("Ensured index {} on collection {}", name, entity.getCollection());
+            }
+        }
+    }
+
+    /**
+     * Logs the repository query methods whose filter isn't served by an index.
+     *
+     * @return the number of query shapes that aren't covered.
+     */
+    public int checkQueryCoverage() {
+        final Repositories repositories = new Repositories(beanFactory);
+        int uncovered = 0;
+        for (Class<?> domainType : repositories) {
+            final MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(domainType);
+            // every collection has an `_id` index, even before it is created and `listIndexes` returns it.
+            final List<List<String>> indexes = Stream
+                .concat(
+                    Stream.of(List.of(ID_FIELD)),
+                    mongoTemplate
+                        .indexOps(domainType)
+                        .getIndexInfo()
+                        .stream()
+                        .map(i -> i.getIndexFields().stream().map(IndexField::getKey).toList())
+                )
+                .toList();
+            final RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            for (Method method : information.getQueryMethods()) {
+                // methods of custom fragments aren't queries, even when they are not recognized as such.
+                if (!method.getDeclaringClass().equals(information.getRepositoryInterface())) {
+                    continue;
+                }
+                final List<Set<String>> filters;
+                try {
+                    filters = filtersOf(method, domainType);
+                } catch (JsonParseException e) {
+                    // a query that can't be read is reported on its own, the other methods are still checked.
+                    LOGGER.warn(
+                        "Unable to read the query of {}.{}: {}",
+                        method.getDeclaringClass().getSimpleName(),
+                        method.getName(),
+                        e.getMessage()
+                    );
+                    continue;
+                }
+                for (Set<String> filter : filters) {
+                    if (!filter.isEmpty() && indexes.stream().noneMatch(keys -> isCoveredBy(filter, keys))) {
+                        uncovered++;
+                        LOGGER.warn(
+                            "{}.{} filters on {} but no index of collection {} starts with these keys",
+                            method.getDeclaringClass().getSimpleName(),
+                            method.getName(),
+                            filter,
+                            entity.getCollection()
+                        );
+                    }
+                }
+            }
+        }
+        return uncovered;
+    }
+
+    /**
+     * @return the field names each query issued by the method filters on, one set per `$or` branch of
+     *         a derived query.
+     */
+    private List<Set<String>> filtersOf(Method method, Class<?> domainType) {
+        final Aggregation aggregation = AnnotatedElementUtils.findMergedAnnotation(method, Aggregation.class);
+        if (aggregation != null) {
+            // only a leading `$match` stage can use an index.
+            final String[] pipeline = aggregation.pipeline();
+            if (pipeline.length == 0) {
+                return List.of();
+            }
+            final Document match = parse(pipeline[0]).get("$match", Document.class);
+            return match == null ? List.of() : List.of(fieldsOf(match));
+        }
+        final Query query = AnnotatedElementUtils.findMergedAnnotation(method, Query.class);
+        if (query != null && !query.value().isEmpty()) {
+            return List.of(fieldsOf(parse(query.value())));
+        }
+        return new PartTree(method.getName(), domainType)
+            .stream()
+            .map(orPart -> {
+                final Set<String> fields = new LinkedHashSet<>();
+                for (Part part : orPart) {
+                    fields.add(
+                        mappingContext
+                            .getPersistentPropertyPath(part.getProperty())
+                            .toDotPath(MongoPersistentProperty::getFieldName)
+                    );
+                }
+                return fields;
+            })
+            .toList();
+    }
+
+    private static CompoundIndexDefinition index(String name, String keys) {
+        final CompoundIndexDefinition definition = new CompoundIndexDefinition(Document.parse(keys));
+        definition.named(name);
+        return definition;
+    }
+
+    private static Document parse(String json) {
+        return Document.parse(PLACEHOLDER.matcher(json).replaceAll("null"));
+    }
+
+    private static Set<String> fieldsOf(Document filter) {
+        final Set<String> fields = new LinkedHashSet<>();
+        for (String key : filter.keySet()) {
+            if (!key.startsWith("$")) {
+                fields.add(key);
+            }
+        }
+        return fields;
+    }
+
+    // an index serves a filter when the filtered fields are its leading keys, in any order.
+    private static boolean isCoveredBy(Set<String> filter, List<String> indexKeys) {
+        return indexKeys.size() >= filter.size() && new HashSet<>(indexKeys.subList(0, filter.size())).equals(filter);
+    }
+}
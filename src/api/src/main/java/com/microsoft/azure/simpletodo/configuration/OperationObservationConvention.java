@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.configuration;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Tags the `http.server.requests` metrics with the `operation` serving the request: the name of the
+ * `ItemsApi` or `ListsApi` method, which is the operation id of the OpenAPI spec.
+ */
+public class OperationObservationConvention extends DefaultServerRequestObservationConvention {
+
+    static final String OPERATION = "operation";
+
+    // requests not served by a controller method, e.g. unknown paths or static resources. The tag is
+    // always set, Prometheus needs the same tags on every meter of a name.
+    static final String NO_OPERATION = "none";
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super
+            .getLowCardinalityKeyValues(context)
+            .and(operation(context.getCarrier().getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)));
+    }
+
+    static KeyValue operation(Object handler) {
+        return KeyValue.of(OPERATION, handler instanceof HandlerMethod method ? method.getMethod().getName() : NO_OPERATION);
+    }
+}
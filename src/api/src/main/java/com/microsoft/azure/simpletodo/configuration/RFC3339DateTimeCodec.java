@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.configuration;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * RFC 3339 text and epoch milliseconds of the dates of the API, which are `OffsetDateTime` in UTC.
+ * <p>
+ * The dates are written as `yyyy-MM-ddTHH:mm:ss[.fraction]Z` in UTC, with as many digits of fraction
+ * as needed, and read in UTC whatever their offset, like the `OffsetDateTime` (de)serializers of
+ * Jackson with the default settings. The methods only read their arguments and the formatters they
+ * fall back to are immutable, so they can be called from any thread without locking.
+ */
+public final class RFC3339DateTimeCodec {
+
+    // the longest date written, with nanoseconds.
+    private static final int MAX_LENGTH = "yyyy-MM-ddTHH:mm:ss.nnnnnnnnnZ".length();
+
+    private static final int[] FRACTION_SCALE = {
+        100_000_000,
+        10_000_000,
+        1_000_000,
+        100_000,
+        10_000,
+        1_000,
+        100,
+        10,
+        1,
+    };
+
+    private RFC3339DateTimeCodec() {}
+
+    /**
+     * @return the date as RFC 3339 text, in UTC.
+     */
+    public static String format(OffsetDateTime value) {
+        final OffsetDateTime utc = toUtc(value);
+        final int year = utc.getYear();
+        if (year < 0 || year > 9999) {
+            // not representable in RFC 3339, written like ISO 8601 does.
+            return DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(utc);
+        }
+        final char[] chars = new char[MAX_LENGTH];
+        writeDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, utc.getMonthValue(), 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, utc.getDayOfMonth(), 2);
+        chars[10] = 'T';
+        writeDigits(chars, 11, utc.getHour(), 2);
+        chars[13] = ':';
+        writeDigits(chars, 14, utc.getMinute(), 2);
+        chars[16] = ':';
+        writeDigits(chars, 17, utc.getSecond(), 2);
+        int length = 19;
+        int nano = utc.getNano();
+        if (nano != 0) {
+            int digits = 9;
+            while (nano % 10 == 0) {
+                nano /= 10;
+                digits--;
+            }
+            chars[length++] = '.';
+            writeDigits(chars, length, nano, digits);
+            length += digits;
+        }
+        chars[length++] = 'Z';
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * Reads an RFC 3339 date, or an ISO 8601 one with an offset, such as one without seconds.
+     *
+     * @return the date, in UTC.
+     * @throws DateTimeParseException if the text is not a valid date.
+     */
+    public static OffsetDateTime parse(CharSequence text) {
+        final OffsetDateTime value = parseRfc3339(text);
+        return value != null ? value : toUtc(OffsetDateTime.parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+    }
+
+    /**
+     * @return the milliseconds since the epoch of the date, such as stored in a BSON date.
+     */
+    public static long toEpochMilli(OffsetDateTime value) {
+        // the nanoseconds are positive, also before the epoch.
+        return value.toEpochSecond() * 1000 + value.getNano() / 1_000_000;
+    }
+
+    /**
+     * @return the date at the milliseconds since the epoch, in UTC.
+     */
+    public static OffsetDateTime ofEpochMilli(long epochMilli) {
+        final long second = Math.floorDiv(epochMilli, 1000);
+        final int nano = (int) Math.floorMod(epochMilli, 1000) * 1_000_000;
+        return OffsetDateTime.of(LocalDateTime.ofEpochSecond(second, nano, ZoneOffset.UTC), ZoneOffset.UTC);
+    }
+
+    private static OffsetDateTime toUtc(OffsetDateTime value) {
+        return value.getOffset().equals(ZoneOffset.UTC) ? value : value.withOffsetSameInstant(ZoneOffset.UTC);
+    }
+
+    // the date, or null if the text is not of the form `yyyy-MM-ddTHH:mm:ss[.fraction](Z|±HH:mm)`, in which
+    // case the ISO 8601 formatter reads it or tells what is wrong with it.
+    private static OffsetDateTime parseRfc3339(CharSequence text) {
+        final int length = text.length();
+        if (
+            length < 20 ||
+            text.charAt(4) != '-' ||
+            text.charAt(7) != '-' ||
+            (text.charAt(10) != 'T' && text.charAt(10) != 't') ||
+            text.charAt(13) != ':' ||
+            text.charAt(16) != ':'
+        ) {
+            return null;
+        }
+        final int year = readDigits(text, 0, 4);
+        final int month = readDigits(text, 5, 2);
+        final int day = readDigits(text, 8, 2);
+        final int hour = readDigits(text, 11, 2);
+        final int minute = readDigits(text, 14, 2);
+        final int second = readDigits(text, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return null;
+        }
+        int index = 19;
+        int nano = 0;
+        if (text.charAt(index) == '.') {
+            index++;
+            final int start = index;
+            while (index < length && index - start < 9 && isDigit(text.charAt(index))) {
+                index++;
+            }
+            final int digits = index - start;
+            if (digits == 0 || (index < length && isDigit(text.charAt(index)))) {
+                return null;
+            }
+            nano = readDigits(text, start, digits) * FRACTION_SCALE[digits - 1];
+        }
+        try {
+            final ZoneOffset offset = readOffset(text, index);
+            return offset == null ? null : toUtc(OffsetDateTime.of(year, month, day, hour, minute, second, nano, offset));
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException(e.getMessage(), text, 0, e);
+        }
+    }
+
+    private static ZoneOffset readOffset(CharSequence text, int index) {
+        final int length = text.length();
+        if (index == length) {
+            return null;
+        }
+        final char sign = text.charAt(index);
+        if (sign == 'Z' || sign == 'z') {
+            return index + 1 == length ? ZoneOffset.UTC : null;
+        }
+        if ((sign != '+' && sign != '-') || index + 6 != length || text.charAt(index + 3) != ':') {
+            return null;
+        }
+        final int hours = readDigits(text, index + 1, 2);
+        final int minutes = readDigits(text, index + 4, 2);
+        if ((hours | minutes) < 0 || minutes > 59) {
+            return null;
+        }
+        final int seconds = (hours * 60 + minutes) * 60;
+        return ZoneOffset.ofTotalSeconds(sign == '-' ? -seconds : seconds);
+    }
+
+    // the value of the digits, or -1 if one of the characters is not a digit.
+    private static int readDigits(CharSequence text, int index, int count) {
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            final char c = text.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static void writeDigits(char[] chars, int index, int value, int count) {
+        for (int i = index + count - 1; i >= index; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.config.CorsRegistry;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Web configuration of the `reactive` profile, which serves the API with WebFlux controllers backed by
+ * the reactive MongoDB driver instead of Spring MVC on blocking repositories. Both stacks implement
+ * the same API, so they can be run side by side against the same database and compared.
+ */
+@Configuration
+@Profile(ReactiveWebConfiguration.PROFILE)
+public class ReactiveWebConfiguration implements WebFluxConfigurer {
+
+    public static final String PROFILE = "reactive";
+
+    // the types of the default Smile codecs, which the codecs built with an object mapper don't get.
+    private static final MimeType[] SMILE_MIME_TYPES = {
+        new MimeType("application", "x-jackson-smile"),
+        new MimeType("application", "*+x-jackson-smile"),
+    };
+
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverter(new StringToTodoStateConverter());
+    }
+
+    @Override
+    public void addCorsMappings(CorsRegistry registry) {
+        registry
+            .addMapping("/**")
+            .allowedOrigins(WebConfiguration.allowedOrigins())
+            .allowedMethods("*")
+            .allowedHeaders("*")
+            .exposedHeaders(WebConfiguration.EXPOSED_HEADERS);
+    }
+
+    @Bean
+    public ReactiveOperationObservationConvention reactiveOperationObservationConvention() {
+        return new ReactiveOperationObservationConvention();
+    }
+
+    // Smile request and response bodies, with the settings of the JSON ones, see WebConfiguration.
+    @Bean
+    public CodecCustomizer smileCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        final ObjectMapper objectMapper = JacksonConfiguration.smileObjectMapper(builder);
+        return configurer -> {
+            final Jackson2SmileEncoder encoder = new Jackson2SmileEncoder(objectMapper, SMILE_MIME_TYPES);
+            configurer.defaultCodecs().jackson2SmileEncoder(encoder);
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(objectMapper, SMILE_MIME_TYPES));
+            // ahead of the default writer, see SmileHttpMessageWriter.
+            configurer.customCodecs().register(new SmileHttpMessageWriter(encoder));
+        };
+    }
+
+    // Tomcat is on the classpath for the servlet stack and would be picked otherwise, run on Netty's
+    // event loops instead.
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
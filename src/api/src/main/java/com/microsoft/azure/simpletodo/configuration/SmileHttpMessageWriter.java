@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.configuration;
+
+import java.util.List;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.codec.EncoderHttpMessageWriter;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Writer of the Smile response bodies of the WebFlux controllers, which writes the listings as one Smile
+ * array along with their Content-Length.
+ * <p>
+ * The Jackson encoders of WebFlux join the values of a `Flux` with the brackets and commas of a JSON
+ * array, which are not Smile, and send them without a length, which Netty then compresses whatever
+ * their size. The listings are collected first and encoded like a single value instead. They are pages
+ * bounded by `top`, the streamed listings are only served as JSON.
+ */
+final class SmileHttpMessageWriter extends EncoderHttpMessageWriter<Object> {
+
+    SmileHttpMessageWriter(Jackson2SmileEncoder encoder) {
+        super(encoder);
+    }
+
+    @Override
+    public Mono<Void> write(
+        Publisher<?> inputStream,
+        ResolvableType elementType,
+        MediaType mediaType,
+        ReactiveHttpOutputMessage message,
+        Map<String, Object> hints
+    ) {
+        if (inputStream instanceof Mono) {
+            return super.write(inputStream, elementType, mediaType, message, hints);
+        }
+        final ResolvableType listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+        return super.write(Flux.from(inputStream).collectList(), listType, mediaType, message, hints);
+    }
+}
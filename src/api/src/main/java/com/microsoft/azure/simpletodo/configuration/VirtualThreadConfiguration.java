@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+
+/**
+ * Support of the `virtual` profile, which runs Tomcat requests, `@Async` methods, the application task
+ * executor and scheduled tasks on virtual threads through `spring.threads.virtual.enabled`.
+ * <p>
+ * A blocking MongoDB call then parks a cheap virtual thread instead of holding one of Tomcat's 200
+ * platform threads, so the connection pool, sized by the profile, becomes the limit on concurrent
+ * database calls. Virtual threads need Java 21, on older runtimes the application keeps using
+ * platform threads.
+ */
+@Configuration
+public class VirtualThreadConfiguration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadConfiguration.class);
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+        MeterRegistry meterRegistry,
+        @Value("${todo.virtual-threads.pinned-threshold:20ms}") Duration threshold
+    ) {
+        return new VirtualThreadPinningMonitor(meterRegistry, threshold);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        final Environment environment = event.getApplicationContext().getEnvironment();
+        if (Threading.VIRTUAL.isActive(environment)) {
+            LOGGER.info("Serving requests and running background tasks on virtual threads");
+        } else if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            LOGGER.warn(
+                "Virtual threads are enabled but Java {} doesn't support them, using platform threads",
+                Runtime.version().feature()
+            );
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.stream.Collectors;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Flags virtual threads that stay pinned to their carrier thread, e.g. while blocking inside a
+ * `synchronized` block. A pinned virtual thread blocks its carrier, of which there are only as many as
+ * processors, so pinning on the request path caps throughput at the number of carriers.
+ * <p>
+ * Pins longer than the threshold are read from the `jdk.VirtualThreadPinned` JFR event. They are
+ * counted by the `todo.virtualthreads.pinned` meter, and the ones of request threads are logged with
+ * their stack trace.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    // name prefix of the virtual threads Tomcat serves requests on.
+    private static final String REQUEST_THREAD_PREFIX = "tomcat-handler-";
+
+    private static final int LOGGED_FRAMES = 20;
+
+    private final RecordingStream recordingStream = new RecordingStream();
+
+    private final Counter requestPins;
+
+    private final Counter otherPins;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.requestPins = pinnedCounter(meterRegistry, "request");
+        this.otherPins = pinnedCounter(meterRegistry, "other");
+        recordingStream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void close() {
+        recordingStream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        final RecordedThread thread = event.getThread();
+        final String threadName = thread == null ? "unknown" : thread.getJavaName();
+        if (threadName == null || !threadName.startsWith(REQUEST_THREAD_PREFIX)) {
+            otherPins.increment();
+            LOGGER.debug("Virtual thread {} pinned its carrier for {} ms", threadName, event.getDuration().toMillis());
+            return;
+        }
+        requestPins.increment();
+        LOGGER.warn(
+            "Virtual thread {} pinned its carrier for {} ms while serving a request:{}",
+            threadName,
+            event.getDuration().toMillis(),
+            format(event.getStackTrace())
+        );
+    }
+
+    private static String format(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return " no stack trace";
+        }
+        return stackTrace
+            .getFrames()
+            .stream()
+            .limit(LOGGED_FRAMES)
+            .map(VirtualThreadPinningMonitor::format)
+            .collect(Collectors.joining());
+    }
+
+    private static String format(RecordedFrame frame) {
+        final RecordedMethod method = frame.getMethod();
+        return "\n\tat " + method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+    }
+
+    private static Counter pinnedCounter(MeterRegistry meterRegistry, String thread) {
+        return Counter
+            .builder("todo.virtualthreads.pinned")
+            .description("Virtual threads pinned to their carrier for longer than the threshold")
+            .tag("thread", thread)
+            .register(meterRegistry);
+    }
+}
@@ -1,14 +1,24 @@
 package com.microsoft.azure.simpletodo.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.controller.ContinuationToken;
 import java.io.*;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@Profile("!" + ReactiveWebConfiguration.PROFILE)
 public class WebConfiguration implements WebMvcConfigurer {
 
     // Use API_ALLOW_ORIGINS env var with comma separated urls like
@@ -22,6 +32,10 @@ public class WebConfiguration implements WebMvcConfigurer {
     // allowing all origins.
     private static String environment = System.getenv("API_ENVIRONMENT");
 
+    // Response headers that browser clients need to read: the paging cursor, and the ETags they send
+    // back in `If-None-Match` and `If-Match`.
+    static final String[] EXPOSED_HEADERS = { ContinuationToken.HEADER, HttpHeaders.ETAG };
+
     @Override
     public void addFormatters(FormatterRegistry registry) {
         // spring can not convert string "todo" to enum `TodoState.TODO` by itself
@@ -34,38 +48,69 @@ public class WebConfiguration implements WebMvcConfigurer {
         return new WebMvcConfigurer() {
             @Override
             public void addCorsMappings(CorsRegistry registry) {
-                if (environment != null && environment.equals("develop")) {
-                    registry.addMapping("/**").allowedOrigins("*").allowedMethods("*").allowedHeaders("*");
-                    System.out.println("Allowing requests from any origins. API_ENVIRONMENT=" + environment);
-                    return;
-                }
-
-                // Enforcing CORS
-                ArrayList<String> origins = new ArrayList<>();
-                // default Azure origins
-                origins.add("https://portal.azure.com");
-                origins.add("https://ms.portal.azure.com");
-
-                if (allowOrigins != null) {
-                    String[] localhostOrigin = allowOrigins.split(",");
-                    String fileName = Thread.currentThread().getStackTrace()[1].getFileName();
-                    File file = new File(fileName);
-                    String absolutePath = file.getAbsolutePath();
-
-                    for (String origin : localhostOrigin) {
-                        origins.add(origin);
-                        System.out.println(
-                            "Allowing requests from" + origin + ". To change or disable, go to " + absolutePath
-                        );
-                    }
-                }
-
                 registry
                     .addMapping("/**")
-                    .allowedOrigins(origins.toArray(new String[0]))
+                    .allowedOrigins(allowedOrigins())
                     .allowedMethods("*")
-                    .allowedHeaders("*");
+                    .allowedHeaders("*")
+                    .exposedHeaders(EXPOSED_HEADERS);
+            }
+        };
+    }
+
+    // JSON response bodies sent with their length, see BufferedOutputMessage. Replaces the converter of
+    // Spring Boot, with the same object mapper.
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                BufferedOutputMessage.write(outputMessage, message -> super.writeInternal(object, type, message));
+            }
+        };
+    }
+
+    // Smile request and response bodies, with the settings of the JSON ones rather than the defaults of the
+    // converter Spring adds when Smile is on the classpath, which this one replaces.
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(JacksonConfiguration.smileObjectMapper(builder)) {
+            @Override
+            protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+                BufferedOutputMessage.write(outputMessage, message -> super.writeInternal(object, type, message));
             }
         };
     }
+
+    // tags the request metrics with the API operation, see OperationObservationConvention.
+    @Bean
+    public OperationObservationConvention operationObservationConvention() {
+        return new OperationObservationConvention();
+    }
+
+    static String[] allowedOrigins() {
+        if (environment != null && environment.equals("develop")) {
+            System.out.println("Allowing requests from any origins. API_ENVIRONMENT=" + environment);
+            return new String[] { "*" };
+        }
+
+        // Enforcing CORS
+        ArrayList<String> origins = new ArrayList<>();
+        // default Azure origins
+        origins.add("https://portal.azure.com");
+        origins.add("https://ms.portal.azure.com");
+
+        if (allowOrigins != null) {
+            String[] localhostOrigin = allowOrigins.split(",");
+            String fileName = Thread.currentThread().getStackTrace()[1].getFileName();
+            File file = new File(fileName);
+            String absolutePath = file.getAbsolutePath();
+
+            for (String origin : localhostOrigin) {
+                origins.add(origin);
+                System.out.println("Allowing requests from" + origin + ". To change or disable, go to " + absolutePath);
+            }
+        }
+        return origins.toArray(new String[0]);
+    }
 }
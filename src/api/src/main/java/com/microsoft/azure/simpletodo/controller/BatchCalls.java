@@ -0,0 +1,401 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.microsoft.azure.simpletodo.model.BatchRequest;
+import com.microsoft.azure.simpletodo.model.BatchRequestItem;
+import com.microsoft.azure.simpletodo.model.BatchResponse;
+import com.microsoft.azure.simpletodo.model.BatchResponseItem;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The API calls of a batch, each made like a separate request by a dispatcher of the web stack, see
+ * {@link BatchController}.
+ * <p>
+ * A call runs once the calls it depends on have succeeded, the ones it lists in `dependsOn` and the ones
+ * it references as `${id.path}`, such as `${list.body.id}` or `${list.headers.ETag}`: the path is read
+ * from the response of the referenced call as it appears in the batch response. The calls only depend on
+ * earlier calls, so there are no cycles, and the calls without dependencies all start right away. A
+ * call whose dependency did not succeed is not made and gets a `424`.
+ */
+final class BatchCalls {
+
+    static final String PATH = "/$batch";
+
+    private static final Pattern ID = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private static final Pattern REFERENCE = Pattern.compile("\\$\\{(" + ID + ")\\.([^}]+)}");
+
+    private static final Set<HttpMethod> METHODS = Set.of(
+        HttpMethod.GET,
+        HttpMethod.POST,
+        HttpMethod.PUT,
+        HttpMethod.PATCH,
+        HttpMethod.DELETE
+    );
+
+    private static final String STREAM = "stream";
+
+    private static final String STATUS = "status";
+
+    private static final String HEADERS = "headers";
+
+    private static final String BODY = "body";
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxSize;
+
+    BatchCalls(ObjectMapper objectMapper, int maxSize) {
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * An API call of a batch, with the references to earlier calls replaced by their values. Its
+     * headers ask for a JSON response and describe its JSON body, if any.
+     */
+    static final class Call {
+
+        private final String id;
+
+        private final HttpMethod method;
+
+        private final URI uri;
+
+        private final HttpHeaders headers;
+
+        private final byte[] body;
+
+        private Call(String id, HttpMethod method, URI uri, HttpHeaders headers, byte[] body) {
+            this.id = id;
+            this.method = method;
+            this.uri = uri;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        HttpMethod getMethod() {
+            return method;
+        }
+
+        /**
+         * @return the path and query of the call, relative to the root of the API.
+         */
+        URI getUri() {
+            return uri;
+        }
+
+        HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        /**
+         * @return the body, empty if the call has none.
+         */
+        byte[] getBody() {
+            return body;
+        }
+    }
+
+    /**
+     * Makes the calls of a batch.
+     *
+     * @param dispatcher makes a call, with the same handling as a separate request, and returns its
+     *        response built by {@link #response}.
+     * @return the responses, in the order of the calls.
+     * @throws ResponseStatusException if the batch is invalid, before any call is made.
+     */
+    Mono<BatchResponse> execute(BatchRequest batch, Function<Call, Mono<BatchResponseItem>> dispatcher) {
+        final List<BatchRequestItem> requests = validate(batch);
+        final Map<String, Mono<BatchResponseItem>> responses = new HashMap<>();
+        final List<Mono<BatchResponseItem>> orderedResponses = new ArrayList<>(requests.size());
+        for (BatchRequestItem request : requests) {
+            final List<Mono<BatchResponseItem>> dependencies = dependencies(request).stream().map(responses::get).toList();
+            // cached, the response is made once and shared by the calls depending on it.
+            final Mono<BatchResponseItem> response = Flux
+                .merge(dependencies)
+                .collectMap(BatchResponseItem::getId)
+                .flatMap(done -> call(request, done, dispatcher))
+                .cache();
+            responses.put(request.getId(), response);
+            orderedResponses.add(response);
+        }
+        // all the calls are subscribed to at once, their responses are collected in order.
+        return Flux
+            .mergeSequential(orderedResponses)
+            .collectList()
+            .map(r -> new BatchResponse().responses(r));
+    }
+
+    /**
+     * @return the response of a call, its body read as JSON or, if it is not JSON, as text.
+     */
+    BatchResponseItem response(Call call, int status, HttpHeaders headers, byte[] body) {
+        final Map<String, String> responseHeaders = new LinkedHashMap<>();
+        headers.forEach((name, values) -> {
+            if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                responseHeaders.put(name, String.join(", ", values));
+            }
+        });
+        final BatchResponseItem response = new BatchResponseItem().id(call.getId()).status(status);
+        if (!responseHeaders.isEmpty()) {
+            response.headers(responseHeaders);
+        }
+        if (body.length > 0) {
+            response.body(isJson(headers.getContentType()) ? readJson(body) : new String(body, StandardCharsets.UTF_8));
+        }
+        return response;
+    }
+
+    private List<BatchRequestItem> validate(BatchRequest batch) {
+        // the model constraints are checked here, the ids are part of the references.
+        final List<BatchRequestItem> requests = batch.getRequests();
+        if (requests == null) {
+            throw badRequest("Missing requests");
+        }
+        if (requests.size() > maxSize) {
+            throw badRequest("Too many requests, at most " + maxSize);
+        }
+        final Set<String> ids = new LinkedHashSet<>();
+        for (BatchRequestItem request : requests) {
+            if (request == null) {
+                throw badRequest("Invalid null request");
+            }
+            if (request.getId() == null || !ID.matcher(request.getId()).matches()) {
+                throw badRequest("Invalid request id " + request.getId() + ", expected letters, digits, _ or -");
+            }
+            if (request.getMethod() == null || request.getUrl() == null) {
+                throw badRequest("Missing method or url of request " + request.getId());
+            }
+            if (!METHODS.contains(HttpMethod.valueOf(request.getMethod().toUpperCase()))) {
+                throw badRequest("Invalid method " + request.getMethod() + " of request " + request.getId());
+            }
+            validateUrl(request);
+            for (String dependency : dependencies(request)) {
+                if (!ids.contains(dependency)) {
+                    throw badRequest(
+                        "Request " + request.getId() + " depends on " + dependency + ", not an earlier request"
+                    );
+                }
+            }
+            if (!ids.add(request.getId())) {
+                throw badRequest("Duplicate request id " + request.getId());
+            }
+        }
+        return requests;
+    }
+
+    private static void validateUrl(BatchRequestItem request) {
+        final String url = request.getUrl();
+        if (!url.startsWith("/") || url.startsWith("//")) {
+            throw badRequest("Invalid url of request " + request.getId() + ", expected a path such as /lists");
+        }
+        final String path = url.split("\\?", 2)[0];
+        if (path.equals(PATH)) {
+            throw badRequest("Request " + request.getId() + " is a batch, batches can't be nested");
+        }
+        // the listings have a streamed variant, which is not buffered, see TodoItemsController#STREAM.
+        final List<String> stream = UriComponentsBuilder.fromUriString(url).build().getQueryParams().get(STREAM);
+        if (stream != null && stream.contains(Boolean.TRUE.toString())) {
+            throw badRequest("Request " + request.getId() + " is streamed, streamed listings are not available in a batch");
+        }
+    }
+
+    // the ids of the calls a call depends on, in the order they are listed or referenced.
+    private static Set<String> dependencies(BatchRequestItem request) {
+        final Set<String> dependencies = new LinkedHashSet<>();
+        if (request.getDependsOn() != null) {
+            dependencies.addAll(request.getDependsOn());
+        }
+        addReferences(request.getUrl(), dependencies);
+        if (request.getHeaders() != null) {
+            request.getHeaders().values().forEach(value -> addReferences(value, dependencies));
+        }
+        addReferences(request.getBody(), dependencies);
+        return dependencies;
+    }
+
+    private static void addReferences(Object value, Set<String> ids) {
+        if (value instanceof String text) {
+            final Matcher matcher = REFERENCE.matcher(text);
+            while (matcher.find()) {
+                ids.add(matcher.group(1));
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            map.values().forEach(v -> addReferences(v, ids));
+        } else if (value instanceof List<?> list) {
+            list.forEach(v -> addReferences(v, ids));
+        }
+    }
+
+    private Mono<BatchResponseItem> call(
+        BatchRequestItem request,
+        Map<String, BatchResponseItem> dependencies,
+        Function<Call, Mono<BatchResponseItem>> dispatcher
+    ) {
+        for (BatchResponseItem dependency : dependencies.values()) {
+            if (!HttpStatusCode.valueOf(dependency.getStatus()).is2xxSuccessful()) {
+                final String message =
+                    "Request " + dependency.getId() + " failed with status " + dependency.getStatus();
+                return Mono.just(error(request.getId(), HttpStatus.FAILED_DEPENDENCY, message));
+            }
+        }
+        final Call call;
+        try {
+            call = resolve(request, dependencies);
+        } catch (ResponseStatusException e) {
+            return Mono.just(error(request.getId(), HttpStatus.valueOf(e.getStatusCode().value()), e.getReason()));
+        }
+        return dispatcher.apply(call);
+    }
+
+    private Call resolve(BatchRequestItem request, Map<String, BatchResponseItem> dependencies) {
+        final String url = replace(request.getUrl(), dependencies, true);
+        final URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            throw badRequest("Invalid url " + url);
+        }
+        final HttpHeaders headers = new HttpHeaders();
+        if (request.getHeaders() != null) {
+            request.getHeaders().forEach((name, value) -> headers.set(name, replace(value, dependencies, false)));
+        }
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        byte[] body = new byte[0];
+        if (request.getBody() != null) {
+            try {
+                body = objectMapper.writeValueAsBytes(replaceAll(request.getBody(), dependencies));
+            } catch (JsonProcessingException e) {
+                throw badRequest("Invalid body of request " + request.getId());
+            }
+            headers.setContentType(MediaType.APPLICATION_JSON);
+        }
+        headers.setContentLength(body.length);
+        return new Call(request.getId(), HttpMethod.valueOf(request.getMethod().toUpperCase()), uri, headers, body);
+    }
+
+    // the body with its references replaced, a string that is a single reference is replaced by its JSON value.
+    private Object replaceAll(Object value, Map<String, BatchResponseItem> dependencies) {
+        if (value instanceof String text) {
+            final Matcher matcher = REFERENCE.matcher(text);
+            return matcher.matches() ? valueOf(matcher, dependencies) : replace(text, dependencies, false);
+        } else if (value instanceof Map<?, ?> map) {
+            final Map<Object, Object> replaced = new LinkedHashMap<>();
+            map.forEach((k, v) -> replaced.put(k, replaceAll(v, dependencies)));
+            return replaced;
+        } else if (value instanceof List<?> list) {
+            return list.stream().map(v -> replaceAll(v, dependencies)).toList();
+        }
+        return value;
+    }
+
+    private String replace(String text, Map<String, BatchResponseItem> dependencies, boolean encode) {
+        final Matcher matcher = REFERENCE.matcher(text);
+        final StringBuilder replaced = new StringBuilder();
+        while (matcher.find()) {
+            final JsonNode value = valueOf(matcher, dependencies);
+            final String string = value.isValueNode() ? value.asText() : value.toString();
+            matcher.appendReplacement(
+                replaced,
+                Matcher.quoteReplacement(encode ? UriUtils.encode(string, StandardCharsets.UTF_8) : string)
+            );
+        }
+        matcher.appendTail(replaced);
+        return replaced.toString();
+    }
+
+    private JsonNode valueOf(Matcher reference, Map<String, BatchResponseItem> dependencies) {
+        final BatchResponseItem response = dependencies.get(reference.group(1));
+        final String[] path = reference.group(2).split("\\.");
+        JsonNode value = null;
+        if (path[0].equals(STATUS) && path.length == 1) {
+            value = JsonNodeFactory.instance.numberNode(response.getStatus());
+        } else if (path[0].equals(HEADERS) && path.length == 2 && response.getHeaders() != null) {
+            value = response
+                .getHeaders()
+                .entrySet()
+                .stream()
+                .filter(header -> header.getKey().equalsIgnoreCase(path[1]))
+                .findFirst()
+                .map(header -> JsonNodeFactory.instance.textNode(header.getValue()))
+                .orElse(null);
+        } else if (path[0].equals(BODY)) {
+            value = objectMapper.valueToTree(response.getBody());
+            for (int i = 1; i < path.length && value != null; i++) {
+                value =
+                    value.isArray() && path[i].matches("\\d+") ? value.get(Integer.parseInt(path[i])) : value.get(path[i]);
+            }
+        }
+        if (value == null || value.isNull() || value.isMissingNode()) {
+            throw badRequest("Reference " + reference.group() + " not found in the response of " + reference.group(1));
+        }
+        return value;
+    }
+
+    private JsonNode readJson(byte[] body) {
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return JsonNodeFactory.instance.textNode(new String(body, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static boolean isJson(MediaType contentType) {
+        return (
+            contentType != null &&
+            (MediaType.APPLICATION_JSON.isCompatibleWith(contentType) || contentType.getSubtype().endsWith("+json"))
+        );
+    }
+
+    // the response of a call that was not made, with the properties of the error responses of the API.
+    private static BatchResponseItem error(String id, HttpStatus status, String message) {
+        final Map<String, Object> body = new LinkedHashMap<>();
+        body.put(STATUS, status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        return new BatchResponseItem()
+            .id(id)
+            .status(status.value())
+            .putHeadersItem(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(body);
+    }
+
+    private static ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.api.BatchApi;
+import com.microsoft.azure.simpletodo.configuration.ReactiveWebConfiguration;
+import com.microsoft.azure.simpletodo.model.BatchRequest;
+import com.microsoft.azure.simpletodo.model.BatchResponse;
+import com.microsoft.azure.simpletodo.model.BatchResponseItem;
+import java.io.IOException;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.DispatcherServlet;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Runs the API calls of a batch through the {@link DispatcherServlet}, so they are handled by the same
+ * controller methods, validation and error handling as separate requests. The calls that can run at
+ * the same time are dispatched concurrently on bounded elastic threads, the request thread waits for
+ * the whole batch.
+ */
+@RestController
+@Profile("!" + ReactiveWebConfiguration.PROFILE)
+public class BatchController implements BatchApi {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchController.class);
+
+    private final DispatcherServlet dispatcherServlet;
+
+    private final BatchCalls batchCalls;
+
+    private final String errorPath;
+
+    public BatchController(
+        DispatcherServlet dispatcherServlet,
+        ObjectMapper objectMapper,
+        @Value("${todo.batch.max-requests:100}") int maxRequests,
+        @Value("${server.error.path:/error}") String errorPath
+    ) {
+        this.dispatcherServlet = dispatcherServlet;
+        this.batchCalls = new BatchCalls(objectMapper, maxRequests);
+        this.errorPath = errorPath;
+    }
+
+    public ResponseEntity<BatchResponse> batch(BatchRequest batchRequest) {
+        final ServletRequestAttributes attributes =
+            (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        final HttpServletRequest request = attributes.getRequest();
+        final HttpServletResponse response = attributes.getResponse();
+        final BatchResponse batchResponse = batchCalls
+            .execute(
+                batchRequest,
+                call -> Mono.fromCallable(() -> dispatch(request, response, call)).subscribeOn(Schedulers.boundedElastic())
+            )
+            .block();
+        return ResponseEntity.ok(batchResponse);
+    }
+
+    // the errors are rendered like the servlet container does: sent errors and exceptions are forwarded
+    // to the error page, which renders the error body of the API.
+    private BatchResponseItem dispatch(
+        HttpServletRequest batchRequest,
+        HttpServletResponse batchResponse,
+        BatchCalls.Call call
+    ) throws IOException {
+        final BatchServletRequest request = new BatchServletRequest(batchRequest, call);
+        final BatchServletResponse response = new BatchServletResponse(batchResponse);
+        Throwable failure = null;
+        try {
+            dispatcherServlet.service(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            LOGGER.error("Call {} {} {} of a batch failed", call.getId(), call.getMethod(), call.getUri(), e);
+            failure = e instanceof ServletException && e.getCause() != null ? e.getCause() : e;
+        }
+        if (failure != null || response.isError()) {
+            final int status = failure != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            request.setAttribute(RequestDispatcher.ERROR_STATUS_CODE, status);
+            request.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, request.getRequestURI());
+            request.setAttribute(
+                RequestDispatcher.ERROR_MESSAGE,
+                failure != null ? failure.getMessage() : response.getErrorMessage()
+            );
+            if (failure != null) {
+                request.setAttribute(RequestDispatcher.ERROR_EXCEPTION, failure);
+                request.setAttribute(RequestDispatcher.ERROR_EXCEPTION_TYPE, failure.getClass());
+            }
+            response.resetForErrorPage();
+            response.setStatus(status);
+            request.forwardToErrorPage(errorPath);
+            try {
+                dispatcherServlet.service(request, response);
+            } catch (ServletException | RuntimeException e) {
+                LOGGER.error("Error page of call {} of a batch failed", call.getId(), e);
+            }
+        }
+        return batchCalls.response(call, response.getStatus(), response.getResponseHeaders(), response.getBodyAsByteArray());
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import java.io.ByteArrayOutputStream;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Response of an API call of a batch on the `reactive` profile, whose body is kept in memory to be added
+ * to the batch response along with its status and headers, see {@link BatchServletResponse}.
+ */
+final class BatchServerHttpResponse extends AbstractServerHttpResponse {
+
+    private static final int INITIAL_SIZE = 1024;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(INITIAL_SIZE);
+
+    BatchServerHttpResponse(DataBufferFactory dataBufferFactory) {
+        super(dataBufferFactory);
+    }
+
+    byte[] getBodyAsByteArray() {
+        return body.toByteArray();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getNativeResponse() {
+        return (T) this;
+    }
+
+    @Override
+    protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+        return Flux
+            .from(body)
+            .doOnNext(buffer -> {
+                try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                    iterator.forEachRemaining(bytes -> {
+                        final byte[] array = new byte[bytes.remaining()];
+                        bytes.get(array);
+                        this.body.writeBytes(array);
+                    });
+                } finally {
+                    DataBufferUtils.release(buffer);
+                }
+            })
+            .then();
+    }
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return Flux.from(body).concatMap(this::writeWithInternal).then();
+    }
+
+    @Override
+    protected void applyStatusCode() {
+        // kept by the response, read once the call is complete.
+    }
+
+    @Override
+    protected void applyHeaders() {
+        // kept by the response, read once the call is complete.
+    }
+
+    @Override
+    protected void applyCookies() {
+        // the API doesn't set cookies.
+    }
+}
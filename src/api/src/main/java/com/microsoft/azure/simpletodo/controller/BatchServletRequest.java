@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Servlet request of an API call of a batch, dispatched to Spring MVC like a separate request.
+ * <p>
+ * The method, path, query, headers, body and attributes are the call's own, so that the calls of a batch
+ * can be dispatched concurrently. The connection and the server, such as the scheme, host and remote
+ * address, are the ones of the batch request, which doesn't change while its calls are made. The calls
+ * are not asynchronous: the streamed responses are not available in a batch.
+ */
+final class BatchServletRequest extends HttpServletRequestWrapper {
+
+    private final String method;
+
+    private final String requestUri;
+
+    private final String queryString;
+
+    private String servletPath;
+
+    private final HttpHeaders headers;
+
+    private final byte[] body;
+
+    private final Map<String, String[]> parameters = new LinkedHashMap<>();
+
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    private DispatcherType dispatcherType = DispatcherType.REQUEST;
+
+    private String characterEncoding;
+
+    BatchServletRequest(HttpServletRequest batchRequest, BatchCalls.Call call) {
+        super(batchRequest);
+        final URI uri = call.getUri();
+        this.method = call.getMethod().name();
+        this.requestUri = batchRequest.getContextPath() + uri.getRawPath();
+        this.queryString = uri.getRawQuery();
+        this.servletPath = UriUtils.decode(uri.getRawPath(), StandardCharsets.UTF_8);
+        this.headers = call.getHeaders();
+        this.body = call.getBody();
+        UriComponentsBuilder
+            .fromUri(uri)
+            .build(true)
+            .getQueryParams()
+            .forEach((name, values) ->
+                parameters.put(
+                    UriUtils.decode(name, StandardCharsets.UTF_8),
+                    values
+                        .stream()
+                        .map(value -> value == null ? "" : UriUtils.decode(value, StandardCharsets.UTF_8))
+                        .toArray(String[]::new)
+                )
+            );
+        final MediaType contentType = headers.getContentType();
+        this.characterEncoding = contentType != null && contentType.getCharset() != null
+            ? contentType.getCharset().name()
+            : null;
+    }
+
+    /**
+     * Turns the request into the dispatch of an error to the error page, like the servlet container
+     * does: the attributes, such as the error, are kept.
+     */
+    void forwardToErrorPage(String errorPath) {
+        this.servletPath = errorPath;
+        this.dispatcherType = DispatcherType.ERROR;
+    }
+
+    @Override
+    public String getMethod() {
+        return method;
+    }
+
+    @Override
+    public String getRequestURI() {
+        return dispatcherType == DispatcherType.ERROR ? getContextPath() + servletPath : requestUri;
+    }
+
+    @Override
+    public StringBuffer getRequestURL() {
+        final StringBuffer url = new StringBuffer(getScheme()).append("://").append(getServerName());
+        final int port = getServerPort();
+        if (!(("http".equals(getScheme()) && port == 80) || ("https".equals(getScheme()) && port == 443))) {
+            url.append(':').append(port);
+        }
+        return url.append(getRequestURI());
+    }
+
+    @Override
+    public String getQueryString() {
+        return dispatcherType == DispatcherType.ERROR ? null : queryString;
+    }
+
+    @Override
+    public String getServletPath() {
+        return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+        return null;
+    }
+
+    @Override
+    public String getPathTranslated() {
+        return null;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.getFirst(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        final List<String> values = headers.get(name);
+        return Collections.enumeration(values == null ? List.of() : values);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return Collections.enumeration(headers.keySet());
+    }
+
+    @Override
+    public int getIntHeader(String name) {
+        final String value = getHeader(name);
+        return value == null ? -1 : Integer.parseInt(value);
+    }
+
+    @Override
+    public long getDateHeader(String name) {
+        return headers.getFirstDate(name);
+    }
+
+    @Override
+    public Cookie[] getCookies() {
+        return null;
+    }
+
+    @Override
+    public String getContentType() {
+        return headers.getFirst(HttpHeaders.CONTENT_TYPE);
+    }
+
+    @Override
+    public int getContentLength() {
+        return body.length;
+    }
+
+    @Override
+    public long getContentLengthLong() {
+        return body.length;
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding;
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        this.characterEncoding = encoding;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        final ByteArrayInputStream input = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return input.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return input.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                throw new UnsupportedOperationException("The body of a call of a batch is read blocking");
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        final Charset charset = characterEncoding != null ? Charset.forName(characterEncoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body), charset));
+    }
+
+    @Override
+    public String getParameter(String name) {
+        final String[] values = parameters.get(name);
+        return values == null || values.length == 0 ? null : values[0];
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(parameters.keySet());
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        return parameters.get(name);
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return Collections.enumeration(List.copyOf(attributes.keySet()));
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) {
+            attributes.remove(name);
+        } else {
+            attributes.put(name, value);
+        }
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        attributes.remove(name);
+    }
+
+    @Override
+    public Locale getLocale() {
+        return getLocales().nextElement();
+    }
+
+    @Override
+    public Enumeration<Locale> getLocales() {
+        final List<Locale> locales = headers.getAcceptLanguageAsLocales();
+        return Collections.enumeration(locales.isEmpty() ? List.of(Locale.getDefault()) : locales);
+    }
+
+    @Override
+    public DispatcherType getDispatcherType() {
+        return dispatcherType;
+    }
+
+    @Override
+    public boolean isAsyncSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isAsyncStarted() {
+        return false;
+    }
+
+    @Override
+    public AsyncContext startAsync() {
+        throw new IllegalStateException("The calls of a batch are not asynchronous");
+    }
+
+    @Override
+    public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+        throw new IllegalStateException("The calls of a batch are not asynchronous");
+    }
+
+    @Override
+    public AsyncContext getAsyncContext() {
+        throw new IllegalStateException("The calls of a batch are not asynchronous");
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Servlet response of an API call of a batch, whose status, headers and body are kept in memory to be
+ * added to the batch response. Nothing is written to the response of the batch request itself.
+ */
+final class BatchServletResponse extends HttpServletResponseWrapper {
+
+    private static final int INITIAL_SIZE = 1024;
+
+    private int status = SC_OK;
+
+    private String errorMessage;
+
+    private boolean error;
+
+    private boolean committed;
+
+    private final HttpHeaders headers = new HttpHeaders();
+
+    private String contentType;
+
+    private String characterEncoding;
+
+    private Locale locale = Locale.getDefault();
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream(INITIAL_SIZE);
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    BatchServletResponse(HttpServletResponse batchResponse) {
+        super(batchResponse);
+    }
+
+    /**
+     * @return whether an error was sent, which the servlet container renders with its error page.
+     */
+    boolean isError() {
+        return error;
+    }
+
+    String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Clears the error and the body before the error page is rendered, keeping the status and headers.
+     */
+    void resetForErrorPage() {
+        error = false;
+        committed = false;
+        body.reset();
+    }
+
+    /**
+     * @return the headers, including the content type.
+     */
+    HttpHeaders getResponseHeaders() {
+        final HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.addAll(headers);
+        if (getContentType() != null) {
+            responseHeaders.set(HttpHeaders.CONTENT_TYPE, getContentType());
+        }
+        return responseHeaders;
+    }
+
+    byte[] getBodyAsByteArray() {
+        if (writer != null) {
+            writer.flush();
+        }
+        return body.toByteArray();
+    }
+
+    @Override
+    public void setStatus(int status) {
+        if (!committed) {
+            this.status = status;
+        }
+    }
+
+    @Override
+    public int getStatus() {
+        return status;
+    }
+
+    @Override
+    public void sendError(int status, String message) {
+        if (committed) {
+            throw new IllegalStateException("Cannot send an error after the response was committed");
+        }
+        this.status = status;
+        this.errorMessage = message;
+        this.error = true;
+        this.committed = true;
+        body.reset();
+    }
+
+    @Override
+    public void sendError(int status) {
+        sendError(status, null);
+    }
+
+    @Override
+    public void sendRedirect(String location) {
+        if (committed) {
+            throw new IllegalStateException("Cannot redirect after the response was committed");
+        }
+        setStatus(SC_FOUND);
+        setHeader(HttpHeaders.LOCATION, location);
+        committed = true;
+    }
+
+    @Override
+    public void addCookie(Cookie cookie) {
+        // the API doesn't set cookies.
+    }
+
+    @Override
+    public boolean containsHeader(String name) {
+        return getResponseHeaders().containsKey(name);
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return getResponseHeaders().getFirst(name);
+    }
+
+    @Override
+    public Collection<String> getHeaders(String name) {
+        final List<String> values = getResponseHeaders().get(name);
+        return values == null ? List.of() : values;
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+        return getResponseHeaders().keySet();
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else if (!committed) {
+            headers.set(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+            setContentType(value);
+        } else if (!committed) {
+            headers.add(name, value);
+        }
+    }
+
+    @Override
+    public void setIntHeader(String name, int value) {
+        setHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void addIntHeader(String name, int value) {
+        addHeader(name, String.valueOf(value));
+    }
+
+    @Override
+    public void setDateHeader(String name, long date) {
+        if (!committed) {
+            headers.setDate(name, date);
+        }
+    }
+
+    @Override
+    public void addDateHeader(String name, long date) {
+        if (!committed) {
+            final HttpHeaders dateHeader = new HttpHeaders();
+            dateHeader.setDate(name, date);
+            headers.addAll(dateHeader);
+        }
+    }
+
+    @Override
+    public void setContentType(String type) {
+        if (committed || type == null) {
+            return;
+        }
+        final MediaType mediaType = MediaType.parseMediaType(type);
+        if (mediaType.getCharset() != null) {
+            characterEncoding = mediaType.getCharset().name();
+        }
+        contentType = type;
+    }
+
+    @Override
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public void setCharacterEncoding(String encoding) {
+        if (!committed && writer == null) {
+            characterEncoding = encoding;
+        }
+    }
+
+    @Override
+    public String getCharacterEncoding() {
+        return characterEncoding != null ? characterEncoding : StandardCharsets.ISO_8859_1.name();
+    }
+
+    @Override
+    public void setContentLength(int length) {
+        setContentLengthLong(length);
+    }
+
+    @Override
+    public void setContentLengthLong(long length) {
+        if (!committed) {
+            headers.setContentLength(length);
+        }
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called");
+        }
+        if (outputStream == null) {
+            outputStream =
+                new ServletOutputStream() {
+                    @Override
+                    public void write(int b) {
+                        body.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        body.write(b, off, len);
+                    }
+
+                    @Override
+                    public void flush() {
+                        committed = true;
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        throw new UnsupportedOperationException("The body of a call of a batch is written blocking");
+                    }
+                };
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (outputStream != null) {
+            throw new IllegalStateException("getOutputStream() has already been called");
+        }
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(body, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setBufferSize(int size) {
+        // the whole body is buffered.
+    }
+
+    @Override
+    public int getBufferSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void flushBuffer() {
+        committed = true;
+    }
+
+    @Override
+    public boolean isCommitted() {
+        return committed;
+    }
+
+    @Override
+    public void reset() {
+        if (committed) {
+            throw new IllegalStateException("Cannot reset the response after it was committed");
+        }
+        status = SC_OK;
+        headers.clear();
+        contentType = null;
+        characterEncoding = null;
+        resetBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (committed) {
+            throw new IllegalStateException("Cannot reset the buffer after the response was committed");
+        }
+        if (writer != null) {
+            writer.flush();
+        }
+        body.reset();
+    }
+
+    @Override
+    public void setLocale(Locale locale) {
+        if (!committed && locale != null) {
+            this.locale = locale;
+        }
+    }
+
+    @Override
+    public Locale getLocale() {
+        return locale;
+    }
+}
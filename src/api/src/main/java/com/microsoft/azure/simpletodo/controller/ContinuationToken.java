@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+import org.bson.types.ObjectId;
+
+/**
+ * Opaque cursor handed out to clients for keyset pagination.
+ * <p>
+ * A token records the ordering it was issued for, the sort key value and the `_id` of the last
+ * item returned, so the next page can seek past it with a range predicate on an index instead of
+ * walking and discarding every document that was already returned.
+ * <p>
+ * The ids that are ObjectIds are encoded as their hex string, the other ones, given by the clients,
+ * behind a {@link #STRING_ID} prefix: an ObjectId and a string id sort apart, see ItemIds.
+ */
+public final class ContinuationToken {
+
+    /**
+     * Response header carrying the token of the next page. It is absent on the last page.
+     */
+    public static final String HEADER = "x-ms-continuation";
+
+    /**
+     * Ordering of the plain item listings: ascending `_id`.
+     */
+    public static final String BY_ID = "id";
+
+    private static final String SEPARATOR = "|";
+
+    private static final String STRING_ID = "'";
+
+    private final String sort;
+
+    private final String sortValue;
+
+    private final String lastId;
+
+    private ContinuationToken(String sort, String sortValue, String lastId) {
+        this.sort = sort;
+        this.sortValue = sortValue;
+        this.lastId = lastId;
+    }
+
+    /**
+     * @return a position before the first item of the given ordering, which has no last id. It is not
+     *         handed out to the clients, they ask for the first page without a token.
+     */
+    public static ContinuationToken start(String sort) {
+        return new ContinuationToken(sort, "", null);
+    }
+
+    /**
+     * @return a token positioned right after the item with the given id and sort key value, or empty
+     *         when there is no id, e.g. it was left out of the requested fields.
+     */
+    public static Optional<ContinuationToken> after(String sort, String sortValue, String lastId) {
+        if (lastId == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new ContinuationToken(sort, sortValue == null ? "" : sortValue, lastId));
+    }
+
+    /**
+     * Decodes a token received from a client.
+     *
+     * @return the decoded token, or empty if it is malformed or was issued for another ordering.
+     */
+    public static Optional<ContinuationToken> parse(String token, String expectedSort) {
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // a string id may contain the separator, it comes last.
+            final String[] parts = decoded.split("\\" + SEPARATOR, 3);
+            if (parts.length != 3 || !parts[0].equals(expectedSort)) {
+                return Optional.empty();
+            }
+            final String lastId = parts[2];
+            if (lastId.startsWith(STRING_ID)) {
+                return Optional.of(new ContinuationToken(parts[0], parts[1], lastId.substring(STRING_ID.length())));
+            }
+            return ObjectId.isValid(lastId)
+                ? Optional.of(new ContinuationToken(parts[0], parts[1], lastId))
+                : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String encode() {
+        if (lastId == null) {
+            throw new IllegalStateException("The start of " + sort + " has no token");
+        }
+        final String id = ObjectId.isValid(lastId) ? lastId : STRING_ID + lastId;
+        final String raw = sort + SEPARATOR + sortValue + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public String getSortValue() {
+        return sortValue;
+    }
+
+    /**
+     * @return the id of the last item of the previous page, or null at the start.
+     */
+    public String getLastId() {
+        return lastId;
+    }
+
+    public boolean equals(final Object o) {
+        if (o == this) return true;
+        if (!(o instanceof ContinuationToken)) return false;
+        final ContinuationToken other = (ContinuationToken) o;
+        return sort.equals(other.sort) && sortValue.equals(other.sortValue) && Objects.equals(lastId, other.lastId);
+    }
+
+    public int hashCode() {
+        return Objects.hash(sort, sortValue, lastId);
+    }
+
+    public String toString() {
+        return "ContinuationToken(sort=" + sort + ", sortValue=" + sortValue + ", lastId=" + lastId + ")";
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * A page of a listing of the items within a date range, sorted by date then by id. A page starts
+ * right after the date and the id of the last item of the previous one, which its continuation
+ * token records, so the next page is a seek on the date range index.
+ */
+final class DateRange {
+
+    /**
+     * Ordering of the due date listings.
+     */
+    static final String BY_DUE_DATE = "dueDate";
+
+    /**
+     * Ordering of the completion date listings.
+     */
+    static final String BY_COMPLETED_DATE = "completedDate";
+
+    // the bounds of an open ended range, the dates stored by MongoDB are within them.
+    private static final OffsetDateTime EARLIEST = OffsetDateTime.of(1, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final OffsetDateTime LATEST = OffsetDateTime.of(10000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final String sort;
+
+    private final OffsetDateTime after;
+
+    private final String afterId;
+
+    private final OffsetDateTime before;
+
+    private DateRange(String sort, OffsetDateTime after, String afterId, OffsetDateTime before) {
+        this.sort = sort;
+        this.after = after;
+        this.afterId = afterId;
+        this.before = before;
+    }
+
+    /**
+     * Resolves where a date range listing request starts reading.
+     *
+     * @param from the start of the range, included, or null.
+     * @param to the end of the range, excluded, or null.
+     * @param continuationToken the token of the previous page, or null for the first page.
+     * @return the page.
+     */
+    static DateRange of(String sort, OffsetDateTime from, OffsetDateTime to, String continuationToken) {
+        final OffsetDateTime start = from == null ? EARLIEST : from;
+        final OffsetDateTime end = to == null ? LATEST : to;
+        if (continuationToken == null) {
+            return new DateRange(sort, start, null, end);
+        }
+        final ContinuationToken token = ContinuationToken
+            .parse(continuationToken, sort)
+            .filter(t -> t.getSortValue().matches("-?\\d{1,18}"))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid continuation token"));
+        final OffsetDateTime last = Instant.ofEpochMilli(Long.parseLong(token.getSortValue())).atOffset(ZoneOffset.UTC);
+        // a token from before the start of the range, e.g. of a page of another range, starts it over.
+        return last.isBefore(start)
+            ? new DateRange(sort, start, null, end)
+            : new DateRange(sort, last, token.getLastId(), end);
+    }
+
+    /**
+     * @return the date of the last item of the previous page, or the start of the range.
+     */
+    OffsetDateTime getAfter() {
+        return after;
+    }
+
+    /**
+     * @return the id of the last item of the previous page, or null at the start of the range.
+     */
+    String getAfterId() {
+        return afterId;
+    }
+
+    /**
+     * @return the end of the range, excluded.
+     */
+    OffsetDateTime getBefore() {
+        return before;
+    }
+
+    /**
+     * @return the position after a page of the listing, or empty if it is the last page.
+     */
+    Optional<ContinuationToken> nextPage(List<TodoItem> items, BigDecimal top) {
+        // a full page means there may be more items, hand out the position of its last item.
+        if (items.isEmpty() || items.size() < top.intValue()) {
+            return Optional.empty();
+        }
+        final TodoItem last = items.get(items.size() - 1);
+        final Function<TodoItem, OffsetDateTime> date = BY_DUE_DATE.equals(sort)
+            ? TodoItem::getDueDate
+            : TodoItem::getCompletedDate;
+        // the dates are stored with a millisecond precision, the token keeps all of it.
+        return ContinuationToken.after(sort, String.valueOf(date.apply(last).toInstant().toEpochMilli()), last.getId());
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong ETags of the Todo lists and items, and weak ones of the item listings, built from the version
+ * counter their writes increment: checking whether a client's copy is current takes a lookup of the
+ * version, not a comparison of the whole representation.
+ */
+final class ETags {
+
+    private static final String ANY = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {}
+
+    /**
+     * @param version the version of a resource, null for documents written before versions existed,
+     *        which count as version 0.
+     * @return the quoted ETag of that version.
+     */
+    static String of(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * @param version the version of the items of a list, null for a list whose items were never written.
+     * @return the weak ETag of the listings and counts of the items at that version. They are only
+     *         compared with `If-None-Match`, and come in several representations, JSON or Smile,
+     *         compressed or not: Tomcat does not compress responses with a strong ETag.
+     */
+    static String weak(Long version) {
+        return WEAK_PREFIX + of(version);
+    }
+
+    /**
+     * Compares an ETag with the `If-None-Match` header of a request, with the weak comparison the
+     * header calls for.
+     *
+     * @param ifNoneMatch the header, or null if the request has none.
+     * @return whether the client's copy is current, i.e. a `304` can be sent instead of the body.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        final String opaqueTag = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            final String tag = candidate.trim();
+            if (ANY.equals(tag) || opaqueTag.equals(opaqueTag(tag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith(WEAK_PREFIX) ? etag.substring(WEAK_PREFIX.length()) : etag;
+    }
+
+    /**
+     * Parses the `If-Match` header of a request into the versions it accepts. Only strong ETags match,
+     * the weak and malformed ones are left out.
+     *
+     * @param ifMatch the header, or null if the request has none.
+     * @return the versions, possibly none, or null if any version is accepted: the request has no
+     *         header, or `*`.
+     */
+    static List<Long> versions(String ifMatch) {
+        if (ifMatch == null || ANY.equals(ifMatch.trim())) {
+            return null;
+        }
+        final List<Long> versions = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            final String tag = candidate.trim();
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.valueOf(tag.substring(1, tag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // not an ETag of this API, it matches no version.
+                }
+            }
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import org.bson.Document;
+
+/**
+ * The Todo item properties requested with the `fields` parameter of the item listings.
+ * <p>
+ * The listings apply it as a `$project` stage, so the properties that were not requested are neither
+ * read from the documents nor sent over the wire, and are left out of the JSON responses. The id is
+ * always returned: the continuation token of the next page is built from it.
+ */
+public final class FieldProjection {
+
+    /**
+     * The properties of {@link TodoItem}, by their JSON name.
+     */
+    public static final List<String> NAMES = Arrays
+        .stream(TodoItem.class.getDeclaredFields())
+        .map(field -> field.getAnnotation(JsonProperty.class))
+        .filter(Objects::nonNull)
+        .map(JsonProperty::value)
+        .toList();
+
+    /**
+     * Projection of every property, used when the `fields` parameter is absent.
+     */
+    public static final FieldProjection ALL = new FieldProjection(NAMES);
+
+    private static final String ID = "id";
+
+    private final Document projection;
+
+    private FieldProjection(Iterable<String> names) {
+        // `id` is stored as `_id`, the other properties keep their name.
+        this.projection = new Document("_id", 1);
+        for (String name : names) {
+            if (!ID.equals(name)) {
+                projection.append(name, 1);
+            }
+        }
+    }
+
+    /**
+     * Parses the `fields` parameter of a request.
+     *
+     * @param fields the requested property names, or null or empty for all of them.
+     * @return the projection, or empty if a name is not a property of {@link TodoItem}.
+     */
+    public static Optional<FieldProjection> parse(List<String> fields) {
+        if (fields == null || fields.isEmpty()) {
+            return Optional.of(ALL);
+        }
+        final Set<String> names = new LinkedHashSet<>();
+        for (String field : fields) {
+            final String name = field.trim();
+            if (!NAMES.contains(name)) {
+                return Optional.empty();
+            }
+            names.add(name);
+        }
+        return Optional.of(new FieldProjection(names));
+    }
+
+    /**
+     * @return the specification of the `$project` stage, a new copy on each call.
+     */
+    public Document toDocument() {
+        return new Document(projection);
+    }
+}
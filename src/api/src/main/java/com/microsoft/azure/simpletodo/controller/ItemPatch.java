@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A JSON merge patch of a Todo item: the properties it sets to null are removed from the item, the
+ * other ones are set to the given values, and the properties it doesn't have are left as they are.
+ */
+final class ItemPatch {
+
+    // the id and the list of an item identify it, its version is incremented by each write.
+    private static final Set<String> READ_ONLY = Set.of("id", "listId", "version");
+
+    private static final List<String> NAMES = FieldProjection.NAMES
+        .stream()
+        .filter(name -> !READ_ONLY.contains(name))
+        .toList();
+
+    // required by the schema of the Todo items, they can be changed but not removed.
+    private static final Set<String> REQUIRED = Set.of("name", "description");
+
+    private final TodoItem values;
+
+    private final Set<String> properties;
+
+    private ItemPatch(TodoItem values, Set<String> properties) {
+        this.values = values;
+        this.properties = properties;
+    }
+
+    /**
+     * Parses the body of a request.
+     *
+     * @param patch the patch, by JSON property name.
+     * @return the patch, or empty if it has a property that can't be patched, or a value that is not
+     *         valid for its property.
+     */
+    static Optional<ItemPatch> parse(Map<String, Object> patch, ObjectMapper objectMapper) {
+        if (patch == null) {
+            return Optional.empty();
+        }
+        final Map<String, Object> set = new HashMap<>();
+        for (Map.Entry<String, Object> property : patch.entrySet()) {
+            if (!NAMES.contains(property.getKey())) {
+                return Optional.empty();
+            }
+            if (property.getValue() != null) {
+                set.put(property.getKey(), property.getValue());
+            } else if (REQUIRED.contains(property.getKey())) {
+                return Optional.empty();
+            }
+        }
+        try {
+            // the values are read as the ones of a whole item would be, e.g. the state and the dates.
+            return Optional.of(new ItemPatch(objectMapper.convertValue(set, TodoItem.class), Set.copyOf(patch.keySet())));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return an item with the values of the properties that are set, null for the other ones.
+     */
+    TodoItem getValues() {
+        return values;
+    }
+
+    /**
+     * @return the names of the properties of the patch, both set and removed.
+     */
+    Set<String> getProperties() {
+        return properties;
+    }
+}
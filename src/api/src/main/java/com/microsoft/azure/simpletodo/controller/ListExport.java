@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Body of the export of a Todo list, as newline delimited JSON: the list on the first line, then
+ * each of its items on a line of its own, read from a cursor as they are written. The import of a
+ * list reads the same format back.
+ * <p>
+ * Like {@link StreamingItems}, only the lines written since the last flush are buffered, whatever the
+ * size of the list.
+ */
+final class ListExport implements StreamingResponseBody {
+
+    private final TodoList list;
+
+    private final Supplier<Stream<TodoItem>> items;
+
+    private final ObjectWriter writer;
+
+    private final boolean gzip;
+
+    /**
+     * @param items opens the cursor of the items of the list, once the response is being written.
+     * @param gzip whether to compress the body, its `Content-Encoding` is set by the caller.
+     */
+    ListExport(TodoList list, Supplier<Stream<TodoItem>> items, ObjectMapper objectMapper, boolean gzip) {
+        this.list = list;
+        this.items = items;
+        // the output stream belongs to the servlet container, see StreamingItems.
+        this.writer = objectMapper
+            .writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.gzip = gzip;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        // sync flush, so that each flush sends the lines compressed so far.
+        final OutputStream target = gzip ? new GZIPOutputStream(outputStream, true) : outputStream;
+        try (Stream<TodoItem> stream = items.get(); JsonGenerator generator = writer.createGenerator(target)) {
+            generator.setRootValueSeparator(null);
+            writeLine(generator, list);
+            int count = 0;
+            for (Iterator<TodoItem> iterator = stream.iterator(); iterator.hasNext();) {
+                writeLine(generator, iterator.next());
+                if (++count % StreamingItems.FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        if (target instanceof GZIPOutputStream gzipStream) {
+            // writes the trailer, without closing the response.
+            gzipStream.finish();
+        }
+    }
+
+    private void writeLine(JsonGenerator generator, Object value) throws IOException {
+        writer.writeValue(generator, value);
+        generator.writeRaw('\n');
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.api.reactive.BatchApi;
+import com.microsoft.azure.simpletodo.configuration.ReactiveWebConfiguration;
+import com.microsoft.azure.simpletodo.model.BatchRequest;
+import com.microsoft.azure.simpletodo.model.BatchResponse;
+import com.microsoft.azure.simpletodo.model.BatchResponseItem;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The Batch API of the `reactive` profile, same behavior as {@link BatchController}: the calls go
+ * through the {@link HttpHandler} of the application, with its filters and error handling, in a new
+ * exchange each.
+ */
+@RestController
+@Profile(ReactiveWebConfiguration.PROFILE)
+public class ReactiveBatchController implements BatchApi {
+
+    // the handler of the application wraps its controllers, it is looked up once they are created.
+    private final ObjectProvider<HttpHandler> httpHandler;
+
+    private final BatchCalls batchCalls;
+
+    public ReactiveBatchController(
+        ObjectProvider<HttpHandler> httpHandler,
+        ObjectMapper objectMapper,
+        @Value("${todo.batch.max-requests:100}") int maxRequests
+    ) {
+        this.httpHandler = httpHandler;
+        this.batchCalls = new BatchCalls(objectMapper, maxRequests);
+    }
+
+    public Mono<ResponseEntity<BatchResponse>> batch(Mono<BatchRequest> batchRequest, ServerWebExchange exchange) {
+        return batchRequest
+            .flatMap(b -> batchCalls.execute(b, call -> dispatch(exchange, call)))
+            .map(ResponseEntity::ok);
+    }
+
+    private Mono<BatchResponseItem> dispatch(ServerWebExchange exchange, BatchCalls.Call call) {
+        final ServerHttpRequest batchRequest = exchange.getRequest();
+        final ServerHttpRequest request = new ServerHttpRequestDecorator(
+            batchRequest
+                .mutate()
+                .method(call.getMethod())
+                .uri(batchRequest.getURI().resolve(call.getUri()))
+                .headers(headers -> {
+                    headers.clear();
+                    headers.addAll(call.getHeaders());
+                })
+                .build()
+        ) {
+            @Override
+            public Flux<DataBuffer> getBody() {
+                final byte[] body = call.getBody();
+                return body.length == 0 ? Flux.empty() : Flux.just(exchange.getResponse().bufferFactory().wrap(body));
+            }
+        };
+        final BatchServerHttpResponse response = new BatchServerHttpResponse(exchange.getResponse().bufferFactory());
+        return httpHandler
+            .getObject()
+            .handle(request, response)
+            .then(
+                Mono.fromSupplier(() -> {
+                    final HttpStatusCode status = response.getStatusCode();
+                    return batchCalls.response(
+                        call,
+                        status != null ? status.value() : HttpStatus.OK.value(),
+                        response.getHeaders(),
+                        response.getBodyAsByteArray()
+                    );
+                })
+            );
+    }
+}
@@ -0,0 +1,609 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.api.reactive.ItemsApi;
+import com.microsoft.azure.simpletodo.configuration.ReactiveWebConfiguration;
+import com.microsoft.azure.simpletodo.model.BulkUpdateResult;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoItemBatchResult;
+import com.microsoft.azure.simpletodo.model.TodoItemChanges;
+import com.microsoft.azure.simpletodo.model.TodoState;
+import com.microsoft.azure.simpletodo.repository.DeletedTodoItem;
+import com.microsoft.azure.simpletodo.repository.ItemChanges;
+import com.microsoft.azure.simpletodo.repository.ItemIds;
+import com.microsoft.azure.simpletodo.repository.ReactiveTodoItemRepository;
+import com.microsoft.azure.simpletodo.repository.ReactiveTodoListRepository;
+import com.microsoft.azure.simpletodo.service.TodoItemEventService;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The Items API of the `reactive` profile, same behavior as {@link TodoItemsController} without
+ * blocking a thread on database calls.
+ */
+@RestController
+@Profile(ReactiveWebConfiguration.PROFILE)
+public class ReactiveTodoItemsController implements ItemsApi {
+
+    private final ReactiveTodoItemRepository todoItemRepository;
+
+    private final ReactiveTodoListRepository todoListRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxStreamedItems;
+
+    private final int maxBatchSize;
+
+    private final TodoItemEventService todoItemEventService;
+
+    private final Duration eventsTimeout;
+
+    public ReactiveTodoItemsController(
+        ReactiveTodoItemRepository todoItemRepository,
+        ReactiveTodoListRepository todoListRepository,
+        ObjectMapper objectMapper,
+        @Value("${todo.items.stream.max-items:10000}") int maxStreamedItems,
+        @Value("${todo.items.batch.max-size:10000}") int maxBatchSize,
+        TodoItemEventService todoItemEventService,
+        @Value("${todo.items.events.timeout:10m}") Duration eventsTimeout
+    ) {
+        this.todoItemRepository = todoItemRepository;
+        this.todoListRepository = todoListRepository;
+        this.objectMapper = objectMapper;
+        this.maxStreamedItems = maxStreamedItems;
+        this.maxBatchSize = maxBatchSize;
+        this.todoItemEventService = todoItemEventService;
+        this.eventsTimeout = eventsTimeout;
+    }
+
+    public Mono<ResponseEntity<TodoItem>> createItem(String listId, Mono<TodoItem> todoItem, ServerWebExchange exchange) {
+        final long change = ItemChanges.pending();
+        return todoItem
+            .flatMap(item -> {
+                item.setListId(listId);
+                // the version is initialized by the insert.
+                item.setVersion(null);
+                item.setChangeSeq(change);
+                return todoItemRepository.saveInExistingList(item);
+            })
+            .flatMap(savedTodoItem -> todoItemRepository.markItemsChanged(listId, change).thenReturn(savedTodoItem))
+            .map(savedTodoItem -> {
+                final URI location = UriComponentsBuilder
+                    .fromUri(exchange.getRequest().getURI())
+                    .path("/{id}")
+                    .buildAndExpand(savedTodoItem.getId())
+                    .toUri();
+                return ResponseEntity.created(location).eTag(ETags.of(savedTodoItem.getVersion())).body(savedTodoItem);
+            })
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    public Mono<ResponseEntity<Flux<TodoItemBatchResult>>> createItemsBatch(
+        String listId,
+        Boolean ordered,
+        Mono<List<TodoItem>> todoItem,
+        ServerWebExchange exchange
+    ) {
+        final long change = ItemChanges.pending();
+        return todoItem
+            .defaultIfEmpty(List.of())
+            .flatMap(items -> {
+                final List<TodoItem> batch = TodoItemsController.batch(items, maxBatchSize);
+                batch.forEach(item -> item.setChangeSeq(change));
+                return todoItemRepository.saveAllInExistingList(listId, batch, !Boolean.FALSE.equals(ordered));
+            })
+            .flatMap(results ->
+                results.isEmpty()
+                    ? Mono.just(results)
+                    : todoItemRepository.markItemsChanged(listId, change).thenReturn(results)
+            )
+            .map(results -> ResponseEntity.ok(Flux.fromIterable(results)))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    public Mono<ResponseEntity<Void>> deleteItemById(String listId, String itemId, ServerWebExchange exchange) {
+        return todoItemRepository
+            .deleteTodoItemByListIdAndId(listId, itemId)
+            .flatMap(i ->
+                todoItemRepository.markItemDeleted(listId, itemId).thenReturn(ResponseEntity.noContent().<Void>build())
+            )
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    public Mono<ResponseEntity<TodoItem>> getItemById(
+        String listId,
+        String itemId,
+        String ifNoneMatch,
+        ServerWebExchange exchange
+    ) {
+        return todoItemRepository
+            .findTodoItemByListIdAndId(listId, itemId)
+            .map(i -> TodoItemsController.conditional(i, i.getVersion(), ifNoneMatch))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    public Mono<ResponseEntity<TodoItemChanges>> getItemChangesByListId(
+        String listId,
+        String syncToken,
+        BigDecimal top,
+        ServerWebExchange exchange
+    ) {
+        final SyncToken token = SyncToken.parse(syncToken, listId);
+        final int limit = Math.max(top.intValue(), 1);
+        return todoListRepository
+            .findById(listId)
+            .flatMap(list -> {
+                final SyncToken position = token.resume(list.getItemsVersion());
+                if (!position.isDeletions()) {
+                    return itemChanges(listId, position, List.of(), limit);
+                }
+                return todoItemRepository
+                    .findItemDeletions(
+                        listId,
+                        position.getSince(),
+                        position.getUntil(),
+                        position.getAfterSeq(),
+                        position.getAfterId(),
+                        limit
+                    )
+                    .collectList()
+                    .flatMap(deletions -> {
+                        final SyncToken next = position.afterDeletions(deletions, limit);
+                        return next.isDeletions()
+                            ? Mono.just(next.changes(deletions, List.of()))
+                            : itemChanges(listId, next, deletions, limit);
+                    });
+            })
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // fills up a page of changes with the created or updated items.
+    private Mono<TodoItemChanges> itemChanges(
+        String listId,
+        SyncToken position,
+        List<DeletedTodoItem> deletions,
+        int limit
+    ) {
+        final int remaining = limit - deletions.size();
+        return todoItemRepository
+            .findItemChanges(
+                listId,
+                position.getSince(),
+                position.getUntil(),
+                position.getAfterSeq(),
+                position.getAfterId(),
+                remaining
+            )
+            .collectList()
+            .map(items -> position.afterItems(items, remaining).changes(deletions, items));
+    }
+
+    /**
+     * @see TodoItemsController#getListEvents
+     */
+    @GetMapping(value = "/lists/{listId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Flux<ServerSentEvent<TodoItem>>>> getListEvents(
+        @PathVariable("listId") String listId,
+        @RequestHeader(value = TodoItemsController.LAST_EVENT_ID, required = false) String lastEventId
+    ) {
+        return todoListRepository
+            .findById(listId)
+            .map(l ->
+                ResponseEntity.ok(
+                    todoItemEventService
+                        .subscribe(listId, lastEventId)
+                        .take(eventsTimeout)
+                        .map(event ->
+                            ServerSentEvent.builder(event.getItem()).id(event.getId()).event(event.getType()).build()
+                        )
+                )
+            )
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    public Mono<ResponseEntity<Flux<TodoItem>>> getItemsByListId(
+        String listId,
+        BigDecimal top,
+        BigDecimal skip,
+        String continuationToken,
+        List<String> fields,
+        String ifNoneMatch,
+        ServerWebExchange exchange
+    ) {
+        final Optional<ContinuationToken> position = TodoItemsController.keysetPosition(skip, continuationToken);
+        final Document projection = TodoItemsController.projection(fields);
+        final int limit = TodoItemsController.pageSize(top);
+        final Flux<TodoItem> items = position
+            .map(p ->
+                todoItemRepository.findTodoItemsByTodoListAfter(listId, ItemIds.after(p.getLastId()), limit, projection)
+            )
+            .orElseGet(() -> todoItemRepository.findTodoItemsByTodoList(listId, skip.intValue(), limit, projection));
+        return page(listId, ifNoneMatch, items, top, position.isPresent());
+    }
+
+    /**
+     * @see TodoItemsController#streamItemsByListId
+     */
+    @GetMapping(
+        value = "/lists/{listId}/items",
+        params = TodoItemsController.STREAM,
+        produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE }
+    )
+    public Mono<ResponseEntity<Flux<TodoItem>>> streamItemsByListId(
+        @PathVariable("listId") String listId,
+        @RequestParam(value = "top", required = false) BigDecimal top,
+        @RequestParam(value = "skip", required = false, defaultValue = "0") BigDecimal skip,
+        @RequestParam(value = "continuationToken", required = false) String continuationToken,
+        @RequestParam(value = "fields", required = false) List<String> fields
+    ) {
+        return stream(listId, null, top, skip, continuationToken, fields);
+    }
+
+    public Mono<ResponseEntity<TodoItem>> patchItemById(
+        String listId,
+        String itemId,
+        Mono<Map<String, Object>> patch,
+        String ifMatch,
+        ServerWebExchange exchange
+    ) {
+        final List<Long> versions = ETags.versions(ifMatch);
+        final long change = ItemChanges.pending();
+        return patch
+            .flatMap(p -> {
+                final Optional<ItemPatch> itemPatch = ItemPatch.parse(p, objectMapper);
+                if (itemPatch.isEmpty()) {
+                    return Mono.just(ResponseEntity.badRequest().<TodoItem>build());
+                }
+                final TodoItem values = itemPatch.get().getValues();
+                values.setId(itemId);
+                values.setListId(listId);
+                values.setChangeSeq(change);
+                return todoItemRepository
+                    .patchInList(values, itemPatch.get().getProperties(), versions)
+                    .flatMap(t -> todoItemRepository.markItemsChanged(listId, change).thenReturn(t))
+                    .map(t -> ResponseEntity.ok().eTag(ETags.of(t.getVersion())).body(t))
+                    .switchIfEmpty(Mono.defer(() -> notWritten(listId, itemId, versions)));
+            })
+            .defaultIfEmpty(ResponseEntity.badRequest().build());
+    }
+
+    public Mono<ResponseEntity<TodoItem>> updateItemById(
+        String listId,
+        String itemId,
+        Mono<TodoItem> todoItem,
+        String ifMatch,
+        ServerWebExchange exchange
+    ) {
+        final List<Long> versions = ETags.versions(ifMatch);
+        final long change = ItemChanges.pending();
+        return todoItem
+            .flatMap(item -> {
+                // make sure listId and itemId are set into the todoItem, the replacement is filtered on both.
+                item.setId(itemId);
+                item.setListId(listId);
+                item.setChangeSeq(change);
+                return todoItemRepository
+                    .replaceInList(item, versions)
+                    .flatMap(t -> todoItemRepository.markItemsChanged(listId, change).thenReturn(t))
+                    .map(t -> ResponseEntity.ok().eTag(ETags.of(t.getVersion())).body(t))
+                    .switchIfEmpty(Mono.defer(() -> notWritten(listId, itemId, versions)));
+            })
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // the item is only looked up if a conditional write failed, see TodoItemsController#updateItemById.
+    private Mono<ResponseEntity<TodoItem>> notWritten(String listId, String itemId, List<Long> versions) {
+        if (versions == null) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        return todoItemRepository
+            .findTodoItemByListIdAndId(listId, itemId)
+            .map(t -> TodoItemsController.<TodoItem>notReplaced(true))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    public Mono<ResponseEntity<Flux<TodoItem>>> getItemsByListIdAndState(
+        String listId,
+        TodoState state,
+        BigDecimal top,
+        BigDecimal skip,
+        String continuationToken,
+        List<String> fields,
+        String ifNoneMatch,
+        ServerWebExchange exchange
+    ) {
+        final Optional<ContinuationToken> position = TodoItemsController.keysetPosition(skip, continuationToken);
+        final Document projection = TodoItemsController.projection(fields);
+        final Flux<TodoItem> items = position
+            .map(p ->
+                todoItemRepository.findTodoItemsByTodoListAndStateAfter(
+                    listId,
+                    state.name(),
+                    ItemIds.after(p.getLastId()),
+                    TodoItemsController.pageSize(top),
+                    projection
+                )
+            )
+            .orElseGet(() ->
+                todoItemRepository.findTodoItemsByTodoListAndState(
+                    listId,
+                    state.name(),
+                    skip.intValue(),
+                    TodoItemsController.pageSize(top),
+                    projection
+                )
+            );
+        return page(listId, ifNoneMatch, items, top, position.isPresent());
+    }
+
+    /**
+     * @see TodoItemsController#streamItemsByListIdAndState
+     */
+    @GetMapping(
+        value = "/lists/{listId}/items/state/{state}",
+        params = TodoItemsController.STREAM,
+        produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE }
+    )
+    public Mono<ResponseEntity<Flux<TodoItem>>> streamItemsByListIdAndState(
+        @PathVariable("listId") String listId,
+        @PathVariable("state") TodoState state,
+        @RequestParam(value = "top", required = false) BigDecimal top,
+        @RequestParam(value = "skip", required = false, defaultValue = "0") BigDecimal skip,
+        @RequestParam(value = "continuationToken", required = false) String continuationToken,
+        @RequestParam(value = "fields", required = false) List<String> fields
+    ) {
+        return stream(listId, state, top, skip, continuationToken, fields);
+    }
+
+    public Mono<ResponseEntity<BulkUpdateResult>> updateItemsStateByListId(
+        String listId,
+        TodoState state,
+        Mono<List<String>> requestBody,
+        ServerWebExchange exchange
+    ) {
+        final long change = ItemChanges.pending();
+        // update all items in list with the given state if the body is empty.
+        return requestBody
+            .defaultIfEmpty(List.of())
+            .flatMap(itemIds -> todoItemRepository.updateItemsStateByListId(listId, state, itemIds, change))
+            .flatMap(result ->
+                result.getModifiedCount() > 0
+                    ? todoItemRepository.markItemsChanged(listId, change).thenReturn(result)
+                    : Mono.just(result)
+            )
+            .map(result ->
+                ResponseEntity.ok(
+                    new BulkUpdateResult().matchedCount(result.getMatchedCount()).modifiedCount(result.getModifiedCount())
+                )
+            );
+    }
+
+    public Mono<ResponseEntity<Flux<TodoItem>>> getCompletedItems(
+        OffsetDateTime from,
+        OffsetDateTime to,
+        BigDecimal top,
+        String continuationToken,
+        ServerWebExchange exchange
+    ) {
+        final DateRange range = DateRange.of(DateRange.BY_COMPLETED_DATE, from, to, continuationToken);
+        final int limit = TodoItemsController.pageSize(top);
+        return dateRangePage(
+            range,
+            top,
+            todoItemRepository
+                .findTodoItemsCompleted(range.getAfter(), ItemIds.after(range.getAfterId()), range.getBefore(), limit)
+                .collectList()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<TodoItem>>> getCompletedItemsByListId(
+        String listId,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        BigDecimal top,
+        String continuationToken,
+        ServerWebExchange exchange
+    ) {
+        final DateRange range = DateRange.of(DateRange.BY_COMPLETED_DATE, from, to, continuationToken);
+        return dateRangePage(
+            range,
+            top,
+            todoItemRepository.findInExistingList(
+                listId,
+                todoItemRepository
+                    .findTodoItemsCompletedByTodoList(
+                        listId,
+                        range.getAfter(),
+                        ItemIds.after(range.getAfterId()),
+                        range.getBefore(),
+                        TodoItemsController.pageSize(top)
+                    )
+                    .collectList()
+            )
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<TodoItem>>> getDueItems(
+        OffsetDateTime from,
+        OffsetDateTime to,
+        BigDecimal top,
+        String continuationToken,
+        ServerWebExchange exchange
+    ) {
+        return dueItems(DateRange.of(DateRange.BY_DUE_DATE, from, to, continuationToken), List.of(), top);
+    }
+
+    public Mono<ResponseEntity<Flux<TodoItem>>> getDueItemsByListId(
+        String listId,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        BigDecimal top,
+        String continuationToken,
+        ServerWebExchange exchange
+    ) {
+        return dueItemsOfList(listId, DateRange.of(DateRange.BY_DUE_DATE, from, to, continuationToken), List.of(), top);
+    }
+
+    public Mono<ResponseEntity<Flux<TodoItem>>> getOverdueItems(
+        BigDecimal top,
+        String continuationToken,
+        ServerWebExchange exchange
+    ) {
+        return dueItems(TodoItemsController.overdue(continuationToken), TodoItemsController.NOT_OVERDUE, top);
+    }
+
+    public Mono<ResponseEntity<Flux<TodoItem>>> getOverdueItemsByListId(
+        String listId,
+        BigDecimal top,
+        String continuationToken,
+        ServerWebExchange exchange
+    ) {
+        return dueItemsOfList(listId, TodoItemsController.overdue(continuationToken), TodoItemsController.NOT_OVERDUE, top);
+    }
+
+    private Mono<ResponseEntity<Flux<TodoItem>>> dueItems(DateRange range, List<String> excludedStates, BigDecimal top) {
+        final int limit = TodoItemsController.pageSize(top);
+        return dateRangePage(
+            range,
+            top,
+            todoItemRepository
+                .findTodoItemsDue(
+                    range.getAfter(),
+                    ItemIds.after(range.getAfterId()),
+                    range.getBefore(),
+                    excludedStates,
+                    limit
+                )
+                .collectList()
+        );
+    }
+
+    private Mono<ResponseEntity<Flux<TodoItem>>> dueItemsOfList(
+        String listId,
+        DateRange range,
+        List<String> excludedStates,
+        BigDecimal top
+    ) {
+        return dateRangePage(
+            range,
+            top,
+            todoItemRepository.findInExistingList(
+                listId,
+                todoItemRepository
+                    .findTodoItemsDueByTodoList(
+                        listId,
+                        range.getAfter(),
+                        ItemIds.after(range.getAfterId()),
+                        range.getBefore(),
+                        excludedStates,
+                        TodoItemsController.pageSize(top)
+                    )
+                    .collectList()
+            )
+        );
+    }
+
+    // the page is collected, whether there is a next page has to be known before the headers are sent.
+    private static Mono<ResponseEntity<Flux<TodoItem>>> dateRangePage(
+        DateRange range,
+        BigDecimal top,
+        Mono<List<TodoItem>> items
+    ) {
+        return items
+            .map(page -> {
+                final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                range.nextPage(page, top).ifPresent(next -> response.header(ContinuationToken.HEADER, next.encode()));
+                return response.body(Flux.fromIterable(page));
+            })
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // the items are only subscribed to once the list is known to exist, they are then encoded as they are
+    // read, as a JSON array or as newline delimited JSON depending on the negotiated media type, at the
+    // pace the client reads them.
+    private Mono<ResponseEntity<Flux<TodoItem>>> stream(
+        String listId,
+        TodoState state,
+        BigDecimal top,
+        BigDecimal skip,
+        String continuationToken,
+        List<String> fields
+    ) {
+        final String afterId = TodoItemsController
+            .keysetPosition(skip, continuationToken)
+            .map(ContinuationToken::getLastId)
+            .orElse(null);
+        final Flux<TodoItem> items = todoItemRepository.streamItems(
+            listId,
+            state,
+            afterId,
+            skip.intValue(),
+            TodoItemsController.streamLimit(top, maxStreamedItems),
+            TodoItemsController.projection(fields)
+        );
+        return todoItemRepository
+            .findInExistingList(listId, Mono.just(items))
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    // the version of the items is read before the items, see TodoItemsController#listing, from the
+    // database as the other reads of this profile. The page is collected rather than streamed, whether
+    // there is a next page has to be known before the headers are sent.
+    private Mono<ResponseEntity<Flux<TodoItem>>> page(
+        String listId,
+        String ifNoneMatch,
+        Flux<TodoItem> items,
+        BigDecimal top,
+        boolean keyset
+    ) {
+        return todoListRepository
+            .findItemsVersion(listId)
+            .flatMap(list -> {
+                final String etag = ETags.weak(list.getItemsVersion());
+                if (ETags.matches(ifNoneMatch, etag)) {
+                    return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<Flux<TodoItem>>build());
+                }
+                return items
+                    .collectList()
+                    .map(page -> {
+                        final ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+                        if (keyset) {
+                            TodoItemsController
+                                .nextPage(page, top)
+                                .ifPresent(next -> response.header(ContinuationToken.HEADER, next.encode()));
+                        }
+                        return response.body(Flux.fromIterable(page));
+                    });
+            })
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
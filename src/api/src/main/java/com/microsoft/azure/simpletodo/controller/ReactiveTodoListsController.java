@@ -0,0 +1,280 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.api.reactive.ListsApi;
+import com.microsoft.azure.simpletodo.configuration.ReactiveWebConfiguration;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.model.TodoListDeletion;
+import com.microsoft.azure.simpletodo.model.TodoListStats;
+import com.microsoft.azure.simpletodo.repository.ReactiveTodoItemRepository;
+import com.microsoft.azure.simpletodo.repository.ReactiveTodoListRepository;
+import com.microsoft.azure.simpletodo.service.TodoListDeletionService;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The Lists API of the `reactive` profile, same behavior as {@link TodoListsController} without
+ * blocking a thread on database calls.
+ */
+@RestController
+@Profile(ReactiveWebConfiguration.PROFILE)
+public class ReactiveTodoListsController implements ListsApi {
+
+    private final ReactiveTodoListRepository todoListRepository;
+
+    private final ReactiveTodoItemRepository todoItemRepository;
+
+    private final TodoListDeletionService todoListDeletionService;
+
+    private final ObjectMapper objectMapper;
+
+    private final int importBatchSize;
+
+    public ReactiveTodoListsController(
+        ReactiveTodoListRepository todoListRepository,
+        ReactiveTodoItemRepository todoItemRepository,
+        TodoListDeletionService todoListDeletionService,
+        ObjectMapper objectMapper,
+        @Value("${todo.lists.import.batch-size:500}") int importBatchSize
+    ) {
+        this.todoListRepository = todoListRepository;
+        this.todoItemRepository = todoItemRepository;
+        this.todoListDeletionService = todoListDeletionService;
+        this.objectMapper = objectMapper;
+        this.importBatchSize = importBatchSize;
+    }
+
+    public Mono<ResponseEntity<TodoList>> createList(Mono<TodoList> todoList, ServerWebExchange exchange) {
+        return todoList
+            .flatMap(l -> {
+                // the version is initialized by the insert.
+                l.setVersion(null);
+                l.setItemsVersion(TodoListsController.initialItemsVersion());
+                return todoListRepository.save(l);
+            })
+            .map(savedTodoList -> {
+                URI location = UriComponentsBuilder
+                    .fromUri(exchange.getRequest().getURI())
+                    .path("/{id}")
+                    .buildAndExpand(savedTodoList.getId())
+                    .toUri();
+                return ResponseEntity.created(location).eTag(ETags.of(savedTodoList.getVersion())).body(savedTodoList);
+            })
+            .defaultIfEmpty(ResponseEntity.badRequest().build());
+    }
+
+    public Mono<ResponseEntity<TodoListDeletion>> deleteListById(String listId, ServerWebExchange exchange) {
+        // the list goes away right away, its items are deleted in batches in the background.
+        return todoListRepository
+            .deleteTodoListById(listId)
+            .flatMap(l -> deleteItemsOf(l.getId()))
+            .map(d -> {
+                URI location = UriComponentsBuilder
+                    .fromUri(exchange.getRequest().getURI())
+                    .path("/deletion")
+                    .build()
+                    .toUri();
+                return ResponseEntity.accepted().location(location).body(d);
+            })
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * The list on the first line, then its items as they are read from their cursor. Compression is
+     * left to the server, see `server.compression`.
+     *
+     * @see TodoListsController#exportListById
+     */
+    @GetMapping(value = "/lists/{listId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<Object>>> exportListById(@PathVariable("listId") String listId) {
+        return todoListRepository
+            .findById(listId)
+            .map(l ->
+                ResponseEntity
+                    .ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(
+                        Flux.<Object>concat(
+                            Mono.just(l),
+                            todoItemRepository.streamItems(listId, null, null, 0, 0, FieldProjection.ALL.toDocument())
+                        )
+                    )
+            )
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    public Mono<ResponseEntity<TodoListDeletion>> getListDeletion(String listId, ServerWebExchange exchange) {
+        return Mono
+            .fromCallable(() -> todoListDeletionService.getDeletion(listId))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(Mono::justOrEmpty)
+            .map(ResponseEntity::ok)
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    public Mono<ResponseEntity<TodoList>> getListById(String listId, String ifNoneMatch, ServerWebExchange exchange) {
+        return todoListRepository
+            .findById(listId)
+            .map(l -> TodoItemsController.conditional(l, l.getVersion(), ifNoneMatch))
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * The counts are not cached, as the other reads of this profile.
+     *
+     * @see TodoListsController#getListStats
+     */
+    public Mono<ResponseEntity<TodoListStats>> getListStats(String listId, String ifNoneMatch, ServerWebExchange exchange) {
+        return todoListRepository
+            .findItemsVersion(listId)
+            .flatMap(l -> {
+                final String etag = ETags.weak(l.getItemsVersion());
+                if (ETags.matches(ifNoneMatch, etag)) {
+                    return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<TodoListStats>build());
+                }
+                return todoItemRepository
+                    .countTodoItemsByState(listId)
+                    .collectList()
+                    .map(counts -> ResponseEntity.ok().eTag(etag).body(TodoListsController.stats(listId, counts)));
+            })
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    public Mono<ResponseEntity<Flux<TodoList>>> getLists(BigDecimal top, BigDecimal skip, ServerWebExchange exchange) {
+        // no need to check nullity of top and skip, because they have default values.
+        return Mono.just(ResponseEntity.ok(todoListRepository.findAll(skip.intValue(), top.intValue())));
+    }
+
+    /**
+     * Each line is decoded as it arrives, the items are inserted one batch at a time and the next
+     * batch is only requested once the previous one is written. Request bodies are not decompressed.
+     *
+     * @see TodoListsController#importList
+     */
+    @PostMapping(
+        value = "/lists/import",
+        consumes = MediaType.APPLICATION_NDJSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public Mono<ResponseEntity<TodoList>> importList(@RequestBody Flux<JsonNode> body, ServerWebExchange exchange) {
+        return body
+            .switchOnFirst((first, lines) -> {
+                if (!first.hasValue()) {
+                    return first.hasError()
+                        ? Flux.error(first.getThrowable())
+                        : Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing Todo list"));
+                }
+                final TodoList list = convert(first.get(), TodoList.class);
+                list.setItemsVersion(TodoListsController.initialItemsVersion());
+                // insert, not save: an existing list is not replaced.
+                return todoListRepository
+                    .insert(list)
+                    .flatMapMany(savedTodoList ->
+                        lines
+                            .skip(1)
+                            .map(line -> {
+                                TodoItem item = convert(line, TodoItem.class);
+                                item.setListId(savedTodoList.getId());
+                                item.setChangeSeq(savedTodoList.getItemsVersion());
+                                return item;
+                            })
+                            .buffer(importBatchSize)
+                            .concatMap(batch -> todoItemRepository.insert(batch).then(), 1)
+                            .then(Mono.just(savedTodoList))
+                            .onErrorResume(e ->
+                                todoListRepository
+                                    .deleteTodoListById(savedTodoList.getId())
+                                    .then(deleteItemsOf(savedTodoList.getId()))
+                                    .then(Mono.error(e))
+                            )
+                    );
+            })
+            .single()
+            .map(savedTodoList -> {
+                URI location = UriComponentsBuilder
+                    .fromUri(exchange.getRequest().getURI())
+                    .replacePath("/lists/{id}")
+                    .replaceQuery(null)
+                    .buildAndExpand(savedTodoList.getId())
+                    .toUri();
+                return ResponseEntity.created(location).body(savedTodoList);
+            })
+            .onErrorMap(
+                DuplicateKeyException.class,
+                e ->
+                    new ResponseStatusException(
+                        HttpStatus.CONFLICT,
+                        "The id of the Todo list or of one of its items is already used",
+                        e
+                    )
+            );
+    }
+
+    // the deletion service reads and writes its progress with blocking calls, off the event loop.
+    private Mono<TodoListDeletion> deleteItemsOf(String listId) {
+        return Mono
+            .fromCallable(() -> todoListDeletionService.deleteItemsOf(listId))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private <T> T convert(JsonNode line, Class<T> type) {
+        if (line.isNull()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid null item");
+        }
+        try {
+            return objectMapper.convertValue(line, type);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Todo list or item", e);
+        }
+    }
+
+    public Mono<ResponseEntity<TodoList>> updateListById(
+        String listId,
+        Mono<TodoList> todoList,
+        String ifMatch,
+        ServerWebExchange exchange
+    ) {
+        final List<Long> versions = ETags.versions(ifMatch);
+        return todoList
+            .flatMap(l -> {
+                // make sure listId is set into the todoList, the replacement is filtered on it.
+                l.setId(listId);
+                return todoListRepository
+                    .replace(l, versions)
+                    .map(replaced -> ResponseEntity.ok().eTag(ETags.of(replaced.getVersion())).body(replaced))
+                    .switchIfEmpty(
+                        Mono.defer(() ->
+                            versions == null
+                                ? Mono.just(ResponseEntity.notFound().<TodoList>build())
+                                : todoListRepository.existsById(listId).map(TodoItemsController::<TodoList>notReplaced)
+                        )
+                    );
+            })
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Body of a streamed item listing: the items are written as they are read from their cursor, as a
+ * JSON array or as newline delimited JSON, one item per line.
+ * <p>
+ * Only the items written since the last flush are buffered. Writes block while the client is not
+ * reading, which in turn holds back the fetch of the next batch of the cursor.
+ */
+final class StreamingItems implements StreamingResponseBody {
+
+    // number of items written between two flushes of the response.
+    static final int FLUSH_INTERVAL = 100;
+
+    private final Supplier<Stream<TodoItem>> items;
+
+    private final ObjectWriter writer;
+
+    private final boolean ndjson;
+
+    /**
+     * @param items opens the cursor, once the response is being written.
+     * @param ndjson whether to write newline delimited JSON rather than a JSON array.
+     */
+    StreamingItems(Supplier<Stream<TodoItem>> items, ObjectMapper objectMapper, boolean ndjson) {
+        this.items = items;
+        // the output stream belongs to the servlet container. The array is not closed if reading the
+        // items fails, so that clients see the response is truncated.
+        this.writer = objectMapper
+            .writerFor(TodoItem.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .without(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        this.ndjson = ndjson;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        try (Stream<TodoItem> stream = items.get(); JsonGenerator generator = writer.createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            if (!ndjson) {
+                generator.writeStartArray();
+            }
+            int count = 0;
+            for (Iterator<TodoItem> iterator = stream.iterator(); iterator.hasNext();) {
+                writer.writeValue(generator, iterator.next());
+                if (ndjson) {
+                    generator.writeRaw('\n');
+                }
+                if (++count % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+            if (!ndjson) {
+                generator.writeEndArray();
+            }
+        }
+    }
+}
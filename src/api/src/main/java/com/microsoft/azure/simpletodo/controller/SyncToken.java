@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoItemChanges;
+import com.microsoft.azure.simpletodo.repository.DeletedTodoItem;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Opaque token of the delta sync of the items of a list, see
+ * {@link com.microsoft.azure.simpletodo.repository.ItemChanges}.
+ * <p>
+ * A complete token records the version of the items of the list the client's copy is at. A sync
+ * started from it reads the current version, then returns the items deleted since, and then the
+ * items created or updated since, a page at a time: until it is done, the token also records that
+ * version, and the `changeSeq` and id of the last tombstone or item returned. The tokens are valid as
+ * long as the tombstones are kept.
+ */
+final class SyncToken {
+
+    private static final String SEPARATOR = "|";
+
+    private static final String DELETIONS = "deletions";
+
+    private static final String CHANGES = "changes";
+
+    private static final String NONE = "";
+
+    private final String listId;
+
+    // the version the client's copy is at, and when it was read, null for a client without a copy.
+    private final Long since;
+
+    private final long sinceTime;
+
+    // the version read by the sync in progress and when, the phase and the position within it. The phase
+    // is null once the sync is complete.
+    private final long until;
+
+    private final long untilTime;
+
+    private final String phase;
+
+    private final Long afterSeq;
+
+    private final String afterId;
+
+    private SyncToken(
+        String listId,
+        Long since,
+        long sinceTime,
+        long until,
+        long untilTime,
+        String phase,
+        Long afterSeq,
+        String afterId
+    ) {
+        this.listId = listId;
+        this.since = since;
+        this.sinceTime = sinceTime;
+        this.until = until;
+        this.untilTime = untilTime;
+        this.phase = phase;
+        this.afterSeq = afterSeq;
+        this.afterId = afterId;
+    }
+
+    /**
+     * Decodes a token received from a client.
+     *
+     * @param syncToken the token, or null for a client without a copy of the list.
+     * @return the token.
+     * @throws ResponseStatusException `400` if the token is malformed or of another list, `410` if it
+     *         is older than the tombstones.
+     */
+    static SyncToken parse(String syncToken, String listId) {
+        if (syncToken == null) {
+            return new SyncToken(listId, null, 0, 0, 0, null, null, null);
+        }
+        final SyncToken token;
+        try {
+            final String decoded = new String(Base64.getUrlDecoder().decode(syncToken), StandardCharsets.UTF_8);
+            // the id of the last item comes last, it may contain the separator.
+            final String[] parts = decoded.split("\\" + SEPARATOR, 8);
+            if (parts.length != 8 || !parts[0].equals(listHash(listId))) {
+                throw new IllegalArgumentException("Not a sync token of the list");
+            }
+            token =
+                new SyncToken(
+                    listId,
+                    parseLong(parts[1]),
+                    Long.parseLong(parts[2]),
+                    Long.parseLong(parts[3]),
+                    Long.parseLong(parts[4]),
+                    parts[5].equals(NONE) ? null : phase(parts[5]),
+                    parseLong(parts[6]),
+                    parts[7].equals(NONE) ? null : parts[7]
+                );
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sync token", e);
+        }
+        final long oldest = System.currentTimeMillis() - DeletedTodoItem.RETENTION.toMillis();
+        if (token.since != null && token.sinceTime < oldest) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Expired sync token");
+        }
+        return token;
+    }
+
+    /**
+     * @param itemsVersion the version of the items of the list, read before any item.
+     * @return the token itself if a sync is in progress, or the start of a new sync.
+     */
+    SyncToken resume(Long itemsVersion) {
+        if (phase != null) {
+            return this;
+        }
+        // a client without a copy needs all the items, but no tombstones.
+        final long version = itemsVersion == null ? 0 : itemsVersion;
+        return new SyncToken(
+            listId,
+            since,
+            sinceTime,
+            version,
+            System.currentTimeMillis(),
+            since == null ? CHANGES : DELETIONS,
+            null,
+            null
+        );
+    }
+
+    boolean isDeletions() {
+        return DELETIONS.equals(phase);
+    }
+
+    Long getSince() {
+        return since;
+    }
+
+    long getUntil() {
+        return until;
+    }
+
+    Long getAfterSeq() {
+        return afterSeq;
+    }
+
+    String getAfterId() {
+        return afterId;
+    }
+
+    /**
+     * @return the position after a page of tombstones: within the tombstones if the page is full, at the
+     *         start of the created or updated items otherwise.
+     */
+    SyncToken afterDeletions(List<DeletedTodoItem> deletions, int limit) {
+        if (deletions.size() < limit) {
+            return new SyncToken(listId, since, sinceTime, until, untilTime, CHANGES, null, null);
+        }
+        final DeletedTodoItem last = deletions.get(deletions.size() - 1);
+        return new SyncToken(listId, since, sinceTime, until, untilTime, DELETIONS, last.getChangeSeq(), last.getId());
+    }
+
+    /**
+     * @return the position after a page of created or updated items, or the complete token at the version
+     *         read by the sync if it is the last page.
+     */
+    SyncToken afterItems(List<TodoItem> items, int limit) {
+        if (items.size() < limit) {
+            return new SyncToken(listId, until, untilTime, 0, 0, null, null, null);
+        }
+        final TodoItem last = items.get(items.size() - 1);
+        return new SyncToken(listId, since, sinceTime, until, untilTime, CHANGES, last.getChangeSeq(), last.getId());
+    }
+
+    /**
+     * @return the response of a sync: the deleted items, the created or updated items, and this token.
+     */
+    TodoItemChanges changes(List<DeletedTodoItem> deletions, List<TodoItem> items) {
+        return new TodoItemChanges()
+            .deletedItemIds(deletions.stream().map(DeletedTodoItem::getItemId).toList())
+            .items(items)
+            .syncToken(encode())
+            .hasMore(phase != null);
+    }
+
+    String encode() {
+        final String raw = String.join(
+            SEPARATOR,
+            listHash(listId),
+            Objects.toString(since, NONE),
+            String.valueOf(sinceTime),
+            String.valueOf(until),
+            String.valueOf(untilTime),
+            Objects.toString(phase, NONE),
+            Objects.toString(afterSeq, NONE),
+            Objects.toString(afterId, NONE)
+        );
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String listHash(String listId) {
+        return Integer.toHexString(listId.hashCode());
+    }
+
+    private static Long parseLong(String value) {
+        return value.equals(NONE) ? null : Long.valueOf(value);
+    }
+
+    private static String phase(String value) {
+        if (!DELETIONS.equals(value) && !CHANGES.equals(value)) {
+            throw new IllegalArgumentException("Unknown phase " + value);
+        }
+        return value;
+    }
+}
@@ -5,116 +5,715 @@
 
 package com.microsoft.azure.simpletodo.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.simpletodo.api.ItemsApi;
+import com.microsoft.azure.simpletodo.configuration.ReactiveWebConfiguration;
+import com.microsoft.azure.simpletodo.model.BulkUpdateResult;
 import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoItemBatchResult;
+import com.microsoft.azure.simpletodo.model.TodoItemChanges;
 import com.microsoft.azure.simpletodo.model.TodoList;
 import com.microsoft.azure.simpletodo.model.TodoState;
+import com.microsoft.azure.simpletodo.repository.DeletedTodoItem;
+import com.microsoft.azure.simpletodo.repository.ItemChanges;
+import com.microsoft.azure.simpletodo.repository.ItemIds;
 import com.microsoft.azure.simpletodo.repository.TodoItemRepository;
 import com.microsoft.azure.simpletodo.repository.TodoListRepository;
+import com.microsoft.azure.simpletodo.service.TodoItemEventService;
+import com.mongodb.client.result.UpdateResult;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.time.Duration;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.StreamSupport;
+import java.util.function.Supplier;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.CollectionUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import reactor.core.Disposable;
 
 @RestController
+@Profile("!" + ReactiveWebConfiguration.PROFILE)
 public class TodoItemsController implements ItemsApi {
 
-    private final TodoListRepository todoListRepository;
+    /**
+     * Request parameter selecting the streamed variant of the item listings.
+     */
+    static final String STREAM = "stream=true";
+
+    /**
+     * Request header of a client reconnecting to the events of a list.
+     */
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
+    /**
+     * States of the items due before now that are not overdue.
+     */
+    static final List<String> NOT_OVERDUE = List.of(TodoState.DONE.name());
 
     private final TodoItemRepository todoItemRepository;
 
-    public TodoItemsController(TodoListRepository todoListRepository, TodoItemRepository todoItemRepository) {
-        this.todoListRepository = todoListRepository;
+    private final TodoListRepository todoListRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxStreamedItems;
+
+    private final int maxBatchSize;
+
+    private final TodoItemEventService todoItemEventService;
+
+    private final Duration eventsTimeout;
+
+    public TodoItemsController(
+        TodoItemRepository todoItemRepository,
+        TodoListRepository todoListRepository,
+        ObjectMapper objectMapper,
+        @Value("${todo.items.stream.max-items:10000}") int maxStreamedItems,
+        @Value("${todo.items.batch.max-size:10000}") int maxBatchSize,
+        TodoItemEventService todoItemEventService,
+        @Value("${todo.items.events.timeout:10m}") Duration eventsTimeout
+    ) {
         this.todoItemRepository = todoItemRepository;
+        this.todoListRepository = todoListRepository;
+        this.objectMapper = objectMapper;
+        this.maxStreamedItems = maxStreamedItems;
+        this.maxBatchSize = maxBatchSize;
+        this.todoItemEventService = todoItemEventService;
+        this.eventsTimeout = eventsTimeout;
     }
 
     public ResponseEntity<TodoItem> createItem(String listId, TodoItem todoItem) {
-        final Optional<TodoList> optionalTodoList = todoListRepository.findById(listId);
-        if (optionalTodoList.isPresent()) {
-            todoItem.setListId(listId);
-            final TodoItem savedTodoItem = todoItemRepository.save(todoItem);
-            final URI location = ServletUriComponentsBuilder
-                .fromCurrentRequest()
-                .path("/{id}")
-                .buildAndExpand(savedTodoItem.getId())
-                .toUri();
-            return ResponseEntity.created(location).body(savedTodoItem);
-        } else {
-            return ResponseEntity.notFound().build();
-        }
+        todoItem.setListId(listId);
+        // the version is initialized by the insert.
+        todoItem.setVersion(null);
+        final long change = ItemChanges.pending();
+        todoItem.setChangeSeq(change);
+        // the item is only saved if the list exists, which is checked first unless the list is cached.
+        return todoItemRepository
+            .saveInExistingList(todoItem)
+            .map(savedTodoItem -> {
+                todoItemRepository.markItemsChanged(listId, change);
+                final URI location = ServletUriComponentsBuilder
+                    .fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(savedTodoItem.getId())
+                    .toUri();
+                return ResponseEntity.created(location).eTag(ETags.of(savedTodoItem.getVersion())).body(savedTodoItem);
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    public ResponseEntity<List<TodoItemBatchResult>> createItemsBatch(
+        String listId,
+        Boolean ordered,
+        List<TodoItem> todoItem
+    ) {
+        final long change = ItemChanges.pending();
+        final List<TodoItem> items = batch(todoItem, maxBatchSize);
+        items.forEach(item -> item.setChangeSeq(change));
+        // the list is checked once for the whole batch, which is written in a single bulk write.
+        return todoItemRepository
+            .saveAllInExistingList(listId, items, !Boolean.FALSE.equals(ordered))
+            .map(results -> {
+                if (!results.isEmpty()) {
+                    todoItemRepository.markItemsChanged(listId, change);
+                }
+                return ResponseEntity.ok(results);
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     public ResponseEntity<Void> deleteItemById(String listId, String itemId) {
         return todoItemRepository
             .findTodoItemByListIdAndId(listId, itemId)
             .map(i -> todoItemRepository.deleteTodoItemByListIdAndId(i.getListId(), i.getId()))
-            .map(i -> ResponseEntity.noContent().<Void>build())
+            .map(i -> {
+                todoItemRepository.markItemDeleted(listId, i.getId());
+                return ResponseEntity.noContent().<Void>build();
+            })
             .orElse(ResponseEntity.notFound().build());
     }
 
-    public ResponseEntity<TodoItem> getItemById(String listId, String itemId) {
+    public ResponseEntity<TodoItem> getItemById(String listId, String itemId, String ifNoneMatch) {
         return todoItemRepository
             .findTodoItemByListIdAndId(listId, itemId)
-            .map(ResponseEntity::ok)
+            .map(i -> conditional(i, i.getVersion(), ifNoneMatch))
             .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    public ResponseEntity<List<TodoItem>> getItemsByListId(String listId, BigDecimal top, BigDecimal skip) {
-        // no need to check nullity of top and skip, because they have default values.
+    // the version of the items is read before the items, see ItemChanges: from the cached list if
+    // possible, a stale one only makes the next sync return some items again.
+    public ResponseEntity<TodoItemChanges> getItemChangesByListId(String listId, String syncToken, BigDecimal top) {
+        final SyncToken token = SyncToken.parse(syncToken, listId);
+        final int limit = Math.max(top.intValue(), 1);
+        return todoListRepository
+            .findById(listId)
+            .map(list -> {
+                SyncToken position = token.resume(list.getItemsVersion());
+                List<DeletedTodoItem> deletions = List.of();
+                if (position.isDeletions()) {
+                    deletions =
+                        todoItemRepository.findItemDeletions(
+                            listId,
+                            position.getSince(),
+                            position.getUntil(),
+                            position.getAfterSeq(),
+                            position.getAfterId(),
+                            limit
+                        );
+                    position = position.afterDeletions(deletions, limit);
+                    if (position.isDeletions()) {
+                        return ResponseEntity.ok(position.changes(deletions, List.of()));
+                    }
+                }
+                // the page is filled up with the created or updated items.
+                final int remaining = limit - deletions.size();
+                final List<TodoItem> items = todoItemRepository.findItemChanges(
+                    listId,
+                    position.getSince(),
+                    position.getUntil(),
+                    position.getAfterSeq(),
+                    position.getAfterId(),
+                    remaining
+                );
+                return ResponseEntity.ok(position.afterItems(items, remaining).changes(deletions, items));
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Pushes the changes of the items of a list as server-sent events, see {@link TodoItemEventService}.
+     * The connection is closed after a while, the client reconnects with the id of the last event it
+     * got in the `Last-Event-ID` header and gets the events it missed.
+     */
+    @GetMapping(value = "/lists/{listId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> getListEvents(
+        @PathVariable("listId") String listId,
+        @RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId
+    ) {
         return todoListRepository
             .findById(listId)
-            .map(l -> todoItemRepository.findTodoItemsByTodoList(l.getId(), skip.intValue(), top.intValue()))
-            .map(ResponseEntity::ok)
+            .map(l -> {
+                final SseEmitter emitter = new SseEmitter(eventsTimeout.toMillis());
+                // the events are emitted on a thread of their own, which a slow client blocks alone.
+                final Disposable subscription = todoItemEventService
+                    .subscribe(listId, lastEventId)
+                    .subscribe(
+                        event -> {
+                            try {
+                                emitter.send(
+                                    SseEmitter
+                                        .event()
+                                        .id(event.getId())
+                                        .name(event.getType())
+                                        .data(event.getItem(), MediaType.APPLICATION_JSON)
+                                );
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        },
+                        emitter::completeWithError,
+                        emitter::complete
+                    );
+                // a timeout closes the stream as usual, the client reconnects.
+                emitter.onTimeout(emitter::complete);
+                emitter.onCompletion(subscription::dispose);
+                emitter.onError(e -> subscription.dispose());
+                return ResponseEntity.ok(emitter);
+            })
             .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    public ResponseEntity<TodoItem> updateItemById(String listId, String itemId, TodoItem todoItem) {
-        // make sure listId and itemId are set into the todoItem, otherwise it will create
-        // a new todo item.
+    public ResponseEntity<List<TodoItem>> getItemsByListId(
+        String listId,
+        BigDecimal top,
+        BigDecimal skip,
+        String continuationToken,
+        List<String> fields,
+        String ifNoneMatch
+    ) {
+        // no need to check nullity of top and skip, because they have default values.
+        final Optional<ContinuationToken> position = keysetPosition(skip, continuationToken);
+        final Document projection = projection(fields);
+        return listing(
+            listId,
+            ifNoneMatch,
+            position.isPresent(),
+            top,
+            () ->
+                position
+                    .map(p ->
+                        todoItemRepository.findTodoItemsByTodoListAfter(
+                            listId,
+                            ItemIds.after(p.getLastId()),
+                            pageSize(top),
+                            projection
+                        )
+                    )
+                    .orElseGet(() ->
+                        todoItemRepository.findTodoItemsByTodoList(listId, skip.intValue(), pageSize(top), projection)
+                    )
+        );
+    }
+
+    /**
+     * Streamed variant of {@link #getItemsByListId}, selected with `stream=true`: the items are written
+     * as they are read from the database, see {@link StreamingItems}.
+     */
+    @GetMapping(
+        value = "/lists/{listId}/items",
+        params = STREAM,
+        produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE }
+    )
+    public ResponseEntity<StreamingResponseBody> streamItemsByListId(
+        @PathVariable("listId") String listId,
+        @RequestParam(value = "top", required = false) BigDecimal top,
+        @RequestParam(value = "skip", required = false, defaultValue = "0") BigDecimal skip,
+        @RequestParam(value = "continuationToken", required = false) String continuationToken,
+        @RequestParam(value = "fields", required = false) List<String> fields,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        return stream(listId, null, top, skip, continuationToken, fields, accept);
+    }
+
+    public ResponseEntity<TodoItem> patchItemById(String listId, String itemId, Map<String, Object> patch, String ifMatch) {
+        final Optional<ItemPatch> itemPatch = ItemPatch.parse(patch, objectMapper);
+        if (itemPatch.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        final TodoItem values = itemPatch.get().getValues();
+        values.setId(itemId);
+        values.setListId(listId);
+        final long change = ItemChanges.pending();
+        values.setChangeSeq(change);
+        final List<Long> versions = ETags.versions(ifMatch);
+        // only the properties of the patch are written, the updated item is returned by the same round trip.
+        return todoItemRepository
+            .patchInList(values, itemPatch.get().getProperties(), versions)
+            .map(t -> {
+                todoItemRepository.markItemsChanged(listId, change);
+                return ResponseEntity.ok().eTag(ETags.of(t.getVersion())).body(t);
+            })
+            .orElseGet(() ->
+                notReplaced(versions != null && todoItemRepository.findTodoItemByListIdAndId(listId, itemId).isPresent())
+            );
+    }
+
+    public ResponseEntity<TodoItem> updateItemById(String listId, String itemId, TodoItem todoItem, String ifMatch) {
+        // make sure listId and itemId are set into the todoItem, the replacement is filtered on both.
         todoItem.setId(itemId);
         todoItem.setListId(listId);
+        final long change = ItemChanges.pending();
+        todoItem.setChangeSeq(change);
+        final List<Long> versions = ETags.versions(ifMatch);
         return todoItemRepository
-            .findTodoItemByListIdAndId(listId, itemId)
-            .map(t -> todoItemRepository.save(todoItem))
-            .map(ResponseEntity::ok) // return the saved item.
-            .orElseGet(() -> ResponseEntity.notFound().build());
+            .replaceInList(todoItem, versions)
+            .map(t -> {
+                todoItemRepository.markItemsChanged(listId, change);
+                return ResponseEntity.ok().eTag(ETags.of(t.getVersion())).body(t); // return the saved item.
+            })
+            // the item is only looked up if the replacement failed, to tell a stale version from a missing item.
+            .orElseGet(() ->
+                notReplaced(versions != null && todoItemRepository.findTodoItemByListIdAndId(listId, itemId).isPresent())
+            );
     }
 
     public ResponseEntity<List<TodoItem>> getItemsByListIdAndState(
         String listId,
         TodoState state,
         BigDecimal top,
-        BigDecimal skip
+        BigDecimal skip,
+        String continuationToken,
+        List<String> fields,
+        String ifNoneMatch
     ) {
         // no need to check nullity of top and skip, because they have default values.
-        return todoListRepository
-            .findById(listId)
-            .map(l ->
-                todoItemRepository.findTodoItemsByTodoListAndState(l.getId(), state.name(), skip.intValue(), top.intValue())
+        final Optional<ContinuationToken> position = keysetPosition(skip, continuationToken);
+        final Document projection = projection(fields);
+        return listing(
+            listId,
+            ifNoneMatch,
+            position.isPresent(),
+            top,
+            () ->
+                position
+                    .map(p ->
+                        todoItemRepository.findTodoItemsByTodoListAndStateAfter(
+                            listId,
+                            state.name(),
+                            ItemIds.after(p.getLastId()),
+                            pageSize(top),
+                            projection
+                        )
+                    )
+                    .orElseGet(() ->
+                        todoItemRepository.findTodoItemsByTodoListAndState(
+                            listId,
+                            state.name(),
+                            skip.intValue(),
+                            pageSize(top),
+                            projection
+                        )
+                    )
+        );
+    }
+
+    /**
+     * Streamed variant of {@link #getItemsByListIdAndState}, selected with `stream=true`.
+     */
+    @GetMapping(
+        value = "/lists/{listId}/items/state/{state}",
+        params = STREAM,
+        produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE }
+    )
+    public ResponseEntity<StreamingResponseBody> streamItemsByListIdAndState(
+        @PathVariable("listId") String listId,
+        @PathVariable("state") TodoState state,
+        @RequestParam(value = "top", required = false) BigDecimal top,
+        @RequestParam(value = "skip", required = false, defaultValue = "0") BigDecimal skip,
+        @RequestParam(value = "continuationToken", required = false) String continuationToken,
+        @RequestParam(value = "fields", required = false) List<String> fields,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
+        return stream(listId, state, top, skip, continuationToken, fields, accept);
+    }
+
+    public ResponseEntity<BulkUpdateResult> updateItemsStateByListId(String listId, TodoState state, List<String> itemIds) {
+        // update all items in list with the given state if `itemIds` is not specified. The update
+        // runs on the server, only items of `listId` are matched.
+        final long change = ItemChanges.pending();
+        final UpdateResult result = todoItemRepository.updateItemsStateByListId(listId, state, itemIds, change);
+        if (result.getModifiedCount() > 0) {
+            todoItemRepository.markItemsChanged(listId, change);
+        }
+        return ResponseEntity.ok(
+            new BulkUpdateResult().matchedCount(result.getMatchedCount()).modifiedCount(result.getModifiedCount())
+        );
+    }
+
+    public ResponseEntity<List<TodoItem>> getCompletedItems(
+        OffsetDateTime from,
+        OffsetDateTime to,
+        BigDecimal top,
+        String continuationToken
+    ) {
+        final DateRange range = DateRange.of(DateRange.BY_COMPLETED_DATE, from, to, continuationToken);
+        return dateRangePage(
+            range,
+            top,
+            Optional.of(
+                todoItemRepository.findTodoItemsCompleted(
+                    range.getAfter(),
+                    ItemIds.after(range.getAfterId()),
+                    range.getBefore(),
+                    pageSize(top)
+                )
+            )
+        );
+    }
+
+    public ResponseEntity<List<TodoItem>> getCompletedItemsByListId(
+        String listId,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        BigDecimal top,
+        String continuationToken
+    ) {
+        final DateRange range = DateRange.of(DateRange.BY_COMPLETED_DATE, from, to, continuationToken);
+        return dateRangePage(
+            range,
+            top,
+            todoItemRepository.findInExistingList(
+                listId,
+                () ->
+                    todoItemRepository.findTodoItemsCompletedByTodoList(
+                        listId,
+                        range.getAfter(),
+                        ItemIds.after(range.getAfterId()),
+                        range.getBefore(),
+                        pageSize(top)
+                    )
+            )
+        );
+    }
+
+    public ResponseEntity<List<TodoItem>> getDueItems(
+        OffsetDateTime from,
+        OffsetDateTime to,
+        BigDecimal top,
+        String continuationToken
+    ) {
+        return dueItems(DateRange.of(DateRange.BY_DUE_DATE, from, to, continuationToken), List.of(), top);
+    }
+
+    public ResponseEntity<List<TodoItem>> getDueItemsByListId(
+        String listId,
+        OffsetDateTime from,
+        OffsetDateTime to,
+        BigDecimal top,
+        String continuationToken
+    ) {
+        return dueItemsOfList(listId, DateRange.of(DateRange.BY_DUE_DATE, from, to, continuationToken), List.of(), top);
+    }
+
+    public ResponseEntity<List<TodoItem>> getOverdueItems(BigDecimal top, String continuationToken) {
+        return dueItems(overdue(continuationToken), NOT_OVERDUE, top);
+    }
+
+    public ResponseEntity<List<TodoItem>> getOverdueItemsByListId(String listId, BigDecimal top, String continuationToken) {
+        return dueItemsOfList(listId, overdue(continuationToken), NOT_OVERDUE, top);
+    }
+
+    private ResponseEntity<List<TodoItem>> dueItems(DateRange range, List<String> excludedStates, BigDecimal top) {
+        return dateRangePage(
+            range,
+            top,
+            Optional.of(
+                todoItemRepository.findTodoItemsDue(
+                    range.getAfter(),
+                    ItemIds.after(range.getAfterId()),
+                    range.getBefore(),
+                    excludedStates,
+                    pageSize(top)
+                )
+            )
+        );
+    }
+
+    private ResponseEntity<List<TodoItem>> dueItemsOfList(
+        String listId,
+        DateRange range,
+        List<String> excludedStates,
+        BigDecimal top
+    ) {
+        return dateRangePage(
+            range,
+            top,
+            todoItemRepository.findInExistingList(
+                listId,
+                () ->
+                    todoItemRepository.findTodoItemsDueByTodoList(
+                        listId,
+                        range.getAfter(),
+                        ItemIds.after(range.getAfterId()),
+                        range.getBefore(),
+                        excludedStates,
+                        pageSize(top)
+                    )
+            )
+        );
+    }
+
+    private static ResponseEntity<List<TodoItem>> dateRangePage(
+        DateRange range,
+        BigDecimal top,
+        Optional<List<TodoItem>> items
+    ) {
+        return items
+            .map(page -> {
+                final ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                range.nextPage(page, top).ifPresent(next -> response.header(ContinuationToken.HEADER, next.encode()));
+                return response.body(page);
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // the version of the items is read before the items, see itemsVersion: a write landing in between is
+    // served with the version preceding it, and the next conditional request gets the written items. It
+    // isn't read alongside the items, a version read after them could cover a write they lack.
+    private ResponseEntity<List<TodoItem>> listing(
+        String listId,
+        String ifNoneMatch,
+        boolean keyset,
+        BigDecimal top,
+        Supplier<List<TodoItem>> query
+    ) {
+        return itemsVersion(todoListRepository, listId, ifNoneMatch)
+            .map(list -> {
+                final String etag = ETags.weak(list.getItemsVersion());
+                if (ETags.matches(ifNoneMatch, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<List<TodoItem>>build();
+                }
+                final List<TodoItem> items = query.get();
+                final ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+                if (keyset) {
+                    nextPage(items, top).ifPresent(next -> response.header(ContinuationToken.HEADER, next.encode()));
+                }
+                return response.body(items);
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // the cursor is opened once the list is known to exist. A streamed listing has no continuation
+    // header: whether there is a next page is only known once the headers have been sent.
+    private ResponseEntity<StreamingResponseBody> stream(
+        String listId,
+        TodoState state,
+        BigDecimal top,
+        BigDecimal skip,
+        String continuationToken,
+        List<String> fields,
+        String accept
+    ) {
+        final String afterId = keysetPosition(skip, continuationToken).map(ContinuationToken::getLastId).orElse(null);
+        final Document projection = projection(fields);
+        final int limit = streamLimit(top, maxStreamedItems);
+        final boolean ndjson = accept != null && MediaType.APPLICATION_NDJSON.isPresentIn(MediaType.parseMediaTypes(accept));
+        return todoItemRepository
+            .findInExistingList(
+                listId,
+                () ->
+                    new StreamingItems(
+                        () -> todoItemRepository.streamItems(listId, state, afterId, skip.intValue(), limit, projection),
+                        objectMapper,
+                        ndjson
+                    )
+            )
+            .map(body ->
+                ResponseEntity
+                    .ok()
+                    .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                    .<StreamingResponseBody>body(body)
             )
-            .map(ResponseEntity::ok)
             .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    public ResponseEntity<Void> updateItemsStateByListId(String listId, TodoState state, List<String> itemIds) {
-        // update all items in list with the given state if `itemIds` is not specified.
-        final List<TodoItem> items = Optional
-            .ofNullable(itemIds)
-            .filter(ids -> !CollectionUtils.isEmpty(ids))
-            .map(ids ->
-                StreamSupport
-                    .stream(todoItemRepository.findAllById(ids).spliterator(), false)
-                    .filter(i -> listId.equalsIgnoreCase(i.getListId()))
-                    .toList()
+    /**
+     * @return the max number of items of a streamed listing: `top`, up to the server limit, which is
+     *         also the default.
+     */
+    static int streamLimit(BigDecimal top, int maxStreamedItems) {
+        return top == null ? maxStreamedItems : Math.min(pageSize(top), maxStreamedItems);
+    }
+
+    /**
+     * @return the max number of items of a page, `top`, which has to be at least 1: MongoDB reads a
+     *         limit of 0 as no limit, and a negative one as a single batch.
+     */
+    static int pageSize(BigDecimal top) {
+        if (top.intValue() < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid top, expected at least 1");
+        }
+        return top.intValue();
+    }
+
+    /**
+     * @return the items of a batch request, empty if it has no body.
+     */
+    static List<TodoItem> batch(List<TodoItem> items, int maxBatchSize) {
+        if (items == null) {
+            return List.of();
+        }
+        if (items.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many items, at most " + maxBatchSize);
+        }
+        if (items.stream().anyMatch(Objects::isNull)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid null item");
+        }
+        return items;
+    }
+
+    /**
+     * Resolves where a listing request starts reading. A request carrying a continuation token, or
+     * asking for the first page, is served by a keyset query; old clients that page with a non-zero
+     * `skip` and no token keep getting offset based pages.
+     *
+     * @return the keyset position, or empty for offset based paging.
+     */
+    static Optional<ContinuationToken> keysetPosition(BigDecimal skip, String continuationToken) {
+        if (continuationToken != null) {
+            return Optional.of(
+                ContinuationToken
+                    .parse(continuationToken, ContinuationToken.BY_ID)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid continuation token"))
+            );
+        }
+        return skip.signum() == 0 ? Optional.of(ContinuationToken.start(ContinuationToken.BY_ID)) : Optional.empty();
+    }
+
+    /**
+     * @return the `$project` stage specification of the requested fields.
+     */
+    static Document projection(List<String> fields) {
+        return FieldProjection
+            .parse(fields)
+            .orElseThrow(() ->
+                new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Invalid fields, expected any of " + FieldProjection.NAMES
+                )
             )
-            .orElseGet(() -> todoItemRepository.findTodoItemsByListId(listId));
-        items.forEach(item -> item.setState(state));
-        todoItemRepository.saveAll(items); // save items in batch.
-        return ResponseEntity.noContent().build();
+            .toDocument();
+    }
+
+    /**
+     * Looks up the version of the items of a list, which the weak ETags of its listings and stats are
+     * built from. A conditional request reads it from the database, a client whose copy is current costs
+     * that lookup only, and is never told so by an instance whose cached list predates a write. The other
+     * requests take it from the cached list if possible: it is at worst older than the items they read,
+     * and the next conditional request gets them again.
+     *
+     * @param ifNoneMatch the `If-None-Match` header of the request, or null if it has none.
+     * @return the list, with the version of its items, or empty if there is no list with that id.
+     */
+    static Optional<TodoList> itemsVersion(TodoListRepository todoListRepository, String listId, String ifNoneMatch) {
+        return ifNoneMatch == null ? todoListRepository.findById(listId) : todoListRepository.findItemsVersion(listId);
+    }
+
+    /**
+     * @return the response to a conditional GET of a resource: a `304` if the client's copy is of the
+     *         current version, the resource and its ETag otherwise.
+     */
+    static <T> ResponseEntity<T> conditional(T resource, Long version, String ifNoneMatch) {
+        final String etag = ETags.of(version);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(resource);
+    }
+
+    /**
+     * @param exists whether the resource a conditional replacement failed to replace exists.
+     * @return `412` if it does, its version didn't match, `404` otherwise.
+     */
+    static <T> ResponseEntity<T> notReplaced(boolean exists) {
+        return ResponseEntity.status(exists ? HttpStatus.PRECONDITION_FAILED : HttpStatus.NOT_FOUND).build();
+    }
+
+    /**
+     * @return the range of the overdue items: the ones due before now.
+     */
+    static DateRange overdue(String continuationToken) {
+        return DateRange.of(DateRange.BY_DUE_DATE, null, OffsetDateTime.now(), continuationToken);
+    }
+
+    /**
+     * @return the position after a page of a keyset listing, or empty if it is the last page.
+     */
+    static Optional<ContinuationToken> nextPage(List<TodoItem> items, BigDecimal top) {
+        // a full page means there may be more items, hand out the position of its last item.
+        if (items.isEmpty() || items.size() < top.intValue()) {
+            return Optional.empty();
+        }
+        return ContinuationToken.after(ContinuationToken.BY_ID, null, items.get(items.size() - 1).getId());
     }
 }
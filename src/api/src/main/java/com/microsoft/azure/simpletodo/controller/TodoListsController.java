@@ -1,62 +1,289 @@
 package com.microsoft.azure.simpletodo.controller;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.azure.simpletodo.api.ListsApi;
+import com.microsoft.azure.simpletodo.configuration.ReactiveWebConfiguration;
+import com.microsoft.azure.simpletodo.model.TodoItem;
 import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.model.TodoListDeletion;
+import com.microsoft.azure.simpletodo.model.TodoListStats;
+import com.microsoft.azure.simpletodo.model.TodoState;
+import com.microsoft.azure.simpletodo.repository.ItemStateCount;
+import com.microsoft.azure.simpletodo.repository.TodoItemRepository;
 import com.microsoft.azure.simpletodo.repository.TodoListRepository;
+import com.microsoft.azure.simpletodo.service.TodoListDeletionService;
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
+@Profile("!" + ReactiveWebConfiguration.PROFILE)
 public class TodoListsController implements ListsApi {
 
+    static final String GZIP = "gzip";
+
     private final TodoListRepository todoListRepository;
 
-    public TodoListsController(TodoListRepository todoListRepository) {
+    private final TodoItemRepository todoItemRepository;
+
+    private final TodoListDeletionService todoListDeletionService;
+
+    private final ObjectMapper objectMapper;
+
+    private final int importBatchSize;
+
+    public TodoListsController(
+        TodoListRepository todoListRepository,
+        TodoItemRepository todoItemRepository,
+        TodoListDeletionService todoListDeletionService,
+        ObjectMapper objectMapper,
+        @Value("${todo.lists.import.batch-size:500}") int importBatchSize
+    ) {
         this.todoListRepository = todoListRepository;
+        this.todoItemRepository = todoItemRepository;
+        this.todoListDeletionService = todoListDeletionService;
+        this.objectMapper = objectMapper;
+        this.importBatchSize = importBatchSize;
     }
 
     public ResponseEntity<TodoList> createList(TodoList todoList) {
+        // the version is initialized by the insert.
+        todoList.setVersion(null);
+        todoList.setItemsVersion(initialItemsVersion());
         final TodoList savedTodoList = todoListRepository.save(todoList);
         URI location = ServletUriComponentsBuilder
             .fromCurrentRequest()
             .path("/{id}")
             .buildAndExpand(savedTodoList.getId())
             .toUri();
-        return ResponseEntity.created(location).body(savedTodoList);
+        return ResponseEntity.created(location).eTag(ETags.of(savedTodoList.getVersion())).body(savedTodoList);
     }
 
-    public ResponseEntity<Void> deleteListById(String listId) {
+    public ResponseEntity<TodoListDeletion> deleteListById(String listId) {
+        // the list goes away right away, its items are deleted in batches in the background.
         return todoListRepository
             .findById(listId)
             .map(l -> todoListRepository.deleteTodoListById(l.getId()))
-            .map(l -> ResponseEntity.noContent().<Void>build())
+            .map(l -> todoListDeletionService.deleteItemsOf(l.getId()))
+            .map(d -> {
+                URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/deletion").build().toUri();
+                return ResponseEntity.accepted().location(location).body(d);
+            })
             .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    public ResponseEntity<TodoList> getListById(String listId) {
+    /**
+     * Exports a list and all its items as newline delimited JSON, see {@link ListExport}. The body is
+     * compressed when the client accepts gzip.
+     */
+    @GetMapping(value = "/lists/{listId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportListById(
+        @PathVariable("listId") String listId,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        final boolean gzip = acceptsGzip(acceptEncoding);
         return todoListRepository
             .findById(listId)
+            .map(l -> {
+                ListExport body = new ListExport(
+                    l,
+                    () -> todoItemRepository.streamItems(listId, null, null, 0, 0, FieldProjection.ALL.toDocument()),
+                    objectMapper,
+                    gzip
+                );
+                ResponseEntity.BodyBuilder response = ResponseEntity
+                    .ok()
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .contentType(MediaType.APPLICATION_NDJSON);
+                if (gzip) {
+                    response.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+                }
+                return response.<StreamingResponseBody>body(body);
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    public ResponseEntity<TodoListDeletion> getListDeletion(String listId) {
+        return todoListDeletionService
+            .getDeletion(listId)
             .map(ResponseEntity::ok)
             .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
+    public ResponseEntity<TodoList> getListById(String listId, String ifNoneMatch) {
+        return todoListRepository
+            .findById(listId)
+            .map(l -> TodoItemsController.conditional(l, l.getVersion(), ifNoneMatch))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    public ResponseEntity<TodoListStats> getListStats(String listId, String ifNoneMatch) {
+        // the ETag is the version of the items, which the counts are cached by: a client whose copy is
+        // current costs the lookup of the version only, and a new version counts the items once.
+        return TodoItemsController
+            .itemsVersion(todoListRepository, listId, ifNoneMatch)
+            .map(l -> {
+                final String etag = ETags.weak(l.getItemsVersion());
+                if (ETags.matches(ifNoneMatch, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<TodoListStats>build();
+                }
+                final List<ItemStateCount> counts = todoItemRepository.countTodoItemsByState(listId, l.getItemsVersion());
+                return ResponseEntity.ok().eTag(etag).body(stats(listId, counts));
+            })
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     public ResponseEntity<List<TodoList>> getLists(BigDecimal top, BigDecimal skip) {
         // no need to check nullity of top and skip, because they have default values.
         return ResponseEntity.ok(todoListRepository.findAll(skip.intValue(), top.intValue()));
     }
 
-    public ResponseEntity<TodoList> updateListById(String listId, @NotNull TodoList todoList) {
-        // make sure listId is set into the todoItem, otherwise it will create a new todo
-        // list.
+    /**
+     * Imports a list exported by {@link #exportListById}, with the same ids. The items are read one
+     * line at a time and inserted in batches of a bounded size, so memory use doesn't depend on the
+     * size of the list. If the import fails, what was imported is deleted.
+     */
+    @PostMapping(
+        value = "/lists/import",
+        consumes = MediaType.APPLICATION_NDJSON_VALUE,
+        produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    public ResponseEntity<TodoList> importList(
+        InputStream body,
+        @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding
+    ) throws IOException {
+        final InputStream input = GZIP.equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body) : body;
+        final TodoList list;
+        try (JsonParser parser = objectMapper.createParser(input)) {
+            list = parser.nextToken() == null ? null : objectMapper.readValue(parser, TodoList.class);
+            if (list == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Missing Todo list");
+            }
+            list.setItemsVersion(initialItemsVersion());
+            // insert, not save: an existing list is not replaced.
+            final TodoList savedTodoList = todoListRepository.insert(list);
+            try {
+                importItems(savedTodoList, objectMapper.readerFor(TodoItem.class).readValues(parser));
+            } catch (RuntimeException | IOException e) {
+                todoListRepository.deleteTodoListById(savedTodoList.getId());
+                todoListDeletionService.deleteItemsOf(savedTodoList.getId());
+                throw e;
+            }
+            URI location = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/lists/{id}")
+                .buildAndExpand(savedTodoList.getId())
+                .toUri();
+            return ResponseEntity.created(location).body(savedTodoList);
+        } catch (JsonProcessingException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid Todo list or item", e);
+        } catch (DuplicateKeyException e) {
+            throw new ResponseStatusException(
+                HttpStatus.CONFLICT,
+                "The id of the Todo list or of one of its items is already used",
+                e
+            );
+        }
+    }
+
+    private void importItems(TodoList list, MappingIterator<TodoItem> items) throws IOException {
+        final List<TodoItem> batch = new ArrayList<>(importBatchSize);
+        while (items.hasNextValue()) {
+            final TodoItem item = items.nextValue();
+            if (item == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid null item");
+            }
+            item.setListId(list.getId());
+            // the items are part of the first version of the items of the list, for the delta sync.
+            item.setChangeSeq(list.getItemsVersion());
+            batch.add(item);
+            if (batch.size() == importBatchSize) {
+                todoItemRepository.insert(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            todoItemRepository.insert(batch);
+        }
+    }
+
+    public ResponseEntity<TodoList> updateListById(String listId, @NotNull TodoList todoList, String ifMatch) {
+        // make sure listId is set into the todoList, the replacement is filtered on it.
         todoList.setId(listId);
+        final List<Long> versions = ETags.versions(ifMatch);
         return todoListRepository
-            .findById(listId)
-            .map(t -> ResponseEntity.ok(todoListRepository.save(todoList)))
-            .orElseGet(() -> ResponseEntity.notFound().build());
+            .replace(todoList, versions)
+            .map(l -> ResponseEntity.ok().eTag(ETags.of(l.getVersion())).body(l))
+            .orElseGet(() -> TodoItemsController.notReplaced(versions != null && todoListRepository.existsById(listId)));
+    }
+
+    /**
+     * @return the first version of the items of a new list. It is the time of the creation of the list,
+     *         so that a list deleted and created again with the same id doesn't hand out the ETags of
+     *         the listings of the deleted one.
+     */
+    static long initialItemsVersion() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * @return the stats of a list, from the counts of its items by state.
+     */
+    static TodoListStats stats(String listId, List<ItemStateCount> counts) {
+        final Map<TodoState, Long> byState = new EnumMap<>(TodoState.class);
+        long total = 0;
+        for (ItemStateCount count : counts) {
+            if (count.getState() != null) {
+                byState.put(count.getState(), count.getCount());
+            }
+            total += count.getCount();
+        }
+        return new TodoListStats()
+            .listId(listId)
+            .todo(byState.getOrDefault(TodoState.TODO, 0L))
+            .inprogress(byState.getOrDefault(TodoState.INPROGRESS, 0L))
+            .done(byState.getOrDefault(TodoState.DONE, 0L))
+            .total(total);
+    }
+
+    /**
+     * @return whether an `Accept-Encoding` header accepts gzip.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            final String[] parts = coding.trim().split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim()) && !(parts.length > 1 && parts[1].trim().matches("q=0(\\.0*)?"))) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -1,5 +1,7 @@
 package com.microsoft.azure.simpletodo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.time.OffsetDateTime;
@@ -7,6 +9,8 @@ import java.util.Objects;
 import jakarta.annotation.Generated;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.format.annotation.DateTimeFormat;
 
 /**
@@ -15,6 +19,9 @@ import org.springframework.format.annotation.DateTimeFormat;
 
 @Schema(name = "TodoItem", description = "A task that needs to be completed")
 @Generated(value = "org.openapitools.codegen.languages.SpringCodegen")
+// unset properties are left out, as are the ones not requested with the `fields` parameter of the listings.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Document
 public class TodoItem {
 
     @JsonProperty("id")
@@ -40,6 +47,15 @@ public class TodoItem {
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     private OffsetDateTime completedDate;
 
+    @JsonProperty("version")
+    @Version
+    private Long version;
+
+    // not part of the API: the version of the items of the list the latest write of the item made, or
+    // the pending change of a write in progress, see ItemChanges.
+    @JsonIgnore
+    private Long changeSeq;
+
     /**
      * Get id
      * @return id
@@ -138,6 +154,34 @@ public class TodoItem {
         this.completedDate = completedDate;
     }
 
+    /**
+     * Incremented by each write of the Todo item, its ETag
+     * @return version
+     */
+
+    @Schema(
+        name = "version",
+        accessMode = Schema.AccessMode.READ_ONLY,
+        description = "Incremented by each write of the Todo item, its ETag",
+        required = false
+    )
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @JsonIgnore
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(Long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
+
     public boolean equals(final Object o) {
         // items are equal if they have the same `listId` and `id`
         if (o == this) return true;
@@ -173,6 +217,8 @@ public class TodoItem {
             this.getDueDate() +
             ", completedDate=" +
             this.getCompletedDate() +
+            ", version=" +
+            this.getVersion() +
             ")"
         );
     }
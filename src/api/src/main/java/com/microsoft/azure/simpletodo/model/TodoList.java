@@ -1,10 +1,13 @@
 package com.microsoft.azure.simpletodo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.Objects;
 import jakarta.annotation.Generated;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 /**
  * A list of related Todo items
@@ -12,6 +15,7 @@ import jakarta.validation.constraints.NotNull;
 
 @Schema(name = "TodoList", description = " A list of related Todo items")
 @Generated(value = "org.openapitools.codegen.languages.SpringCodegen")
+@Document
 public class TodoList {
 
     @JsonProperty("id")
@@ -23,6 +27,15 @@ public class TodoList {
     @JsonProperty("description")
     private String description;
 
+    @JsonProperty("version")
+    @Version
+    private Long version;
+
+    // not part of the API: incremented by each write of an item of the list, it is the ETag of the
+    // item listings.
+    @JsonIgnore
+    private Long itemsVersion;
+
     /**
      * Get id
      * @return id
@@ -65,6 +78,34 @@ public class TodoList {
         this.description = description;
     }
 
+    /**
+     * Incremented by each write of the Todo list, its ETag
+     * @return version
+     */
+
+    @Schema(
+        name = "version",
+        accessMode = Schema.AccessMode.READ_ONLY,
+        description = "Incremented by each write of the Todo list, its ETag",
+        required = false
+    )
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @JsonIgnore
+    public Long getItemsVersion() {
+        return itemsVersion;
+    }
+
+    public void setItemsVersion(Long itemsVersion) {
+        this.itemsVersion = itemsVersion;
+    }
+
     public boolean equals(final Object o) {
         if (o == this) return true;
         if (!(o instanceof TodoList)) return false;
@@ -82,6 +123,16 @@ public class TodoList {
     }
 
     public String toString() {
-        return "TodoList(id=" + this.getId() + ", name=" + this.getName() + ", description=" + this.getDescription() + ")";
+        return (
+            "TodoList(id=" +
+            this.getId() +
+            ", name=" +
+            this.getName() +
+            ", description=" +
+            this.getDescription() +
+            ", version=" +
+            this.getVersion() +
+            ")"
+        );
     }
 }
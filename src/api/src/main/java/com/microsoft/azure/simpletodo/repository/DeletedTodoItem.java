@@ -0,0 +1,74 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The tombstone of a deleted Todo item, which tells the clients syncing its list to drop it. Tombstones
+ * are kept for {@link #RETENTION}, a client that didn't sync for longer has to sync from scratch.
+ */
+@Document
+@CompoundIndexes(
+    {
+        // tombstones of a list by change, for the delta sync, see ItemChanges.
+        @CompoundIndex(name = "listId_changeSeq_id", def = "{ 'listId': 1, 'changeSeq': 1, '_id': 1 }"),
+        // tombstones marked with a pending change, for the sweep finishing the changes of failed writes.
+        @CompoundIndex(
+            name = "pending_changeSeq_id",
+            def = "{ 'changeSeq': 1, '_id': 1 }",
+            partialFilter = "{ 'changeSeq': { '$lt': 0 } }"
+        ),
+    }
+)
+public class DeletedTodoItem {
+
+    private static final int RETENTION_SECONDS = 30 * 24 * 60 * 60;
+
+    public static final Duration RETENTION = Duration.ofSeconds(RETENTION_SECONDS);
+
+    @Id
+    private String id;
+
+    private String listId;
+
+    private String itemId;
+
+    private Long changeSeq;
+
+    @Indexed(expireAfterSeconds = RETENTION_SECONDS)
+    private Instant deletedDate;
+
+    public DeletedTodoItem() {}
+
+    DeletedTodoItem(String listId, String itemId, long changeSeq) {
+        this.listId = listId;
+        this.itemId = itemId;
+        this.changeSeq = changeSeq;
+        this.deletedDate = Instant.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getListId() {
+        return listId;
+    }
+
+    public String getItemId() {
+        return itemId;
+    }
+
+    public Long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public Instant getDeletedDate() {
+        return deletedDate;
+    }
+}
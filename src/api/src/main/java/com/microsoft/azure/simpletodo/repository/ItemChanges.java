@@ -0,0 +1,164 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+/**
+ * The order of the writes of the items of a list, which the delta sync of the list reads.
+ * <p>
+ * A write sets the `changeSeq` of the items, or of the {@link DeletedTodoItem} of a deletion, to a
+ * pending change in the same atomic update: a random negative number. Once the write is done, it
+ * increments the version of the items of the list and sets the `changeSeq` of the documents still
+ * marked with its pending change to the new version. A document is thus either pending, or has the
+ * version of its latest write, which was taken after that write was done.
+ * <p>
+ * A sync reads the version of the items of the list first, then the documents changed since the
+ * version of the previous sync up to it, and the pending ones, which sort before them: a pending
+ * document getting its version while the pages are read moves ahead of the position of the sync.
+ * Every write done before the version was read is returned, the ones landing in between may be
+ * returned twice. The documents written before the sync existed have no `changeSeq`, a full sync
+ * returns them first.
+ * <p>
+ * A write failing before its documents got their version leaves them pending: the syncs return them
+ * over and over, and the version of the items doesn't change. A sweep finishes the pending changes it
+ * finds twice in a row, see {@link Pending}.
+ */
+public final class ItemChanges {
+
+    public static final String CHANGE_SEQ = "changeSeq";
+
+    private ItemChanges() {}
+
+    /**
+     * @return a new pending change, to set on the items of a write.
+     */
+    public static long pending() {
+        return -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    }
+
+    // the documents of a list a write marked with its pending change.
+    static Query pendingQuery(String listId, long change) {
+        return Query.query(where("listId").is(listId).and(CHANGE_SEQ).is(change));
+    }
+
+    /**
+     * The query of a page of the documents of a list changed between two versions of its items, and of
+     * the pending ones, sorted by `changeSeq` then by id.
+     *
+     * @param since the version of the previous sync, excluded, or null for all the documents.
+     * @param until the version of the items read by this sync, included.
+     * @param afterSeq the `changeSeq` of the last document of the previous page, null for the ones that
+     *        have none.
+     * @param afterId the id of the last document of the previous page, or null for the first page.
+     */
+    static Query changesQuery(String listId, Long since, long until, Long afterSeq, String afterId, int limit) {
+        final List<Criteria> criteria = new ArrayList<>();
+        criteria.add(where("listId").is(listId));
+        criteria.add(
+            since == null
+                ? new Criteria().orOperator(where(CHANGE_SEQ).is(null), where(CHANGE_SEQ).lte(until))
+                : new Criteria().orOperator(where(CHANGE_SEQ).lt(0), where(CHANGE_SEQ).gt(since).lte(until))
+        );
+        if (afterId != null) {
+            criteria.add(
+                new Criteria()
+                    .orOperator(
+                        afterSeq == null ? where(CHANGE_SEQ).ne(null) : where(CHANGE_SEQ).gt(afterSeq),
+                        new Criteria().andOperator(where(CHANGE_SEQ).is(afterSeq), ItemIds.criteriaAfter(afterId))
+                    )
+            );
+        }
+        return Query.query(new Criteria().andOperator(criteria)).with(Sort.by(CHANGE_SEQ, "id")).limit(limit);
+    }
+
+    // the documents marked with a pending change, oldest writes first.
+    static Query pendingChangesQuery(int limit) {
+        final Query query = Query.query(where(CHANGE_SEQ).lt(0)).with(Sort.by(CHANGE_SEQ, "id")).limit(limit);
+        query.fields().include("listId", CHANGE_SEQ);
+        return query;
+    }
+
+    // the given documents of a list still marked with a pending change.
+    static Query pendingQuery(String listId, long change, Collection<String> ids) {
+        return pendingQuery(listId, change).addCriteria(where("id").in(ids));
+    }
+
+    /**
+     * An item, or the tombstone of a deleted item, marked with a pending change. The change is
+     * finished the same way the write would have: by incrementing the version of the items of the
+     * list, then setting it as the `changeSeq` of the document, if it is still marked with that
+     * change. The version is thus taken after the write of the document was done, whether or not the
+     * write is still in progress, and a change finished twice only increments the version once more.
+     */
+    public static final class Pending {
+
+        private final boolean deletion;
+
+        private final String listId;
+
+        private final String id;
+
+        private final long change;
+
+        public Pending(boolean deletion, String listId, String id, long change) {
+            this.deletion = deletion;
+            this.listId = listId;
+            this.id = id;
+            this.change = change;
+        }
+
+        /**
+         * @return whether the document is the tombstone of a deleted item.
+         */
+        public boolean isDeletion() {
+            return deletion;
+        }
+
+        public String getListId() {
+            return listId;
+        }
+
+        /**
+         * @return the id of the item, or of the tombstone.
+         */
+        public String getId() {
+            return id;
+        }
+
+        public long getChange() {
+            return change;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Pending)) return false;
+            final Pending other = (Pending) o;
+            return (
+                deletion == other.deletion &&
+                change == other.change &&
+                Objects.equals(listId, other.listId) &&
+                Objects.equals(id, other.id)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(deletion, listId, id, change);
+        }
+
+        @Override
+        public String toString() {
+            final String type = deletion ? "DeletedTodoItem" : "TodoItem";
+            return type + "(listId=" + listId + ", id=" + id + ", change=" + change + ")";
+        }
+    }
+}
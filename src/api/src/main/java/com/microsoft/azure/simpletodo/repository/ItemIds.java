@@ -0,0 +1,46 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.schema.JsonSchemaObject;
+
+/**
+ * The seek positions of the listings sorted by item id.
+ * <p>
+ * The ids that are ObjectIds are stored as such, the other ones, given by the clients, as strings.
+ * MongoDB only compares values of the same BSON type and sorts the strings before the ObjectIds, so the
+ * ids after a string id are the greater strings and every ObjectId, and the ids after an ObjectId are the
+ * greater ObjectIds.
+ */
+public final class ItemIds {
+
+    private static final Document OBJECT_ID_TYPE = new Document("_id", new Document("$type", "objectId"));
+
+    private ItemIds() {}
+
+    /**
+     * @param id the id of the last item of the previous page, or null for the first page.
+     * @return the `$match` filter of the ids after it, bound as is in the aggregations: an empty filter
+     *         for the first page.
+     */
+    public static Document after(String id) {
+        if (id == null) {
+            return new Document();
+        }
+        if (ObjectId.isValid(id)) {
+            return new Document("_id", new Document("$gt", new ObjectId(id)));
+        }
+        return new Document("$or", List.of(new Document("_id", new Document("$gt", id)), OBJECT_ID_TYPE));
+    }
+
+    // the criteria of the ids after the given one, mapped by the queries of MongoTemplate.
+    static Criteria criteriaAfter(String id) {
+        return ObjectId.isValid(id)
+            ? where("id").gt(new ObjectId(id))
+            : new Criteria().orOperator(where("id").gt(id), where("id").type(JsonSchemaObject.Type.objectIdType()));
+    }
+}
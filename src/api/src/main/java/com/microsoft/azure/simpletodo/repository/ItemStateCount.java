@@ -0,0 +1,29 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import com.microsoft.azure.simpletodo.model.TodoState;
+
+/**
+ * The number of items of a list in a given state, see {@link TodoItemRepository#countTodoItemsByState}.
+ */
+public class ItemStateCount {
+
+    private final TodoState state;
+
+    private final long count;
+
+    public ItemStateCount(TodoState state, long count) {
+        this.state = state;
+        this.count = count;
+    }
+
+    /**
+     * @return the state, null for the items without a state.
+     */
+    public TodoState getState() {
+        return state;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,81 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import com.microsoft.azure.simpletodo.model.TodoListDeletion.StatusEnum;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * The progress of the deletion of the items of a deleted Todo list, shared by the instances: any of them
+ * reports it, and takes over a deletion in progress whose run stopped updating it. Finished deletions are
+ * kept for {@link #RETENTION}.
+ */
+@Document
+public class ListItemsDeletion {
+
+    private static final int RETENTION_SECONDS = 60 * 60;
+
+    public static final Duration RETENTION = Duration.ofSeconds(RETENTION_SECONDS);
+
+    static final String RUN_ID = "runId";
+
+    static final String STATUS = "status";
+
+    static final String DELETED_ITEM_COUNT = "deletedItemCount";
+
+    static final String STARTED_DATE = "startedDate";
+
+    static final String UPDATED_DATE = "updatedDate";
+
+    static final String COMPLETED_DATE = "completedDate";
+
+    @Id
+    private String listId;
+
+    // the run that deletes the items, a run taken over stops at its next update.
+    private String runId;
+
+    private StatusEnum status;
+
+    private long deletedItemCount;
+
+    private Instant startedDate;
+
+    // updated after each batch, while the deletion is in progress.
+    private Instant updatedDate;
+
+    @Indexed(expireAfterSeconds = RETENTION_SECONDS)
+    private Instant completedDate;
+
+    public ListItemsDeletion() {}
+
+    public String getListId() {
+        return listId;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public StatusEnum getStatus() {
+        return status;
+    }
+
+    public long getDeletedItemCount() {
+        return deletedItemCount;
+    }
+
+    public Instant getStartedDate() {
+        return startedDate;
+    }
+
+    public Instant getUpdatedDate() {
+        return updatedDate;
+    }
+
+    public Instant getCompletedDate() {
+        return completedDate;
+    }
+}
@@ -0,0 +1,146 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.bson.Document;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link TodoItemRepository}, used by the controllers of the `reactive`
+ * profile. The queries are the same, so they are served by the same indexes.
+ */
+public interface ReactiveTodoItemRepository
+    extends ReactiveMongoRepository<TodoItem, String>, ReactiveTodoItemRepositoryCustom {
+    Mono<TodoItem> deleteTodoItemByListIdAndId(String listId, String itemId);
+
+    Mono<TodoItem> findTodoItemByListIdAndId(String listId, String id);
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0 } }",
+            "{ '$group': { '_id' : '$state', 'count' : { '$sum' : 1 } } }",
+            "{ '$project': { '_id' : 0, 'state' : '$_id', 'count' : 1 } }"
+        }
+    )
+    Flux<ItemStateCount> countTodoItemsByState(String listId);
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0 } }",
+            "{ '$sort': { '_id' : 1 } }",
+            "{ '$skip': ?1 }",
+            "{ '$limit': ?2 }",
+            "{ '$project': ?3 }"
+        }
+    )
+    Flux<TodoItem> findTodoItemsByTodoList(String listId, int skip, int limit, Document projection);
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0, 'state' : ?1 } }",
+            "{ '$sort': { '_id' : 1 } }",
+            "{ '$skip': ?2 }",
+            "{ '$limit': ?3 }",
+            "{ '$project': ?4 }"
+        }
+    )
+    Flux<TodoItem> findTodoItemsByTodoListAndState(String listId, String state, int skip, int limit, Document projection);
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0 } }",
+            "{ '$match': ?1 }",
+            "{ '$sort': { '_id' : 1 } }",
+            "{ '$limit': ?2 }",
+            "{ '$project': ?3 }"
+        }
+    )
+    Flux<TodoItem> findTodoItemsByTodoListAfter(String listId, Document afterId, int limit, Document projection);
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0, 'state' : ?1 } }",
+            "{ '$match': ?2 }",
+            "{ '$sort': { '_id' : 1 } }",
+            "{ '$limit': ?3 }",
+            "{ '$project': ?4 }"
+        }
+    )
+    Flux<TodoItem> findTodoItemsByTodoListAndStateAfter(
+        String listId,
+        String state,
+        Document afterId,
+        int limit,
+        Document projection
+    );
+
+    // date range listings, sorted by date then `_id`. The first `$match` is the range of an index,
+    // the second one seeks past the date and `_id` of the last item of the previous page within it,
+    // `afterId` being the filter of ItemIds.after, and leaves out some states. The dates are bound as
+    // OffsetDateTime, written as BSON dates by the converters of MongoDBConfiguration like the stored
+    // ones, so they compare as dates.
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0, 'dueDate' : { '$gte' : ?1, '$lt' : ?3 } } }",
+            "{ '$match': { '$or' : [ { 'dueDate' : { '$gt' : ?1 } }, ?2 ], " +
+            "'state' : { '$nin' : ?4 } } }",
+            "{ '$sort': { 'dueDate' : 1, '_id' : 1 } }",
+            "{ '$limit': ?5 }"
+        }
+    )
+    Flux<TodoItem> findTodoItemsDueByTodoList(
+        String listId,
+        OffsetDateTime after,
+        Document afterId,
+        OffsetDateTime before,
+        List<String> excludedStates,
+        int limit
+    );
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'dueDate' : { '$gte' : ?0, '$lt' : ?2 } } }",
+            "{ '$match': { '$or' : [ { 'dueDate' : { '$gt' : ?0 } }, ?1 ], " +
+            "'state' : { '$nin' : ?3 } } }",
+            "{ '$sort': { 'dueDate' : 1, '_id' : 1 } }",
+            "{ '$limit': ?4 }"
+        }
+    )
+    Flux<TodoItem> findTodoItemsDue(
+        OffsetDateTime after,
+        Document afterId,
+        OffsetDateTime before,
+        List<String> excludedStates,
+        int limit
+    );
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0, 'completedDate' : { '$gte' : ?1, '$lt' : ?3 } } }",
+            "{ '$match': { '$or' : [ { 'completedDate' : { '$gt' : ?1 } }, ?2 ] } }",
+            "{ '$sort': { 'completedDate' : 1, '_id' : 1 } }",
+            "{ '$limit': ?4 }"
+        }
+    )
+    Flux<TodoItem> findTodoItemsCompletedByTodoList(
+        String listId,
+        OffsetDateTime after,
+        Document afterId,
+        OffsetDateTime before,
+        int limit
+    );
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'completedDate' : { '$gte' : ?0, '$lt' : ?2 } } }",
+            "{ '$match': { '$or' : [ { 'completedDate' : { '$gt' : ?0 } }, ?1 ] } }",
+            "{ '$sort': { 'completedDate' : 1, '_id' : 1 } }",
+            "{ '$limit': ?3 }"
+        }
+    )
+    Flux<TodoItem> findTodoItemsCompleted(OffsetDateTime after, Document afterId, OffsetDateTime before, int limit);
+}
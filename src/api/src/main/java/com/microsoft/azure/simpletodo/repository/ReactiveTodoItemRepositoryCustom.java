@@ -0,0 +1,79 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoItemBatchResult;
+import com.microsoft.azure.simpletodo.model.TodoState;
+import com.mongodb.client.result.UpdateResult;
+import java.util.Collection;
+import java.util.List;
+import org.bson.Document;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterparts of the {@link TodoItemRepositoryCustom} operations used to serve requests.
+ */
+public interface ReactiveTodoItemRepositoryCustom {
+    /**
+     * @see TodoItemRepositoryCustom#updateItemsStateByListId(String, TodoState, List, long)
+     */
+    Mono<UpdateResult> updateItemsStateByListId(String listId, TodoState state, List<String> itemIds, long change);
+
+    /**
+     * Subscribes to a query on the items of a list and to a check that the list exists at the same
+     * time, so that both together cost a single round trip of latency.
+     *
+     * @param listId the list the items belong to.
+     * @param itemQuery the query.
+     * @return the result of the query, or empty if the list doesn't exist.
+     */
+    <T> Mono<T> findInExistingList(String listId, Mono<T> itemQuery);
+
+    /**
+     * @see TodoItemRepositoryCustom#streamItems(String, TodoState, String, int, int, Document)
+     */
+    Flux<TodoItem> streamItems(String listId, TodoState state, String afterId, int skip, int limit, Document projection);
+
+    /**
+     * Inserts or replaces an item if its list exists. The list is checked first, and nothing is
+     * written if it doesn't exist.
+     *
+     * @return the saved item, or empty if its list doesn't exist.
+     */
+    Mono<TodoItem> saveInExistingList(TodoItem todoItem);
+
+    /**
+     * @see TodoItemRepositoryCustom#saveAllInExistingList(String, List, boolean)
+     */
+    Mono<List<TodoItemBatchResult>> saveAllInExistingList(String listId, List<TodoItem> items, boolean ordered);
+
+    /**
+     * @see TodoItemRepositoryCustom#replaceInList(TodoItem, List)
+     */
+    Mono<TodoItem> replaceInList(TodoItem todoItem, List<Long> versions);
+
+    /**
+     * @see TodoItemRepositoryCustom#patchInList(TodoItem, Collection, List)
+     */
+    Mono<TodoItem> patchInList(TodoItem values, Collection<String> properties, List<Long> versions);
+
+    /**
+     * @see TodoItemRepositoryCustom#markItemsChanged(String, long)
+     */
+    Mono<Void> markItemsChanged(String listId, long change);
+
+    /**
+     * @see TodoItemRepositoryCustom#markItemDeleted(String, String)
+     */
+    Mono<Void> markItemDeleted(String listId, String itemId);
+
+    /**
+     * @see TodoItemRepositoryCustom#findItemChanges(String, Long, long, Long, String, int)
+     */
+    Flux<TodoItem> findItemChanges(String listId, Long since, long until, Long afterSeq, String afterId, int limit);
+
+    /**
+     * @see TodoItemRepositoryCustom#findItemDeletions(String, long, long, Long, String, int)
+     */
+    Flux<DeletedTodoItem> findItemDeletions(String listId, long since, long until, Long afterSeq, String afterId, int limit);
+}
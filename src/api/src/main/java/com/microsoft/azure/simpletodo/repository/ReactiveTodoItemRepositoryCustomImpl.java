@@ -0,0 +1,243 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoItemBatchResult;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.model.TodoState;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.result.UpdateResult;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.util.CollectionUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public class ReactiveTodoItemRepositoryCustomImpl implements ReactiveTodoItemRepositoryCustom {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReactiveTodoItemRepositoryCustomImpl.class);
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ReactiveTodoItemRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Mono<UpdateResult> updateItemsStateByListId(String listId, TodoState state, List<String> itemIds, long change) {
+        final ReactiveBulkOperations bulkOperations = reactiveMongoTemplate.bulkOps(
+            BulkOperations.BulkMode.ORDERED,
+            TodoItem.class
+        );
+        final List<Criteria> chunks = new ArrayList<>();
+        if (CollectionUtils.isEmpty(itemIds)) {
+            chunks.add(where("listId").is(listId));
+        }
+        for (int from = 0; itemIds != null && from < itemIds.size(); from += TodoItemRepositoryCustomImpl.ID_CHUNK_SIZE) {
+            final int to = Math.min(from + TodoItemRepositoryCustomImpl.ID_CHUNK_SIZE, itemIds.size());
+            chunks.add(itemsOfList(listId, itemIds.subList(from, to)));
+        }
+        for (Criteria chunk : chunks) {
+            TodoItemRepositoryCustomImpl
+                .stateUpdates(chunk, state, change)
+                .forEach(update -> bulkOperations.updateMulti(update.getFirst(), update.getSecond()));
+        }
+        return bulkOperations
+            .execute()
+            .map(result -> UpdateResult.acknowledged(result.getMatchedCount(), (long) result.getModifiedCount(), null));
+    }
+
+    @Override
+    public <T> Mono<T> findInExistingList(String listId, Mono<T> itemQuery) {
+        return Mono.zip(listExists(listId), itemQuery).filter(t -> t.getT1()).map(t -> t.getT2());
+    }
+
+    @Override
+    public Flux<TodoItem> streamItems(
+        String listId,
+        TodoState state,
+        String afterId,
+        int skip,
+        int limit,
+        Document projection
+    ) {
+        return reactiveMongoTemplate.find(
+            TodoItemRepositoryCustomImpl.streamQuery(listId, state, afterId, skip, limit, projection),
+            TodoItem.class
+        );
+    }
+
+    @Override
+    public Mono<TodoItem> saveInExistingList(TodoItem todoItem) {
+        // the list is checked before the item is written, a write is never undone.
+        return listExists(todoItem.getListId())
+            .filter(exists -> exists)
+            .flatMap(exists -> reactiveMongoTemplate.save(todoItem));
+    }
+
+    @Override
+    public Mono<List<TodoItemBatchResult>> saveAllInExistingList(String listId, List<TodoItem> items, boolean ordered) {
+        return listExists(listId)
+            .filter(exists -> exists)
+            .flatMap(exists -> items.isEmpty() ? Mono.just(List.of()) : saveAll(listId, items, ordered));
+    }
+
+    private Mono<List<TodoItemBatchResult>> saveAll(String listId, List<TodoItem> items, boolean ordered) {
+        final boolean[] replacements = TodoItemRepositoryCustomImpl.prepareBatch(listId, items);
+        final ReactiveBulkOperations bulkOperations = reactiveMongoTemplate.bulkOps(
+            ordered ? BulkOperations.BulkMode.ORDERED : BulkOperations.BulkMode.UNORDERED,
+            TodoItem.class
+        );
+        for (int i = 0; i < items.size(); i++) {
+            final TodoItem item = items.get(i);
+            if (replacements[i]) {
+                bulkOperations.upsert(
+                    TodoItemRepositoryCustomImpl.itemQuery(item),
+                    TodoItemRepositoryCustomImpl.replacement(item, reactiveMongoTemplate.getConverter())
+                );
+            } else {
+                bulkOperations.insert(item);
+            }
+        }
+        return bulkOperations
+            .execute()
+            .map(result -> TodoItemRepositoryCustomImpl.batchResults(items, replacements, result, List.of(), ordered))
+            // the write errors are translated to a DataAccessException depending on their codes, e.g. a
+            // DuplicateKeyException, which wraps the bulk write exception of the driver in all cases.
+            .onErrorResume(
+                e -> e.getCause() instanceof MongoBulkWriteException,
+                e -> {
+                    final MongoBulkWriteException cause = (MongoBulkWriteException) e.getCause();
+                    return Mono.just(
+                        TodoItemRepositoryCustomImpl.batchResults(
+                            items,
+                            replacements,
+                            cause.getWriteResult(),
+                            cause.getWriteErrors(),
+                            ordered
+                        )
+                    );
+                }
+            );
+    }
+
+    @Override
+    public Mono<TodoItem> replaceInList(TodoItem todoItem, List<Long> versions) {
+        return modifyInList(
+            todoItem,
+            TodoItemRepositoryCustomImpl.replacement(todoItem, reactiveMongoTemplate.getConverter()),
+            versions
+        );
+    }
+
+    @Override
+    public Mono<TodoItem> patchInList(TodoItem values, Collection<String> properties, List<Long> versions) {
+        return modifyInList(
+            values,
+            TodoItemRepositoryCustomImpl.patch(values, properties, reactiveMongoTemplate.getConverter()),
+            versions
+        );
+    }
+
+    private Mono<TodoItem> modifyInList(TodoItem item, UpdateDefinition update, List<Long> versions) {
+        return reactiveMongoTemplate.findAndModify(
+            TodoItemRepositoryCustomImpl.versioned(TodoItemRepositoryCustomImpl.itemQuery(item), versions),
+            update,
+            FindAndModifyOptions.options().returnNew(true),
+            TodoItem.class
+        );
+    }
+
+    @Override
+    public Mono<Void> markItemsChanged(String listId, long change) {
+        return incrementItemsVersion(listId)
+            .doOnNext(list ->
+                stamp(
+                    listId,
+                    reactiveMongoTemplate.updateMulti(
+                        ItemChanges.pendingQuery(listId, change),
+                        TodoItemRepositoryCustomImpl.changeSeq(list.getItemsVersion()),
+                        TodoItem.class
+                    )
+                )
+            )
+            .then();
+    }
+
+    @Override
+    public Mono<Void> markItemDeleted(String listId, String itemId) {
+        final long change = ItemChanges.pending();
+        return reactiveMongoTemplate
+            .insert(new DeletedTodoItem(listId, itemId, change))
+            .then(incrementItemsVersion(listId))
+            .doOnNext(list ->
+                stamp(
+                    listId,
+                    reactiveMongoTemplate.updateMulti(
+                        ItemChanges.pendingQuery(listId, change),
+                        Update.update(ItemChanges.CHANGE_SEQ, list.getItemsVersion()),
+                        DeletedTodoItem.class
+                    )
+                )
+            )
+            .then();
+    }
+
+    @Override
+    public Flux<TodoItem> findItemChanges(String listId, Long since, long until, Long afterSeq, String afterId, int limit) {
+        return reactiveMongoTemplate.find(
+            ItemChanges.changesQuery(listId, since, until, afterSeq, afterId, limit),
+            TodoItem.class
+        );
+    }
+
+    @Override
+    public Flux<DeletedTodoItem> findItemDeletions(
+        String listId,
+        long since,
+        long until,
+        Long afterSeq,
+        String afterId,
+        int limit
+    ) {
+        return reactiveMongoTemplate.find(
+            ItemChanges.changesQuery(listId, since, until, afterSeq, afterId, limit),
+            DeletedTodoItem.class
+        );
+    }
+
+    private Mono<TodoList> incrementItemsVersion(String listId) {
+        return reactiveMongoTemplate.findAndModify(
+            TodoItemRepositoryCustomImpl.listQuery(listId),
+            TodoItemRepositoryCustomImpl.itemsChange(),
+            FindAndModifyOptions.options().returnNew(true),
+            TodoList.class
+        );
+    }
+
+    // the `changeSeq` update of a write, not awaited by it, see TodoItemRepositoryCustomImpl.
+    private static void stamp(String listId, Mono<UpdateResult> update) {
+        update.subscribe(null, e -> LOGGER.warn("Changes of the items of list {} left pending", listId, e));
+    }
+
+    private Mono<Boolean> listExists(String listId) {
+        return reactiveMongoTemplate.exists(TodoItemRepositoryCustomImpl.listQuery(listId), TodoList.class);
+    }
+
+    private static Criteria itemsOfList(String listId, List<String> itemIds) {
+        return where("listId").is(listId).and("id").in(itemIds);
+    }
+}
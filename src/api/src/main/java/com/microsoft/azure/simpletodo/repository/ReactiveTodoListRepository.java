@@ -0,0 +1,19 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import com.microsoft.azure.simpletodo.model.TodoList;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link TodoListRepository}, used by the controllers of the `reactive`
+ * profile.
+ */
+public interface ReactiveTodoListRepository
+    extends ReactiveMongoRepository<TodoList, String>, ReactiveTodoListRepositoryCustom {
+    @Aggregation(pipeline = { "{ '$skip': ?0 }", "{ '$limit': ?1 }" })
+    Flux<TodoList> findAll(int skip, int limit);
+
+    Mono<TodoList> deleteTodoListById(String id);
+}
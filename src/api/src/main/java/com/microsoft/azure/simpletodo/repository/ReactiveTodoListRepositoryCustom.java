@@ -0,0 +1,20 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import com.microsoft.azure.simpletodo.model.TodoList;
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterparts of the {@link TodoListRepositoryCustom} operations.
+ */
+public interface ReactiveTodoListRepositoryCustom {
+    /**
+     * @see TodoListRepositoryCustom#replace(TodoList, List)
+     */
+    Mono<TodoList> replace(TodoList todoList, List<Long> versions);
+
+    /**
+     * @see TodoListRepositoryCustom#findItemsVersion(String)
+     */
+    Mono<TodoList> findItemsVersion(String listId);
+}
@@ -0,0 +1,38 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import com.microsoft.azure.simpletodo.model.TodoList;
+import java.util.List;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Mono;
+
+public class ReactiveTodoListRepositoryCustomImpl implements ReactiveTodoListRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public ReactiveTodoListRepositoryCustomImpl(ReactiveMongoTemplate reactiveMongoTemplate) {
+        this.reactiveMongoTemplate = reactiveMongoTemplate;
+    }
+
+    @Override
+    public Mono<TodoList> replace(TodoList todoList, List<Long> versions) {
+        return reactiveMongoTemplate.findAndModify(
+            TodoItemRepositoryCustomImpl.versioned(TodoItemRepositoryCustomImpl.listQuery(todoList.getId()), versions),
+            TodoItemRepositoryCustomImpl.replacement(
+                todoList,
+                reactiveMongoTemplate.getConverter(),
+                TodoItemRepositoryCustomImpl.ITEMS_VERSION
+            ),
+            FindAndModifyOptions.options().returnNew(true),
+            TodoList.class
+        );
+    }
+
+    @Override
+    public Mono<TodoList> findItemsVersion(String listId) {
+        final Query query = TodoItemRepositoryCustomImpl.listQuery(listId);
+        query.fields().include(TodoItemRepositoryCustomImpl.ITEMS_VERSION);
+        return reactiveMongoTemplate.findOne(query, TodoList.class);
+    }
+}
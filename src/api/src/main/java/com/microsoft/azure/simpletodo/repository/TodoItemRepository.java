@@ -1,21 +1,193 @@
 package com.microsoft.azure.simpletodo.repository;
 
+import com.microsoft.azure.simpletodo.configuration.CacheConfiguration;
 import com.microsoft.azure.simpletodo.model.TodoItem;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
+import org.bson.Document;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-public interface TodoItemRepository extends MongoRepository<TodoItem, String> {
+public interface TodoItemRepository extends MongoRepository<TodoItem, String>, TodoItemRepositoryCustom {
+    @Override
+    @CachePut(cacheNames = CacheConfiguration.TODO_ITEMS, key = "#result.listId + '/' + #result.id")
+    <S extends TodoItem> S save(S entity);
+
+    @Override
+    @CachePut(cacheNames = CacheConfiguration.TODO_ITEMS, key = "#result.listId + '/' + #result.id")
+    <S extends TodoItem> S insert(S entity);
+
+    // the writes of many items inherited from MongoRepository evict every cached item, as do the
+    // deletions by id only, which don't have the list of the key. The inserts of many items are left
+    // as they are: they only create items, none of which can be cached already.
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_ITEMS, allEntries = true)
+    <S extends TodoItem> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_ITEMS, allEntries = true)
+    void deleteById(String id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_ITEMS, key = "#p0.listId + '/' + #p0.id")
+    void delete(TodoItem entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_ITEMS, allEntries = true)
+    void deleteAllById(Iterable<? extends String> ids);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_ITEMS, allEntries = true)
+    void deleteAll(Iterable<? extends TodoItem> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_ITEMS, allEntries = true)
+    void deleteAll();
+
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_ITEMS, key = "#p0 + '/' + #p1")
     TodoItem deleteTodoItemByListIdAndId(String listId, String itemId);
 
     List<TodoItem> findTodoItemsByListId(String listId);
 
+    @Cacheable(cacheNames = CacheConfiguration.TODO_ITEMS, key = "#p0 + '/' + #p1", unless = "#result == null")
     Optional<TodoItem> findTodoItemByListIdAndId(String listId, String id);
 
-    @Aggregation(pipeline = { "{ '$match': { 'listId' : ?0 } }", "{ '$skip': ?1 }", "{ '$limit': ?2 }" })
-    List<TodoItem> findTodoItemsByTodoList(String listId, int skip, int limit);
+    // counts the items of a list by state, on the `listId_state_id` index. The counts are cached by
+    // version of the items of the list, which every write of an item changes: reads in between are
+    // served from the cache, the first read after a write counts again. `itemsVersion` is only part of
+    // the cache key.
+    @Cacheable(cacheNames = CacheConfiguration.LIST_STATS, key = "#p0 + '/' + #p1", condition = "#p1 != null")
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0 } }",
+            "{ '$group': { '_id' : '$state', 'count' : { '$sum' : 1 } } }",
+            "{ '$project': { '_id' : 0, 'state' : '$_id', 'count' : 1 } }"
+        }
+    )
+    List<ItemStateCount> countTodoItemsByState(String listId, Long itemsVersion);
+
+    // the listings end with a `$project` of the fields requested by the client, so the other fields
+    // are not sent over the wire, see FieldProjection.
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0 } }",
+            "{ '$sort': { '_id' : 1 } }",
+            "{ '$skip': ?1 }",
+            "{ '$limit': ?2 }",
+            "{ '$project': ?3 }"
+        }
+    )
+    List<TodoItem> findTodoItemsByTodoList(String listId, int skip, int limit, Document projection);
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0, 'state' : ?1 } }",
+            "{ '$sort': { '_id' : 1 } }",
+            "{ '$skip': ?2 }",
+            "{ '$limit': ?3 }",
+            "{ '$project': ?4 }"
+        }
+    )
+    List<TodoItem> findTodoItemsByTodoListAndState(String listId, String state, int skip, int limit, Document projection);
+
+    // keyset variants of the queries above: seek past `afterId` with a range predicate on `_id`
+    // instead of walking and discarding the documents of all previous pages. `afterId` is the filter
+    // of ItemIds.after, which covers the ids stored as strings too.
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0 } }",
+            "{ '$match': ?1 }",
+            "{ '$sort': { '_id' : 1 } }",
+            "{ '$limit': ?2 }",
+            "{ '$project': ?3 }"
+        }
+    )
+    List<TodoItem> findTodoItemsByTodoListAfter(String listId, Document afterId, int limit, Document projection);
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0, 'state' : ?1 } }",
+            "{ '$match': ?2 }",
+            "{ '$sort': { '_id' : 1 } }",
+            "{ '$limit': ?3 }",
+            "{ '$project': ?4 }"
+        }
+    )
+    List<TodoItem> findTodoItemsByTodoListAndStateAfter(
+        String listId,
+        String state,
+        Document afterId,
+        int limit,
+        Document projection
+    );
+
+    // date range listings, sorted by date then `_id`. The first `$match` is the range of an index,
+    // the second one seeks past the date and `_id` of the last item of the previous page within it,
+    // `afterId` being the filter of ItemIds.after, and leaves out some states. The dates are bound as
+    // OffsetDateTime, written as BSON dates by the converters of MongoDBConfiguration like the stored
+    // ones, so they compare as dates.
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0, 'dueDate' : { '$gte' : ?1, '$lt' : ?3 } } }",
+            "{ '$match': { '$or' : [ { 'dueDate' : { '$gt' : ?1 } }, ?2 ], " +
+            "'state' : { '$nin' : ?4 } } }",
+            "{ '$sort': { 'dueDate' : 1, '_id' : 1 } }",
+            "{ '$limit': ?5 }"
+        }
+    )
+    List<TodoItem> findTodoItemsDueByTodoList(
+        String listId,
+        OffsetDateTime after,
+        Document afterId,
+        OffsetDateTime before,
+        List<String> excludedStates,
+        int limit
+    );
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'dueDate' : { '$gte' : ?0, '$lt' : ?2 } } }",
+            "{ '$match': { '$or' : [ { 'dueDate' : { '$gt' : ?0 } }, ?1 ], " +
+            "'state' : { '$nin' : ?3 } } }",
+            "{ '$sort': { 'dueDate' : 1, '_id' : 1 } }",
+            "{ '$limit': ?4 }"
+        }
+    )
+    List<TodoItem> findTodoItemsDue(
+        OffsetDateTime after,
+        Document afterId,
+        OffsetDateTime before,
+        List<String> excludedStates,
+        int limit
+    );
+
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'listId' : ?0, 'completedDate' : { '$gte' : ?1, '$lt' : ?3 } } }",
+            "{ '$match': { '$or' : [ { 'completedDate' : { '$gt' : ?1 } }, ?2 ] } }",
+            "{ '$sort': { 'completedDate' : 1, '_id' : 1 } }",
+            "{ '$limit': ?4 }"
+        }
+    )
+    List<TodoItem> findTodoItemsCompletedByTodoList(
+        String listId,
+        OffsetDateTime after,
+        Document afterId,
+        OffsetDateTime before,
+        int limit
+    );
 
-    @Aggregation(pipeline = { "{ '$match': { 'listId' : ?0, 'state' : ?1 } }", "{ '$skip': ?2 }", "{ '$limit': ?3 }" })
-    List<TodoItem> findTodoItemsByTodoListAndState(String listId, String state, int skip, int limit);
+    @Aggregation(
+        pipeline = {
+            "{ '$match': { 'completedDate' : { '$gte' : ?0, '$lt' : ?2 } } }",
+            "{ '$match': { '$or' : [ { 'completedDate' : { '$gt' : ?0 } }, ?1 ] } }",
+            "{ '$sort': { 'completedDate' : 1, '_id' : 1 } }",
+            "{ '$limit': ?3 }"
+        }
+    )
+    List<TodoItem> findTodoItemsCompleted(OffsetDateTime after, Document afterId, OffsetDateTime before, int limit);
 }
@@ -0,0 +1,183 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoItemBatchResult;
+import com.microsoft.azure.simpletodo.model.TodoState;
+import com.mongodb.client.result.UpdateResult;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.bson.Document;
+
+/**
+ * Operations of {@link TodoItemRepository} that update or delete many items on the server without
+ * loading them first, that check the list of the items exists without an extra round trip, or that
+ * read items from a cursor.
+ */
+public interface TodoItemRepositoryCustom {
+    /**
+     * Sets the state of items of a list, and increments the version of the ones whose state changes.
+     * Items that don't belong to the list are left untouched.
+     *
+     * @param listId the list the items belong to.
+     * @param state the new state.
+     * @param itemIds ids of the items to update, or null or empty to update every item of the list.
+     * @param change the pending change to mark the items whose state changes with, see
+     *        {@link ItemChanges}.
+     * @return the number of matched and modified items.
+     */
+    UpdateResult updateItemsStateByListId(String listId, TodoState state, List<String> itemIds, long change);
+
+    /**
+     * Deletes a bounded batch of the items of a list, so that a large list can be emptied without
+     * a single long running delete.
+     *
+     * @param listId the list the items belong to.
+     * @param batchSize the max number of items to delete.
+     * @return the number of deleted items, 0 once the list has no more items.
+     */
+    long deleteItemsByListId(String listId, int batchSize);
+
+    /**
+     * Opens a cursor on the distinct ids of the lists that have items, read a batch at a time however many
+     * lists there are. The stream must be closed, which closes the cursor.
+     *
+     * @return the ids of the lists.
+     */
+    Stream<String> streamListIds();
+
+    /**
+     * Runs a query on the items of a list while checking, concurrently, that the list exists, so that
+     * both together cost a single round trip of latency. The check is skipped if the list is cached.
+     *
+     * @param listId the list the items belong to.
+     * @param itemQuery the query, run on the calling thread.
+     * @return the result of the query, or empty if the list doesn't exist.
+     */
+    <T> Optional<T> findInExistingList(String listId, Supplier<T> itemQuery);
+
+    /**
+     * Opens a cursor on the items of a list, in the order of the listings, so that they can be written
+     * out as they are read instead of all being held in memory. The stream must be closed, which
+     * closes the cursor.
+     *
+     * @param listId the list the items belong to.
+     * @param state only the items in this state, or null for all the items.
+     * @param afterId the id the items come after, or null to start with `skip`.
+     * @param skip the number of items to skip, when there is no `afterId`.
+     * @param limit the max number of items.
+     * @param projection the fields to read.
+     * @return the items.
+     */
+    Stream<TodoItem> streamItems(String listId, TodoState state, String afterId, int skip, int limit, Document projection);
+
+    /**
+     * Inserts or replaces an item if its list exists. The list is checked first, unless it is cached,
+     * and nothing is written if it doesn't exist.
+     *
+     * @return the saved item, or empty if its list doesn't exist.
+     */
+    Optional<TodoItem> saveInExistingList(TodoItem todoItem);
+
+    /**
+     * Writes a batch of items of a list in a single bulk write, once the list is known to exist. Items
+     * without an id are inserted, items with an id replace the item of the list with that id and
+     * increment its version, or are inserted if there is none.
+     *
+     * @param listId the list the items belong to.
+     * @param items the items, their list and the ids of the inserted ones are set.
+     * @param ordered whether to write the items in order and stop at the first failure, rather than
+     *        attempting every item in any order.
+     * @return the outcome of each item, in the order of the items, or empty if the list doesn't exist.
+     */
+    Optional<List<TodoItemBatchResult>> saveAllInExistingList(String listId, List<TodoItem> items, boolean ordered);
+
+    /**
+     * Replaces an item of a list in a single round trip, if it has one of the given versions, and
+     * increments its version rather than taking the one of the given item.
+     *
+     * @param todoItem the item, its list and id are set.
+     * @param versions the versions the item may have, or null for any version.
+     * @return the replaced item, or empty if the list has no item with that id and one of these
+     *         versions.
+     */
+    Optional<TodoItem> replaceInList(TodoItem todoItem, List<Long> versions);
+
+    /**
+     * Writes some properties of an item of a list in a single round trip, without reading it first, if
+     * it has one of the given versions, and increments its version. The other properties are left as
+     * they are.
+     *
+     * @param values the values of the properties, the list and id of the item are set.
+     * @param properties the names of the properties to write: the ones that are null in the given
+     *        values are removed from the item, the other ones are set.
+     * @param versions the versions the item may have, or null for any version.
+     * @return the updated item, or empty if the list has no item with that id and one of these
+     *         versions.
+     */
+    Optional<TodoItem> patchInList(TodoItem values, Collection<String> properties, List<Long> versions);
+
+    /**
+     * Increments the version of the items of a list, the ETag of its item listings. Called once a
+     * write of items of the list is done, so that a listing that reads the new version also reads
+     * the written items. The items the write marked with its pending change get the new version as
+     * their `changeSeq` in the background, the call doesn't wait for it.
+     *
+     * @param listId the list the items belong to.
+     * @param change the pending change of the write, see {@link ItemChanges}.
+     */
+    void markItemsChanged(String listId, long change);
+
+    /**
+     * Records the deletion of an item for the delta sync of its list, and increments the version of the
+     * items of the list. Called once the item is deleted.
+     *
+     * @param listId the list the item belonged to.
+     * @param itemId the id of the deleted item.
+     */
+    void markItemDeleted(String listId, String itemId);
+
+    /**
+     * Finds the items and tombstones marked with a pending change, whose write is in progress or failed
+     * before giving them a version, see {@link ItemChanges}.
+     *
+     * @param limit the max number of documents.
+     * @return the documents, the ones of the oldest writes first.
+     */
+    List<ItemChanges.Pending> findPendingChanges(int limit);
+
+    /**
+     * Finishes pending changes of a list the way their writes would have: increments the version of the
+     * items of the list, and sets it as the `changeSeq` of the given documents still marked with their
+     * pending change. The documents of a list that no longer exists get 0 instead, they stop being
+     * pending until they are removed.
+     *
+     * @param listId the list the documents belong to.
+     * @param changes the documents and their pending change.
+     */
+    void finishPendingChanges(String listId, Collection<ItemChanges.Pending> changes);
+
+    /**
+     * Reads a page of the items of a list changed between two versions of its items, sorted by
+     * `changeSeq` then by id, see {@link ItemChanges}.
+     *
+     * @param listId the list the items belong to.
+     * @param since the version of the previous sync, excluded, or null for all the items.
+     * @param until the version of the items read by this sync, included.
+     * @param afterSeq the `changeSeq` of the last item of the previous page.
+     * @param afterId the id of the last item of the previous page, or null for the first page.
+     * @param limit the max number of items.
+     * @return the items.
+     */
+    List<TodoItem> findItemChanges(String listId, Long since, long until, Long afterSeq, String afterId, int limit);
+
+    /**
+     * Reads a page of the items of a list deleted between two versions of its items, sorted like
+     * {@link #findItemChanges}.
+     *
+     * @return the tombstones of the items.
+     */
+    List<DeletedTodoItem> findItemDeletions(String listId, long since, long until, Long afterSeq, String afterId, int limit);
+}
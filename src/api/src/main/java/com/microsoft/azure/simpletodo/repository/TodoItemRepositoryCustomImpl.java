@@ -0,0 +1,615 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.microsoft.azure.simpletodo.configuration.CacheConfiguration;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoItemBatchResult;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.model.TodoState;
+import com.mongodb.ErrorCategory;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.BulkWriteUpsert;
+import com.mongodb.client.result.UpdateResult;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.data.util.Pair;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.CollectionUtils;
+
+public class TodoItemRepositoryCustomImpl implements TodoItemRepositoryCustom, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoItemRepositoryCustomImpl.class);
+
+    // max number of ids in the `$in` of a single update, bigger id lists are split into a bulk write.
+    static final int ID_CHUNK_SIZE = 1000;
+
+    // number of items fetched at a time by the cursors of streamed listings.
+    static final int STREAM_BATCH_SIZE = 200;
+
+    static final String VERSION = "version";
+
+    static final String ITEMS_VERSION = "itemsVersion";
+
+    private final MongoTemplate mongoTemplate;
+
+    private final CacheManager cacheManager;
+
+    private final TaskExecutor sideExecutor;
+
+    public TodoItemRepositoryCustomImpl(
+        MongoTemplate mongoTemplate,
+        CacheManager cacheManager,
+        Environment environment,
+        @Value("${server.tomcat.threads.max:200}") int requestThreads
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+        this.sideExecutor = sideExecutor(environment, requestThreads);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (sideExecutor instanceof DisposableBean executor) {
+            executor.destroy();
+        } else if (sideExecutor instanceof AutoCloseable executor) {
+            executor.close();
+        }
+    }
+
+    @Override
+    public UpdateResult updateItemsStateByListId(String listId, TodoState state, List<String> itemIds, long change) {
+        final UpdateResult result = updateState(listId, state, itemIds, change);
+        CacheConfiguration.evictItemsOfList(cacheManager, listId);
+        return result;
+    }
+
+    @Override
+    public long deleteItemsByListId(String listId, int batchSize) {
+        final Query batch = Query.query(where("listId").is(listId)).limit(batchSize);
+        batch.fields().include("id");
+        final List<String> ids = mongoTemplate.find(batch, TodoItem.class).stream().map(TodoItem::getId).toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        final long deleted = mongoTemplate.remove(Query.query(itemsOfList(listId, ids)), TodoItem.class).getDeletedCount();
+        CacheConfiguration.evictItemsOfList(cacheManager, listId);
+        return deleted;
+    }
+
+    @Override
+    public Stream<String> streamListIds() {
+        // a `$group` rather than a `distinct`, whose ids would all come back in a single 16MB document.
+        final TypedAggregation<TodoItem> aggregation = Aggregation
+            .newAggregation(TodoItem.class, Aggregation.group("listId"))
+            .withOptions(AggregationOptions.builder().allowDiskUse(true).cursorBatchSize(STREAM_BATCH_SIZE).build());
+        return mongoTemplate
+            .aggregateStream(aggregation, Document.class)
+            .map(group -> group.get("_id"))
+            .filter(Objects::nonNull)
+            .map(Object::toString);
+    }
+
+    @Override
+    public <T> Optional<T> findInExistingList(String listId, Supplier<T> itemQuery) {
+        if (isListCached(listId)) {
+            return Optional.of(itemQuery.get());
+        }
+        final CompletableFuture<Boolean> listExists = listExists(listId);
+        final T result = itemQuery.get();
+        return join(listExists) ? Optional.of(result) : Optional.empty();
+    }
+
+    @Override
+    public Stream<TodoItem> streamItems(
+        String listId,
+        TodoState state,
+        String afterId,
+        int skip,
+        int limit,
+        Document projection
+    ) {
+        return mongoTemplate.stream(streamQuery(listId, state, afterId, skip, limit, projection), TodoItem.class);
+    }
+
+    @Override
+    public Optional<TodoItem> saveInExistingList(TodoItem todoItem) {
+        // the list is checked before the item is written, a write is never undone.
+        if (!isListCached(todoItem.getListId()) && !mongoTemplate.exists(listQuery(todoItem.getListId()), TodoList.class)) {
+            return Optional.empty();
+        }
+        return Optional.of(mongoTemplate.save(todoItem));
+    }
+
+    @Override
+    public Optional<List<TodoItemBatchResult>> saveAllInExistingList(String listId, List<TodoItem> items, boolean ordered) {
+        if (!isListCached(listId) && !mongoTemplate.exists(listQuery(listId), TodoList.class)) {
+            return Optional.empty();
+        }
+        if (items.isEmpty()) {
+            return Optional.of(List.of());
+        }
+        final boolean[] replacements = prepareBatch(listId, items);
+        final BulkOperations bulkOperations = mongoTemplate.bulkOps(
+            ordered ? BulkOperations.BulkMode.ORDERED : BulkOperations.BulkMode.UNORDERED,
+            TodoItem.class
+        );
+        for (int i = 0; i < items.size(); i++) {
+            final TodoItem item = items.get(i);
+            if (replacements[i]) {
+                bulkOperations.upsert(itemQuery(item), replacement(item, mongoTemplate.getConverter()));
+            } else {
+                bulkOperations.insert(item);
+            }
+        }
+        List<TodoItemBatchResult> results;
+        try {
+            results = batchResults(items, replacements, bulkOperations.execute(), List.of(), ordered);
+        } catch (BulkOperationException e) {
+            results = batchResults(items, replacements, e.getResult(), e.getErrors(), ordered);
+        }
+        CacheConfiguration.evictItemsOfList(cacheManager, listId);
+        return Optional.of(results);
+    }
+
+    @Override
+    public Optional<TodoItem> replaceInList(TodoItem todoItem, List<Long> versions) {
+        return modifyInList(todoItem, replacement(todoItem, mongoTemplate.getConverter()), versions);
+    }
+
+    @Override
+    public Optional<TodoItem> patchInList(TodoItem values, Collection<String> properties, List<Long> versions) {
+        return modifyInList(values, patch(values, properties, mongoTemplate.getConverter()), versions);
+    }
+
+    private Optional<TodoItem> modifyInList(TodoItem item, UpdateDefinition update, List<Long> versions) {
+        final TodoItem modified = mongoTemplate.findAndModify(
+            versioned(itemQuery(item), versions),
+            update,
+            FindAndModifyOptions.options().returnNew(true),
+            TodoItem.class
+        );
+        final Cache cache = cacheManager.getCache(CacheConfiguration.TODO_ITEMS);
+        if (cache != null) {
+            final String key = item.getListId() + "/" + item.getId();
+            if (modified != null) {
+                cache.put(key, modified);
+            } else {
+                // the cached copy may be the stale one the request was based on.
+                cache.evict(key);
+            }
+        }
+        return Optional.ofNullable(modified);
+    }
+
+    @Override
+    public void markItemsChanged(String listId, long change) {
+        final TodoList list = incrementItemsVersion(listId);
+        if (list != null) {
+            stamp(listId, () ->
+                mongoTemplate.updateMulti(
+                    ItemChanges.pendingQuery(listId, change),
+                    changeSeq(list.getItemsVersion()),
+                    TodoItem.class
+                )
+            );
+        }
+    }
+
+    @Override
+    public void markItemDeleted(String listId, String itemId) {
+        final long change = ItemChanges.pending();
+        mongoTemplate.insert(new DeletedTodoItem(listId, itemId, change));
+        final TodoList list = incrementItemsVersion(listId);
+        if (list != null) {
+            stamp(listId, () ->
+                mongoTemplate.updateMulti(
+                    ItemChanges.pendingQuery(listId, change),
+                    Update.update(ItemChanges.CHANGE_SEQ, list.getItemsVersion()),
+                    DeletedTodoItem.class
+                )
+            );
+        }
+    }
+
+    @Override
+    public List<ItemChanges.Pending> findPendingChanges(int limit) {
+        final Query query = ItemChanges.pendingChangesQuery(limit);
+        final List<ItemChanges.Pending> changes = new ArrayList<>();
+        mongoTemplate
+            .find(query, TodoItem.class)
+            .forEach(i -> changes.add(new ItemChanges.Pending(false, i.getListId(), i.getId(), i.getChangeSeq())));
+        mongoTemplate
+            .find(query, DeletedTodoItem.class)
+            .forEach(d -> changes.add(new ItemChanges.Pending(true, d.getListId(), d.getId(), d.getChangeSeq())));
+        return changes;
+    }
+
+    @Override
+    public void finishPendingChanges(String listId, Collection<ItemChanges.Pending> changes) {
+        final TodoList list = incrementItemsVersion(listId);
+        final long version = list == null ? 0 : list.getItemsVersion();
+        // a single update per write, the documents it left pending have the same change.
+        final Map<Pair<Boolean, Long>, List<String>> ids = changes
+            .stream()
+            .collect(
+                Collectors.groupingBy(
+                    c -> Pair.of(c.isDeletion(), c.getChange()),
+                    Collectors.mapping(ItemChanges.Pending::getId, Collectors.toList())
+                )
+            );
+        ids.forEach((change, documents) -> {
+            final Query query = ItemChanges.pendingQuery(listId, change.getSecond(), documents);
+            if (change.getFirst()) {
+                mongoTemplate.updateMulti(query, Update.update(ItemChanges.CHANGE_SEQ, version), DeletedTodoItem.class);
+            } else {
+                mongoTemplate.updateMulti(query, changeSeq(version), TodoItem.class);
+            }
+        });
+    }
+
+    @Override
+    public List<TodoItem> findItemChanges(String listId, Long since, long until, Long afterSeq, String afterId, int limit) {
+        return mongoTemplate.find(ItemChanges.changesQuery(listId, since, until, afterSeq, afterId, limit), TodoItem.class);
+    }
+
+    @Override
+    public List<DeletedTodoItem> findItemDeletions(
+        String listId,
+        long since,
+        long until,
+        Long afterSeq,
+        String afterId,
+        int limit
+    ) {
+        return mongoTemplate.find(
+            ItemChanges.changesQuery(listId, since, until, afterSeq, afterId, limit),
+            DeletedTodoItem.class
+        );
+    }
+
+    private TodoList incrementItemsVersion(String listId) {
+        final TodoList list = mongoTemplate.findAndModify(
+            listQuery(listId),
+            itemsChange(),
+            FindAndModifyOptions.options().returnNew(true),
+            TodoList.class
+        );
+        // the cached list carries the version, the listings of this instance see the new one right away.
+        final Cache cache = cacheManager.getCache(CacheConfiguration.TODO_LISTS);
+        if (cache != null && list != null) {
+            cache.put(listId, list);
+        }
+        return list;
+    }
+
+    /**
+     * Sets the `changeSeq` of the documents a write left pending, off the request path: the write is
+     * answered once the version of the items is incremented. Until then the documents are returned by
+     * every delta sync of their list, and the ones a failed update leaves pending are finished by
+     * {@link #finishPendingChanges(String, Collection)}.
+     */
+    private void stamp(String listId, Runnable update) {
+        CompletableFuture
+            .runAsync(update, sideExecutor)
+            .exceptionally(e -> {
+                LOGGER.warn("Changes of the items of list {} left pending", listId, e);
+                return null;
+            });
+    }
+
+    private boolean isListCached(String listId) {
+        final Cache cache = cacheManager.getCache(CacheConfiguration.TODO_LISTS);
+        return cache != null && cache.get(listId) != null;
+    }
+
+    // a projection-only probe, run on its own executor so that it overlaps with the item query.
+    private CompletableFuture<Boolean> listExists(String listId) {
+        return CompletableFuture.supplyAsync(
+            () -> mongoTemplate.exists(listQuery(listId), TodoList.class),
+            sideExecutor
+        );
+    }
+
+    /**
+     * The executor of the list existence probes and of the `changeSeq` updates, which has a thread per
+     * request thread, or a virtual thread per task when virtual threads are enabled. A task that finds
+     * every thread busy runs on the request thread: it never waits in a queue, behind other tasks.
+     */
+    static TaskExecutor sideExecutor(Environment environment, int requestThreads) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            final SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("request-side-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("request-side-");
+        executor.setCorePoolSize(requestThreads);
+        executor.setMaxPoolSize(requestThreads);
+        executor.setQueueCapacity(0);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * The update incrementing the version of the items of a list. The version of the list itself is
+     * incremented by 0: the template increments the version of a versioned entity on any update that
+     * doesn't set it, while the list is left as it is.
+     */
+    static UpdateDefinition itemsChange() {
+        return new Update().inc(ITEMS_VERSION, 1).inc(VERSION, 0);
+    }
+
+    /**
+     * The update setting the `changeSeq` of the items marked with a pending change to the version of
+     * the items of their list. Their version is incremented by 0, see {@link #itemsChange()}: the items
+     * are left as they are.
+     */
+    static UpdateDefinition changeSeq(long itemsVersion) {
+        return new Update().set(ItemChanges.CHANGE_SEQ, itemsVersion).inc(VERSION, 0);
+    }
+
+    static Query listQuery(String listId) {
+        return Query.query(where("id").is(listId));
+    }
+
+    private static boolean join(CompletableFuture<Boolean> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // rethrow the failure of the probe as is, e.g. the DataAccessException of the driver error.
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private UpdateResult updateState(String listId, TodoState state, List<String> itemIds, long change) {
+        // a single bulk write, ordered: see stateUpdates.
+        final BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, TodoItem.class);
+        final List<Criteria> chunks = new ArrayList<>();
+        if (CollectionUtils.isEmpty(itemIds)) {
+            chunks.add(where("listId").is(listId));
+        }
+        for (int from = 0; itemIds != null && from < itemIds.size(); from += ID_CHUNK_SIZE) {
+            chunks.add(itemsOfList(listId, itemIds.subList(from, Math.min(from + ID_CHUNK_SIZE, itemIds.size()))));
+        }
+        for (Criteria chunk : chunks) {
+            stateUpdates(chunk, state, change)
+                .forEach(update -> bulkOperations.updateMulti(update.getFirst(), update.getSecond()));
+        }
+        final BulkWriteResult result = bulkOperations.execute();
+        return UpdateResult.acknowledged(result.getMatchedCount(), (long) result.getModifiedCount(), null);
+    }
+
+    /**
+     * The updates setting the state of items: the ones not already in that state also get their version
+     * incremented and are marked with the pending change, the others are matched but left as they are,
+     * and are not counted as modified. They have to be applied in order.
+     *
+     * @param items the criteria of the items to update.
+     */
+    static List<Pair<Query, UpdateDefinition>> stateUpdates(Criteria items, TodoState state, long change) {
+        // the items already in that state are matched first, before the others are moved to it.
+        return List.of(
+            Pair.of(
+                Query.query(new Criteria().andOperator(items, where("state").is(state))),
+                new Update().set("state", state)
+            ),
+            Pair.of(
+                Query.query(new Criteria().andOperator(items, where("state").ne(state))),
+                new Update().set("state", state).set(ItemChanges.CHANGE_SEQ, change).inc(VERSION, 1)
+            )
+        );
+    }
+
+    // the query of the listings, with a small cursor batch size: a stream holds a single batch of items
+    // in memory at a time, the next one is only fetched once the previous one has been written out.
+    static Query streamQuery(String listId, TodoState state, String afterId, int skip, int limit, Document projection) {
+        final Criteria criteria = where("listId").is(listId);
+        if (state != null) {
+            criteria.and("state").is(state);
+        }
+        final Query query = Query
+            .query(afterId == null ? criteria : new Criteria().andOperator(criteria, ItemIds.criteriaAfter(afterId)))
+            .with(Sort.by("id"))
+            .skip(afterId == null ? skip : 0)
+            .limit(limit)
+            .cursorBatchSize(STREAM_BATCH_SIZE);
+        projection.keySet().forEach(query.fields()::include);
+        return query;
+    }
+
+    /**
+     * Sets the list of the items of a batch, and an id to the ones without, so that the outcome of
+     * their insertion can be reported with their id.
+     *
+     * @return whether each item is a replacement, i.e. it came with an id.
+     */
+    static boolean[] prepareBatch(String listId, List<TodoItem> items) {
+        final boolean[] replacements = new boolean[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            final TodoItem item = items.get(i);
+            item.setListId(listId);
+            replacements[i] = item.getId() != null;
+            if (!replacements[i]) {
+                item.setId(new ObjectId().toHexString());
+                item.setVersion(0L);
+            }
+        }
+        return replacements;
+    }
+
+    // the item with the id of the given one within its list: a replacement can't move an item of
+    // another list, its upsert fails on the duplicate id instead.
+    static Query itemQuery(TodoItem item) {
+        return Query.query(where("id").is(item.getId()).and("listId").is(item.getListId()));
+    }
+
+    /**
+     * Update replacing a document with the given entity, and incrementing its version rather than
+     * taking the one of the request: every property is set, or unset if the given entity doesn't have
+     * it, but the id and the version.
+     *
+     * @param kept properties left as they are, that are not part of the requests.
+     */
+    static UpdateDefinition replacement(Object entity, MongoConverter converter, String... kept) {
+        final Document document = new Document();
+        converter.write(entity, document);
+        final Update update = new Update();
+        final MongoPersistentEntity<?> persistentEntity = converter
+            .getMappingContext()
+            .getRequiredPersistentEntity(entity.getClass());
+        for (MongoPersistentProperty property : persistentEntity) {
+            final String name = property.getFieldName();
+            if (property.isIdProperty() || property.isVersionProperty() || Arrays.asList(kept).contains(name)) {
+                continue;
+            }
+            if (document.containsKey(name)) {
+                update.set(name, document.get(name));
+            } else {
+                update.unset(name);
+            }
+        }
+        return update.inc(VERSION, 1);
+    }
+
+    /**
+     * Update setting the given properties of an item, or unsetting the ones the given item doesn't
+     * have, and incrementing its version and setting its `changeSeq`. The other properties are left as
+     * they are.
+     *
+     * @param properties the names of the properties to write.
+     */
+    static UpdateDefinition patch(TodoItem values, Collection<String> properties, MongoConverter converter) {
+        final Document document = new Document();
+        converter.write(values, document);
+        final MongoPersistentEntity<?> persistentEntity = converter
+            .getMappingContext()
+            .getRequiredPersistentEntity(TodoItem.class);
+        final Update update = new Update();
+        for (String property : properties) {
+            final String name = persistentEntity.getRequiredPersistentProperty(property).getFieldName();
+            if (document.containsKey(name)) {
+                update.set(name, document.get(name));
+            } else {
+                update.unset(name);
+            }
+        }
+        return update.set(ItemChanges.CHANGE_SEQ, values.getChangeSeq()).inc(VERSION, 1);
+    }
+
+    /**
+     * Restricts a query to the documents with one of the given versions.
+     *
+     * @param versions the versions, or null for any version.
+     */
+    static Query versioned(Query query, List<Long> versions) {
+        if (versions == null) {
+            return query;
+        }
+        // the documents written before versions existed have none, their ETag is the one of version 0.
+        final List<Long> accepted = new ArrayList<>(versions);
+        if (versions.contains(0L)) {
+            accepted.add(null);
+        }
+        return query.addCriteria(where(VERSION).in(accepted));
+    }
+
+    /**
+     * @return the outcome of each item of a bulk write, from the indexes of its upserts and errors.
+     */
+    static List<TodoItemBatchResult> batchResults(
+        List<TodoItem> items,
+        boolean[] replacements,
+        BulkWriteResult result,
+        List<BulkWriteError> errors,
+        boolean ordered
+    ) {
+        final Set<Integer> upserted = result
+            .getUpserts()
+            .stream()
+            .map(BulkWriteUpsert::getIndex)
+            .collect(Collectors.toSet());
+        final Map<Integer, BulkWriteError> failed = errors
+            .stream()
+            .collect(Collectors.toMap(BulkWriteError::getIndex, Function.identity()));
+        // an ordered write stops at its first failure, the items after it are not attempted.
+        final int attempted = ordered && !errors.isEmpty() ? Collections.min(failed.keySet()) : items.size();
+        final List<TodoItemBatchResult> results = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            // the id given to an item without one is only reported if the item was written.
+            final TodoItemBatchResult itemResult = new TodoItemBatchResult();
+            if (replacements[i]) {
+                itemResult.id(items.get(i).getId());
+            }
+            if (failed.containsKey(i)) {
+                itemResult.status(TodoItemBatchResult.StatusEnum.FAILED).error(errorMessage(failed.get(i)));
+            } else if (i > attempted) {
+                itemResult.status(TodoItemBatchResult.StatusEnum.SKIPPED);
+            } else if (replacements[i] && !upserted.contains(i)) {
+                itemResult.status(TodoItemBatchResult.StatusEnum.REPLACED);
+            } else {
+                itemResult.status(TodoItemBatchResult.StatusEnum.CREATED).id(items.get(i).getId());
+            }
+            results.add(itemResult);
+        }
+        return results;
+    }
+
+    private static String errorMessage(BulkWriteError error) {
+        if (ErrorCategory.fromErrorCode(error.getCode()) == ErrorCategory.DUPLICATE_KEY) {
+            return "The id is used by an item of another list";
+        }
+        return error.getMessage();
+    }
+
+    private static Criteria itemsOfList(String listId, List<String> itemIds) {
+        return where("listId").is(listId).and("id").in(itemIds);
+    }
+}
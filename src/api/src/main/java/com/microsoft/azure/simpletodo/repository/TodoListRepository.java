@@ -1,13 +1,62 @@
 package com.microsoft.azure.simpletodo.repository;
 
+import com.microsoft.azure.simpletodo.configuration.CacheConfiguration;
 import com.microsoft.azure.simpletodo.model.TodoList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.mongodb.repository.Aggregation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+public interface TodoListRepository extends MongoRepository<TodoList, String>, TodoListRepositoryCustom {
+    @Override
+    @Cacheable(cacheNames = CacheConfiguration.TODO_LISTS, key = "#p0", unless = "#result == null")
+    Optional<TodoList> findById(String id);
+
+    @Override
+    @CachePut(cacheNames = CacheConfiguration.TODO_LISTS, key = "#result.id")
+    <S extends TodoList> S save(S entity);
+
+    @Override
+    @CachePut(cacheNames = CacheConfiguration.TODO_LISTS, key = "#result.id")
+    <S extends TodoList> S insert(S entity);
+
+    // the writes of many lists inherited from MongoRepository evict every cached list. The inserts of
+    // many lists are left as they are: they only create lists, none of which can be cached already.
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_LISTS, allEntries = true)
+    <S extends TodoList> List<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_LISTS, key = "#p0")
+    void deleteById(String id);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_LISTS, key = "#p0.id")
+    void delete(TodoList entity);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_LISTS, allEntries = true)
+    void deleteAllById(Iterable<? extends String> ids);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_LISTS, allEntries = true)
+    void deleteAll(Iterable<? extends TodoList> entities);
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_LISTS, allEntries = true)
+    void deleteAll();
 
-public interface TodoListRepository extends MongoRepository<TodoList, String> {
     @Aggregation(pipeline = { "{ '$skip': ?0 }", "{ '$limit': ?1 }" })
     List<TodoList> findAll(int skip, int limit);
 
+    @CacheEvict(cacheNames = CacheConfiguration.TODO_LISTS, key = "#p0")
     TodoList deleteTodoListById(String id);
+
+    @Query(fields = "{ '_id' : 1 }")
+    List<TodoList> findTodoListsByIdIn(Collection<String> ids);
 }
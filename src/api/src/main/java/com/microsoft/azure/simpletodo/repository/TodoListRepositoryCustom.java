@@ -0,0 +1,60 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.model.TodoListDeletion.StatusEnum;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Operations of {@link TodoListRepository} that write a list conditionally, in a single round trip, or
+ * that read it from the database rather than from the cache, and the ones of the {@link ListItemsDeletion}
+ * of the deleted lists.
+ */
+public interface TodoListRepositoryCustom {
+    /**
+     * Replaces a list, if it has one of the given versions, and increments its version rather than
+     * taking the one of the given list. The version of its items is kept.
+     *
+     * @param todoList the list, its id is set.
+     * @param versions the versions the list may have, or null for any version.
+     * @return the replaced list, or empty if there is no list with that id and one of these versions.
+     */
+    Optional<TodoList> replace(TodoList todoList, List<Long> versions);
+
+    /**
+     * Reads the version of the items of a list from the database, bypassing the cache: the cached list
+     * may predate a write made through another instance, and can't tell a client whose copy is current.
+     *
+     * @return the list with its id and the version of its items only, or empty if there is no list with
+     *         that id.
+     */
+    Optional<TodoList> findItemsVersion(String listId);
+
+    /**
+     * Starts a deletion of the items of a list, unless one is in progress and its run updated it since
+     * the given date.
+     *
+     * @param staleBefore the date before which the run of a deletion in progress is deemed stopped.
+     * @return the started deletion, or empty if another run is deleting the items.
+     */
+    Optional<ListItemsDeletion> startItemsDeletion(String listId, Instant staleBefore);
+
+    /**
+     * @return the latest deletion of the items of a list, or empty if there is none or it finished more
+     *         than {@link ListItemsDeletion#RETENTION} ago.
+     */
+    Optional<ListItemsDeletion> findItemsDeletion(String listId);
+
+    /**
+     * Adds a batch of deleted items to a deletion in progress.
+     *
+     * @return false if another run took the deletion over, this one should stop.
+     */
+    boolean recordItemsDeleted(ListItemsDeletion deletion, long deletedItemCount);
+
+    /**
+     * Ends a deletion, unless another run took it over.
+     */
+    void finishItemsDeletion(ListItemsDeletion deletion, StatusEnum status);
+}
@@ -0,0 +1,123 @@
+package com.microsoft.azure.simpletodo.repository;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+import com.microsoft.azure.simpletodo.configuration.CacheConfiguration;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.model.TodoListDeletion.StatusEnum;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+public class TodoListRepositoryCustomImpl implements TodoListRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final CacheManager cacheManager;
+
+    public TodoListRepositoryCustomImpl(MongoTemplate mongoTemplate, CacheManager cacheManager) {
+        this.mongoTemplate = mongoTemplate;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public Optional<TodoList> replace(TodoList todoList, List<Long> versions) {
+        final TodoList replaced = mongoTemplate.findAndModify(
+            TodoItemRepositoryCustomImpl.versioned(TodoItemRepositoryCustomImpl.listQuery(todoList.getId()), versions),
+            TodoItemRepositoryCustomImpl.replacement(
+                todoList,
+                mongoTemplate.getConverter(),
+                TodoItemRepositoryCustomImpl.ITEMS_VERSION
+            ),
+            FindAndModifyOptions.options().returnNew(true),
+            TodoList.class
+        );
+        final Cache cache = cacheManager.getCache(CacheConfiguration.TODO_LISTS);
+        if (cache != null) {
+            if (replaced != null) {
+                cache.put(todoList.getId(), replaced);
+            } else {
+                // the cached copy may be the stale one the request was based on.
+                cache.evict(todoList.getId());
+            }
+        }
+        return Optional.ofNullable(replaced);
+    }
+
+    @Override
+    public Optional<TodoList> findItemsVersion(String listId) {
+        final Query query = TodoItemRepositoryCustomImpl.listQuery(listId);
+        query.fields().include(TodoItemRepositoryCustomImpl.ITEMS_VERSION);
+        return Optional.ofNullable(mongoTemplate.findOne(query, TodoList.class));
+    }
+
+    @Override
+    public Optional<ListItemsDeletion> startItemsDeletion(String listId, Instant staleBefore) {
+        final Instant now = Instant.now();
+        final Query query = Query.query(
+            where("listId")
+                .is(listId)
+                .orOperator(
+                    where(ListItemsDeletion.STATUS).ne(StatusEnum.INPROGRESS),
+                    where(ListItemsDeletion.UPDATED_DATE).lt(staleBefore)
+                )
+        );
+        final Update update = new Update()
+            .set(ListItemsDeletion.RUN_ID, UUID.randomUUID().toString())
+            .set(ListItemsDeletion.STATUS, StatusEnum.INPROGRESS)
+            .set(ListItemsDeletion.DELETED_ITEM_COUNT, 0L)
+            .set(ListItemsDeletion.STARTED_DATE, now)
+            .set(ListItemsDeletion.UPDATED_DATE, now)
+            .unset(ListItemsDeletion.COMPLETED_DATE);
+        try {
+            return Optional.ofNullable(
+                mongoTemplate.findAndModify(
+                    query,
+                    update,
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    ListItemsDeletion.class
+                )
+            );
+        } catch (DuplicateKeyException e) {
+            // the deletion exists and didn't match: it is in progress, the upsert can't insert another one.
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Optional<ListItemsDeletion> findItemsDeletion(String listId) {
+        // the expired deletions are removed once a minute, not right away.
+        final Instant expired = Instant.now().minus(ListItemsDeletion.RETENTION);
+        return Optional
+            .ofNullable(mongoTemplate.findById(listId, ListItemsDeletion.class))
+            .filter(d -> d.getCompletedDate() == null || d.getCompletedDate().isAfter(expired));
+    }
+
+    @Override
+    public boolean recordItemsDeleted(ListItemsDeletion deletion, long deletedItemCount) {
+        final Update update = new Update()
+            .inc(ListItemsDeletion.DELETED_ITEM_COUNT, deletedItemCount)
+            .set(ListItemsDeletion.UPDATED_DATE, Instant.now());
+        return mongoTemplate.updateFirst(runQuery(deletion), update, ListItemsDeletion.class).getMatchedCount() > 0;
+    }
+
+    @Override
+    public void finishItemsDeletion(ListItemsDeletion deletion, StatusEnum status) {
+        final Update update = new Update()
+            .set(ListItemsDeletion.STATUS, status)
+            .set(ListItemsDeletion.COMPLETED_DATE, Instant.now());
+        mongoTemplate.updateFirst(runQuery(deletion), update, ListItemsDeletion.class);
+    }
+
+    private static Query runQuery(ListItemsDeletion deletion) {
+        return Query.query(where("listId").is(deletion.getListId()).and(ListItemsDeletion.RUN_ID).is(deletion.getRunId()));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.service;
+
+import com.microsoft.azure.simpletodo.repository.ItemChanges;
+import com.microsoft.azure.simpletodo.repository.TodoItemRepository;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Finishes the pending changes of the writes of items that failed before giving their items a version,
+ * see {@link ItemChanges}.
+ * <p>
+ * A periodic sweep finds the items and tombstones marked with a pending change, and finishes the ones
+ * it already found in its previous run with the same change: the writes in progress are left to finish
+ * their changes themselves. The documents found are kept in memory by each instance, an instance that
+ * restarts finishes the changes one run later.
+ */
+@Service
+public class ItemChangesRepairService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ItemChangesRepairService.class);
+
+    // max number of pending documents of each collection looked up by a run of the sweep.
+    private static final int SWEEP_LIMIT = 1000;
+
+    private final TodoItemRepository todoItemRepository;
+
+    private Set<ItemChanges.Pending> previouslyPending = Set.of();
+
+    public ItemChangesRepairService(TodoItemRepository todoItemRepository) {
+        this.todoItemRepository = todoItemRepository;
+    }
+
+    /**
+     * Finishes the pending changes found by the previous run of the sweep, shortly after startup and
+     * then periodically.
+     *
+     * @return the number of lists whose pending changes were finished.
+     */
+    @Scheduled(
+        initialDelayString = "${todo.pending-change-sweep.initial-delay:PT1M}",
+        fixedDelayString = "${todo.pending-change-sweep.interval:PT1M}"
+    )
+    public synchronized int sweepPendingChanges() {
+        final List<ItemChanges.Pending> pending = todoItemRepository.findPendingChanges(SWEEP_LIMIT);
+        final Map<String, List<ItemChanges.Pending>> stale = pending
+            .stream()
+            .filter(previouslyPending::contains)
+            .collect(Collectors.groupingBy(ItemChanges.Pending::getListId));
+        // the changes failing to finish are found again by the next run, which retries them.
+        previouslyPending = new HashSet<>(pending);
+        int finished = 0;
+        for (Map.Entry<String, List<ItemChanges.Pending>> changes : stale.entrySet()) {
+            try {
+                todoItemRepository.finishPendingChanges(changes.getKey(), changes.getValue());
+                finished++;
+            } catch (DataAccessException e) {
+                LOGGER.warn("Finishing the pending changes of list {} failed: {}", changes.getKey(), e.getMessage());
+            }
+        }
+        if (finished > 0) {
+            LOGGER.info("Finished the pending changes of {} lists", finished);
+        }
+        return finished;
+    }
+}
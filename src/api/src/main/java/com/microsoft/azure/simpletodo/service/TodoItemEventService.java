@@ -0,0 +1,362 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.service;
+
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.repository.ItemChanges;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import com.mongodb.client.model.changestream.OperationType;
+import com.mongodb.client.model.changestream.UpdateDescription;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+/**
+ * Pushes the changes of the Todo items to the clients watching their list.
+ * <p>
+ * A single change stream on the items is opened when the first client subscribes, and closed when
+ * the last one leaves: its events are fanned out in memory to the subscribers of the list of each
+ * item, so the database serves one cursor whatever the number of clients. The latest events are
+ * kept, and a client reconnecting with the id of the last event it got is sent the ones of its list
+ * it missed. A client whose event is no longer kept, or who may have missed some because the stream
+ * had to be opened again from scratch, gets a {@link #RESET} event and should reload the list.
+ * <p>
+ * A deleted item only has its id left, the stream tells its list if the collection records the items
+ * before their change, which this service turns on if it can (MongoDB 6.0 and later). Otherwise the
+ * deletion is sent to the subscribers of all lists, and clients drop the ids they don't know.
+ * Azure Cosmos DB doesn't report deletions in change streams.
+ */
+@Service
+public class TodoItemEventService {
+
+    public static final String CREATED = "created";
+
+    public static final String UPDATED = "updated";
+
+    public static final String DELETED = "deleted";
+
+    public static final String RESET = "reset";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoItemEventService.class);
+
+    // how long a read of the stream waits for an event, i.e. how soon the stream is closed once idle.
+    private static final Duration MAX_AWAIT_TIME = Duration.ofSeconds(1);
+
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    // the version is incremented by 0 along with the `changeSeq`, it may be reported as updated.
+    private static final Set<String> CHANGE_SEQ_FIELDS = Set.of(ItemChanges.CHANGE_SEQ, "version");
+
+    private final MongoTemplate mongoTemplate;
+
+    private final TaskExecutor taskExecutor;
+
+    private final int retainedEvents;
+
+    private final int subscriberBufferSize;
+
+    // the state below is guarded by the lock, so that a subscriber is sent the events it missed and
+    // then the new ones, without a gap or a duplicate between both.
+    private final Object lock = new Object();
+
+    private final ArrayDeque<ItemEvent> recentEvents = new ArrayDeque<>();
+
+    private final Map<String, Set<Sinks.Many<ItemEvent>>> subscribers = new HashMap<>();
+
+    private boolean watching;
+
+    // read and written by the thread watching the stream only.
+    private BsonDocument resumeToken;
+
+    private Boolean preImages;
+
+    public TodoItemEventService(
+        MongoTemplate mongoTemplate,
+        @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+        @Value("${todo.items.events.retained:10000}") int retainedEvents,
+        @Value("${todo.items.events.subscriber-buffer-size:1000}") int subscriberBufferSize
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskExecutor = taskExecutor;
+        this.retainedEvents = retainedEvents;
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    /**
+     * Subscribes to the changes of the items of a list. The events are emitted on a bounded elastic
+     * thread, the subscriber may block. A subscriber that falls too far behind is completed, and can
+     * subscribe again with the id of the last event it got.
+     *
+     * @param lastEventId the id of the last event the client got, or null to only get new events.
+     * @return the events.
+     */
+    public Flux<ItemEvent> subscribe(String listId, String lastEventId) {
+        return Flux
+            .defer(() -> {
+                final Sinks.Many<ItemEvent> sink = Sinks
+                    .many()
+                    .unicast()
+                    .onBackpressureBuffer(Queues.<ItemEvent>get(subscriberBufferSize).get());
+                synchronized (lock) {
+                    if (lastEventId != null) {
+                        replay(listId, lastEventId, sink);
+                    }
+                    subscribers.computeIfAbsent(listId, id -> new HashSet<>()).add(sink);
+                    if (!watching) {
+                        watching = true;
+                        taskExecutor.execute(this::watch);
+                    }
+                }
+                return sink.asFlux().doFinally(signal -> unsubscribe(listId, sink));
+            })
+            .publishOn(Schedulers.boundedElastic());
+    }
+
+    // sends the kept events of the list after the given one, or a reset if it is no longer kept.
+    private void replay(String listId, String lastEventId, Sinks.Many<ItemEvent> sink) {
+        boolean found = false;
+        for (ItemEvent event : recentEvents) {
+            if (found) {
+                if (event.isOf(listId)) {
+                    sink.tryEmitNext(event);
+                }
+            } else {
+                found = event.getId().equals(lastEventId);
+            }
+        }
+        if (!found) {
+            sink.tryEmitNext(reset(listId));
+        }
+    }
+
+    private void unsubscribe(String listId, Sinks.Many<ItemEvent> sink) {
+        synchronized (lock) {
+            final Set<Sinks.Many<ItemEvent>> sinks = subscribers.get(listId);
+            if (sinks != null && sinks.remove(sink) && sinks.isEmpty()) {
+                subscribers.remove(listId);
+            }
+        }
+    }
+
+    private void watch() {
+        while (true) {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream().cursor()) {
+                while (true) {
+                    final ChangeStreamDocument<Document> change = cursor.tryNext();
+                    if (change != null) {
+                        publish(change);
+                    }
+                    // the position is kept when the stream is closed, the events that happen until it
+                    // is opened again are still sent to the clients reconnecting in the meantime.
+                    resumeToken = cursor.getResumeToken() == null ? resumeToken : cursor.getResumeToken();
+                    if (change == null && stopIfIdle()) {
+                        return;
+                    }
+                }
+            } catch (RuntimeException e) {
+                // the driver already resumed the stream if it could, start over: the subscribers may
+                // have missed events.
+                LOGGER.warn("Watching the changes of the Todo items failed: {}", e.getMessage());
+                resumeToken = null;
+                resetAll();
+                if (stopIfIdle()) {
+                    return;
+                }
+                LockSupport.parkNanos(RETRY_DELAY.toNanos());
+            }
+        }
+    }
+
+    private ChangeStreamIterable<Document> changeStream() {
+        final String collectionName = mongoTemplate.getCollectionName(TodoItem.class);
+        if (preImages == null) {
+            preImages = recordPreImages(collectionName);
+        }
+        final ChangeStreamIterable<Document> changeStream = mongoTemplate
+            .getCollection(collectionName)
+            .watch(List.of(Aggregates.match(Filters.in("operationType", "insert", "update", "replace", "delete"))))
+            .fullDocument(FullDocument.UPDATE_LOOKUP)
+            .maxAwaitTime(MAX_AWAIT_TIME.toMillis(), TimeUnit.MILLISECONDS);
+        if (preImages) {
+            changeStream.fullDocumentBeforeChange(FullDocumentBeforeChange.WHEN_AVAILABLE);
+        }
+        return resumeToken == null ? changeStream : changeStream.resumeAfter(resumeToken);
+    }
+
+    private boolean recordPreImages(String collectionName) {
+        try {
+            mongoTemplate.executeCommand(
+                new Document("collMod", collectionName).append("changeStreamPreAndPostImages", new Document("enabled", true))
+            );
+            return true;
+        } catch (RuntimeException e) {
+            LOGGER.info("Deleted items are sent to the subscribers of all lists: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void publish(ChangeStreamDocument<Document> change) {
+        final ItemEvent event;
+        switch (change.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                // an updated item that was deleted since has no document left, its deletion comes next.
+                if (change.getFullDocument() == null || isChangeSeqOnly(change)) {
+                    return;
+                }
+                event =
+                    new ItemEvent(
+                        change.getResumeToken(),
+                        change.getOperationType() == OperationType.INSERT ? CREATED : UPDATED,
+                        mongoTemplate.getConverter().read(TodoItem.class, change.getFullDocument())
+                    );
+            }
+            case DELETE -> {
+                final TodoItem item = change.getFullDocumentBeforeChange() == null
+                    ? new TodoItem()
+                    : mongoTemplate.getConverter().read(TodoItem.class, change.getFullDocumentBeforeChange());
+                item.setId(idOf(change.getDocumentKey().get("_id")));
+                event = new ItemEvent(change.getResumeToken(), DELETED, item);
+            }
+            default -> {
+                return;
+            }
+        }
+        synchronized (lock) {
+            recentEvents.addLast(event);
+            if (recentEvents.size() > retainedEvents) {
+                recentEvents.removeFirst();
+            }
+            final List<Sinks.Many<ItemEvent>> sinks = new ArrayList<>();
+            if (event.getItem().getListId() == null) {
+                subscribers.values().forEach(sinks::addAll);
+            } else {
+                sinks.addAll(subscribers.getOrDefault(event.getItem().getListId(), Set.of()));
+            }
+            for (Sinks.Many<ItemEvent> sink : sinks) {
+                if (sink.tryEmitNext(event).isFailure()) {
+                    // too far behind: the subscriber gets what it has buffered, then reconnects.
+                    sink.tryEmitComplete();
+                }
+            }
+        }
+    }
+
+    // tells all subscribers to reload, and forgets the events they could otherwise catch up from.
+    private void resetAll() {
+        synchronized (lock) {
+            recentEvents.clear();
+            subscribers.forEach((listId, sinks) -> sinks.forEach(sink -> sink.tryEmitNext(reset(listId))));
+        }
+    }
+
+    // a reset has the id of the latest event, or an empty one if none is kept, so that a client that
+    // reconnects after reloading gets the events after it rather than another reset.
+    private ItemEvent reset(String listId) {
+        final TodoItem item = new TodoItem();
+        item.setListId(listId);
+        return new ItemEvent(recentEvents.isEmpty() ? "" : recentEvents.getLast().getId(), RESET, item);
+    }
+
+    private boolean stopIfIdle() {
+        synchronized (lock) {
+            watching = !subscribers.isEmpty();
+            return !watching;
+        }
+    }
+
+    // the update giving the items of a write their `changeSeq` once it is done, see ItemChanges: the
+    // clients already got the write.
+    private static boolean isChangeSeqOnly(ChangeStreamDocument<Document> change) {
+        final UpdateDescription update = change.getUpdateDescription();
+        return (
+            update != null &&
+            update.getUpdatedFields() != null &&
+            CHANGE_SEQ_FIELDS.containsAll(update.getUpdatedFields().keySet()) &&
+            (update.getRemovedFields() == null || update.getRemovedFields().isEmpty())
+        );
+    }
+
+    private static String idOf(BsonValue id) {
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    /**
+     * A change of a Todo item.
+     */
+    public static final class ItemEvent {
+
+        private final String id;
+
+        private final String type;
+
+        private final TodoItem item;
+
+        private ItemEvent(BsonDocument resumeToken, String type, TodoItem item) {
+            this(resumeToken.getString("_data").getValue(), type, item);
+        }
+
+        private ItemEvent(String id, String type, TodoItem item) {
+            this.id = id;
+            this.type = type;
+            this.item = item;
+        }
+
+        /**
+         * @return the id to reconnect with to get the events after this one, empty for a reset when
+         *         no event is kept.
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * @return {@link #CREATED}, {@link #UPDATED}, {@link #DELETED} or {@link #RESET}.
+         */
+        public String getType() {
+            return type;
+        }
+
+        /**
+         * @return the item, with its id only and maybe its list for a deletion, with its list only for
+         *         a reset.
+         */
+        public TodoItem getItem() {
+            return item;
+        }
+
+        private boolean isOf(String listId) {
+            return item.getListId() == null || item.getListId().equals(listId);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.service;
+
+import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.model.TodoListDeletion;
+import com.microsoft.azure.simpletodo.model.TodoListDeletion.StatusEnum;
+import com.microsoft.azure.simpletodo.repository.ListItemsDeletion;
+import com.microsoft.azure.simpletodo.repository.TodoItemRepository;
+import com.microsoft.azure.simpletodo.repository.TodoListRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Removes the items of deleted Todo lists in the background.
+ * <p>
+ * Items are deleted in batches of a bounded size so no single request or database operation runs
+ * for long, however big the list. Progress is kept in the database, see {@link ListItemsDeletion}, so
+ * that every instance reports it. A periodic sweep removes items whose list no longer exists, whether
+ * their deletion was interrupted or they predate cascading deletes.
+ */
+@Service
+public class TodoListDeletionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TodoListDeletionService.class);
+
+    // how long a deletion in progress may go without an update before its run is deemed stopped.
+    private static final Duration LEASE = Duration.ofMinutes(5);
+
+    // max number of list ids looked up at once by the orphan sweep.
+    private static final int SWEEP_CHUNK_SIZE = 1000;
+
+    private final TodoListRepository todoListRepository;
+
+    private final TodoItemRepository todoItemRepository;
+
+    private final TaskExecutor taskExecutor;
+
+    private final int batchSize;
+
+    public TodoListDeletionService(
+        TodoListRepository todoListRepository,
+        TodoItemRepository todoItemRepository,
+        @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor taskExecutor,
+        @Value("${todo.list-deletion.batch-size:1000}") int batchSize
+    ) {
+        this.todoListRepository = todoListRepository;
+        this.todoItemRepository = todoItemRepository;
+        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts deleting the items of a list, unless their deletion is already in progress.
+     *
+     * @return the status of the deletion.
+     */
+    public TodoListDeletion deleteItemsOf(String listId) {
+        final Optional<ListItemsDeletion> started = todoListRepository.startItemsDeletion(
+            listId,
+            Instant.now().minus(LEASE)
+        );
+        if (started.isEmpty()) {
+            // another run is deleting the items, its deletion is reported.
+            return getDeletion(listId).orElseGet(() -> deleteItemsOf(listId));
+        }
+        taskExecutor.execute(() -> run(started.get()));
+        return toStatus(started.get());
+    }
+
+    /**
+     * @return the status of the latest deletion of the items of a list, if any instance ran one
+     *         recently.
+     */
+    public Optional<TodoListDeletion> getDeletion(String listId) {
+        return todoListRepository.findItemsDeletion(listId).map(TodoListDeletionService::toStatus);
+    }
+
+    /**
+     * Deletes the items whose list doesn't exist, shortly after startup and then periodically.
+     *
+     * @return the number of lists whose orphaned items are being deleted.
+     */
+    @Scheduled(
+        initialDelayString = "${todo.orphan-sweep.initial-delay:PT1M}",
+        fixedDelayString = "${todo.orphan-sweep.interval:PT6H}"
+    )
+    public int sweepOrphanedItems() {
+        int orphaned = 0;
+        try (Stream<String> listIds = todoItemRepository.streamListIds()) {
+            final Iterator<String> iterator = listIds.iterator();
+            while (iterator.hasNext()) {
+                final List<String> chunk = new ArrayList<>(SWEEP_CHUNK_SIZE);
+                while (iterator.hasNext() && chunk.size() < SWEEP_CHUNK_SIZE) {
+                    chunk.add(iterator.next());
+                }
+                final Set<String> existing = new HashSet<>();
+                todoListRepository.findTodoListsByIdIn(chunk).stream().map(TodoList::getId).forEach(existing::add);
+                for (String listId : chunk) {
+                    if (!existing.contains(listId)) {
+                        orphaned++;
+                        deleteItemsOf(listId);
+                    }
+                }
+            }
+        }
+        if (orphaned > 0) {
+            LOGGER.info("Deleting orphaned items of {} lists", orphaned);
+        }
+        return orphaned;
+    }
+
+    private void run(ListItemsDeletion deletion) {
+        try {
+            long deleted;
+            do {
+                deleted = todoItemRepository.deleteItemsByListId(deletion.getListId(), batchSize);
+                if (deleted > 0 && !todoListRepository.recordItemsDeleted(deletion, deleted)) {
+                    // another instance took the deletion over, it deletes the remaining items.
+                    return;
+                }
+            } while (deleted > 0);
+            todoListRepository.finishItemsDeletion(deletion, StatusEnum.COMPLETED);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Deleting the items of list {} failed: {}", deletion.getListId(), e.getMessage());
+            try {
+                todoListRepository.finishItemsDeletion(deletion, StatusEnum.FAILED);
+            } catch (RuntimeException f) {
+                // left in progress, it is reported as failed once its lease expires.
+                LOGGER.warn("Recording the failed deletion of list {} failed: {}", deletion.getListId(), f.getMessage());
+            }
+        }
+    }
+
+    private static TodoListDeletion toStatus(ListItemsDeletion deletion) {
+        final TodoListDeletion status = new TodoListDeletion();
+        status.setListId(deletion.getListId());
+        status.setDeletedItemCount(deletion.getDeletedItemCount());
+        status.setStartedDate(toDate(deletion.getStartedDate()));
+        status.setCompletedDate(toDate(deletion.getCompletedDate()));
+        // a deletion in progress whose run stopped updating it is done with, until the sweep starts another.
+        final boolean stopped =
+            deletion.getStatus() == StatusEnum.INPROGRESS &&
+            deletion.getUpdatedDate() != null &&
+            deletion.getUpdatedDate().isBefore(Instant.now().minus(LEASE));
+        status.setStatus(stopped ? StatusEnum.FAILED : deletion.getStatus());
+        return status;
+    }
+
+    private static OffsetDateTime toDate(Instant instant) {
+        return instant == null ? null : OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+}
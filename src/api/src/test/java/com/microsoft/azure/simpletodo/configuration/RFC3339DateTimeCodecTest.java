@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class RFC3339DateTimeCodecTest {
+
+    private static final OffsetDateTime DATE = OffsetDateTime.of(2026, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC);
+
+    @Test
+    void formatsInUtcWithTheDigitsOfFractionNeeded() {
+        assertThat(RFC3339DateTimeCodec.format(DATE)).isEqualTo("2026-01-02T03:04:05Z");
+        assertThat(RFC3339DateTimeCodec.format(DATE.withNano(120_000_000))).isEqualTo("2026-01-02T03:04:05.12Z");
+        assertThat(RFC3339DateTimeCodec.format(DATE.withNano(1))).isEqualTo("2026-01-02T03:04:05.000000001Z");
+        assertThat(RFC3339DateTimeCodec.format(DATE.withOffsetSameLocal(ZoneOffset.ofHours(2))))
+            .isEqualTo("2026-01-02T01:04:05Z");
+    }
+
+    @Test
+    void formatsTheYearsOutOfRfc3339LikeIso8601() {
+        assertThat(RFC3339DateTimeCodec.format(DATE.withYear(10000))).isEqualTo("+10000-01-02T03:04:05Z");
+        assertThat(RFC3339DateTimeCodec.format(DATE.withYear(-1))).isEqualTo("-0001-01-02T03:04:05Z");
+    }
+
+    @Test
+    void parsesInUtc() {
+        assertThat(RFC3339DateTimeCodec.parse("2026-01-02T03:04:05Z")).isEqualTo(DATE);
+        assertThat(RFC3339DateTimeCodec.parse("2026-01-02t03:04:05z")).isEqualTo(DATE);
+        assertThat(RFC3339DateTimeCodec.parse("2026-01-02T05:34:05+02:30")).isEqualTo(DATE);
+        assertThat(RFC3339DateTimeCodec.parse("2026-01-01T23:04:05-04:00")).isEqualTo(DATE);
+        assertThat(RFC3339DateTimeCodec.parse("2026-01-02T03:04:05.5Z")).isEqualTo(DATE.withNano(500_000_000));
+        assertThat(RFC3339DateTimeCodec.parse("2026-01-02T03:04:05.123456789Z")).isEqualTo(DATE.withNano(123_456_789));
+    }
+
+    @Test
+    void parsesTheOtherIso8601DatesWithAnOffset() {
+        assertThat(RFC3339DateTimeCodec.parse("2026-01-02T03:04Z")).isEqualTo(DATE.withSecond(0));
+        assertThat(RFC3339DateTimeCodec.parse("2026-01-02T05:04:05+02:00:00")).isEqualTo(DATE);
+    }
+
+    @Test
+    void rejectsInvalidDates() {
+        final List<String> invalid = List.of(
+            "2026-01-02",
+            "2026-01-02T03:04:05",
+            "2026-02-30T03:04:05Z",
+            "2026-01-02T24:04:05Z",
+            "2026-01-02T03:04:05.1234567890Z",
+            "2026-01-02T03:04:05+02:60",
+            "2026-O1-02T03:04:05Z"
+        );
+        for (String text : invalid) {
+            assertThatThrownBy(() -> RFC3339DateTimeCodec.parse(text)).as(text).isInstanceOf(DateTimeParseException.class);
+        }
+    }
+
+    @Test
+    void readsAndWritesLikeTheIso8601Formatter() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 10_000; i++) {
+            // from year 1 to 9999, at any nanosecond and any offset by quarter hour.
+            final Instant instant = Instant.ofEpochSecond(
+                random.nextLong(-62_135_596_800L, 253_402_300_799L),
+                random.nextInt(1_000_000_000)
+            );
+            final ZoneOffset offset = ZoneOffset.ofTotalSeconds(random.nextInt(-18 * 4, 18 * 4 + 1) * 900);
+            final OffsetDateTime value = OffsetDateTime.ofInstant(instant, offset);
+            final String iso = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value);
+
+            final OffsetDateTime utc = value.withOffsetSameInstant(ZoneOffset.UTC);
+            assertThat(RFC3339DateTimeCodec.parse(iso)).isEqualTo(utc);
+            assertThat(RFC3339DateTimeCodec.format(value)).isEqualTo(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(utc));
+        }
+    }
+
+    @Test
+    void convertsEpochMilliseconds() {
+        assertThat(RFC3339DateTimeCodec.toEpochMilli(DATE.withNano(123_456_789))).isEqualTo(1767323045123L);
+        assertThat(RFC3339DateTimeCodec.ofEpochMilli(1767323045123L)).isEqualTo(DATE.withNano(123_000_000));
+        // before the epoch, the milliseconds are still counted forward from the second.
+        final OffsetDateTime beforeEpoch = OffsetDateTime.of(1969, 12, 31, 23, 59, 59, 250_000_000, ZoneOffset.UTC);
+        assertThat(RFC3339DateTimeCodec.toEpochMilli(beforeEpoch)).isEqualTo(-750L);
+        assertThat(RFC3339DateTimeCodec.ofEpochMilli(-750L)).isEqualTo(beforeEpoch);
+    }
+}
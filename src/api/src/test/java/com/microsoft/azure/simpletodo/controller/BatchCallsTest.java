@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.model.BatchRequest;
+import com.microsoft.azure.simpletodo.model.BatchRequestItem;
+import com.microsoft.azure.simpletodo.model.BatchResponse;
+import com.microsoft.azure.simpletodo.model.BatchResponseItem;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+class BatchCallsTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final BatchCalls batchCalls = new BatchCalls(OBJECT_MAPPER, 3);
+
+    // the calls made, by id, and the responses the fake API gives, by id.
+    private final Map<String, BatchCalls.Call> calls = new ConcurrentHashMap<>();
+
+    private final Map<String, Mono<BatchResponseItem>> responses = new ConcurrentHashMap<>();
+
+    @Test
+    void respondsInTheOrderOfTheCallsWhileRunningThemAtOnce() {
+        final List<String> started = new CopyOnWriteArrayList<>();
+        final BatchResponse response = batchCalls
+            .execute(
+                batch(get("slow", "/lists/1"), get("fast", "/lists/2")),
+                call -> {
+                    started.add(call.getId());
+                    final Mono<BatchResponseItem> item = Mono.just(json(call, 200, "{}"));
+                    // the slow call is still running when the fast one starts.
+                    return call.getId().equals("slow") ? item.delayElement(Duration.ofMillis(100)) : item;
+                }
+            )
+            .block();
+
+        assertThat(response.getResponses()).extracting(BatchResponseItem::getId).containsExactly("slow", "fast");
+        assertThat(started).containsExactlyInAnyOrder("slow", "fast");
+    }
+
+    @Test
+    void replacesTheReferencesWithTheResponsesOfEarlierCalls() {
+        final String list = "{\"id\":\"a b\",\"tags\":[{\"n\":1}]}";
+        responses.put("list", Mono.just(json("list", 201, list, "ETag", "\"3\"")));
+        final Map<String, Object> body = new TreeMap<>();
+        body.put("count", "${list.body.tags.0.n}");
+        body.put("listId", "${list.body.id}");
+        body.put("name", "${list.status}!");
+
+        final BatchResponse response = execute(
+            post("list", "/lists", Map.of("name", "Groceries")),
+            new BatchRequestItem()
+                .id("item")
+                .method("put")
+                .url("/lists/${list.body.id}/items?n=${list.body.tags.0.n}")
+                .putHeadersItem("If-Match", "${list.headers.etag}")
+                .body(body)
+        );
+
+        assertThat(response.getResponses()).extracting(BatchResponseItem::getStatus).containsExactly(201, 200);
+        final BatchCalls.Call item = calls.get("item");
+        assertThat(item.getMethod()).isEqualTo(HttpMethod.PUT);
+        assertThat(item.getUri().getRawPath()).isEqualTo("/lists/a%20b/items");
+        assertThat(item.getUri().getRawQuery()).isEqualTo("n=1");
+        assertThat(item.getHeaders().getFirst(HttpHeaders.IF_MATCH)).isEqualTo("\"3\"");
+        assertThat(item.getHeaders().getAccept()).containsExactly(MediaType.APPLICATION_JSON);
+        assertThat(item.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(item.getHeaders().getContentLength()).isEqualTo(item.getBody().length);
+        // a string that is a single reference takes the JSON value, a number stays a number.
+        assertThat(new String(item.getBody(), StandardCharsets.UTF_8))
+            .isEqualTo("{\"count\":1,\"listId\":\"a b\",\"name\":\"201!\"}");
+    }
+
+    @Test
+    void makesADependencyOnceForAllTheCallsDependingOnIt() {
+        final AtomicInteger listCalls = new AtomicInteger();
+        final BatchResponseItem list = json("list", 201, "{\"id\":\"1\"}");
+        responses.put("list", Mono.just(list).doOnSubscribe(s -> listCalls.incrementAndGet()));
+
+        execute(
+            post("list", "/lists", Map.of("name", "Groceries")),
+            get("items", "/lists/${list.body.id}/items"),
+            get("stats", "/lists/1/stats").dependsOn(List.of("list"))
+        );
+
+        assertThat(listCalls).hasValue(1);
+        assertThat(calls).containsOnlyKeys("list", "items", "stats");
+    }
+
+    @Test
+    void skipsTheCallsWhoseDependencyFailed() {
+        responses.put("list", Mono.just(json("list", 404, "{}")));
+
+        final BatchResponse response = execute(
+            get("list", "/lists/1"),
+            get("items", "/lists/${list.body.id}/items"),
+            get("stats", "/lists/2/stats").dependsOn(List.of("items"))
+        );
+
+        assertThat(response.getResponses())
+            .extracting(BatchResponseItem::getStatus)
+            .containsExactly(404, HttpStatus.FAILED_DEPENDENCY.value(), HttpStatus.FAILED_DEPENDENCY.value());
+        assertThat(calls).containsOnlyKeys("list");
+    }
+
+    @Test
+    void rejectsACallWithAMissingReference() {
+        responses.put("list", Mono.just(json("list", 200, "{\"id\":\"1\"}")));
+
+        final BatchResponse response = execute(get("list", "/lists/1"), get("items", "/lists/${list.body.name}/items"));
+
+        final BatchResponseItem items = response.getResponses().get(1);
+        assertThat(items.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST.value());
+        assertThat(items.getBody()).asString().contains("${list.body.name}");
+        assertThat(calls).containsOnlyKeys("list");
+    }
+
+    @Test
+    void rejectsInvalidBatchesBeforeAnyCall() {
+        assertInvalid(new BatchRequest().requests(null));
+        assertInvalid(batch(get("a", "/lists"), get("b", "/lists"), get("c", "/lists"), get("d", "/lists")));
+        assertInvalid(batch(get("a", "/lists"), get("a", "/lists")));
+        assertInvalid(batch(get("a b", "/lists")));
+        assertInvalid(batch(get("a", "/lists/${b.body.id}"), get("b", "/lists")));
+        assertInvalid(batch(get("a", "/lists").dependsOn(List.of("a"))));
+        assertInvalid(batch(new BatchRequestItem().id("a").method("HEAD").url("/lists")));
+        assertInvalid(batch(new BatchRequestItem().id("a").url("/lists")));
+        assertInvalid(batch(get("a", "https://example.com/lists")));
+        assertInvalid(batch(get("a", "//example.com/lists")));
+        assertInvalid(batch(get("a", "/$batch")));
+        assertInvalid(batch(get("a", "/lists/1/items?stream=true")));
+        assertThat(calls).isEmpty();
+    }
+
+    @Test
+    void readsTheResponseBodyAsJsonOrAsText() {
+        final BatchCalls.Call call = batchCall("a");
+        final HttpHeaders text = new HttpHeaders();
+        text.setContentType(MediaType.TEXT_PLAIN);
+        text.setContentLength(2);
+
+        final BatchResponseItem json = json(call, 200, "{\"id\":\"1\"}");
+        final BatchResponseItem plain = batchCalls.response(call, 200, text, "ok".getBytes(StandardCharsets.UTF_8));
+        final BatchResponseItem empty = batchCalls.response(call, 204, new HttpHeaders(), new byte[0]);
+
+        assertThat(OBJECT_MAPPER.valueToTree(json.getBody()).get("id").asText()).isEqualTo("1");
+        assertThat(plain.getBody()).isEqualTo("ok");
+        // the calls are made in a single response, the length of each one is left out.
+        assertThat(plain.getHeaders()).containsOnlyKeys(HttpHeaders.CONTENT_TYPE);
+        assertThat(empty.getBody()).isNull();
+        assertThat(empty.getHeaders()).isNull();
+    }
+
+    private BatchResponse execute(BatchRequestItem... requests) {
+        return execute(batch(requests));
+    }
+
+    private BatchResponse execute(BatchRequest batch) {
+        return batchCalls
+            .execute(
+                batch,
+                call -> {
+                    calls.put(call.getId(), call);
+                    return responses.getOrDefault(call.getId(), Mono.just(json(call, 200, "{}")));
+                }
+            )
+            .block();
+    }
+
+    private void assertInvalid(BatchRequest batch) {
+        assertThatThrownBy(() -> execute(batch))
+            .isInstanceOfSatisfying(
+                ResponseStatusException.class,
+                e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST)
+            );
+    }
+
+    // a call made by a batch of a single GET, to build responses outside of a batch.
+    private BatchCalls.Call batchCall(String id) {
+        final List<BatchCalls.Call> made = new CopyOnWriteArrayList<>();
+        batchCalls
+            .execute(
+                batch(get(id, "/lists")),
+                call -> {
+                    made.add(call);
+                    return Mono.just(new BatchResponseItem().id(id).status(200));
+                }
+            )
+            .block();
+        return made.get(0);
+    }
+
+    private BatchResponseItem json(String id, int status, String body, String... headers) {
+        return json(batchCall(id), status, body, headers);
+    }
+
+    private BatchResponseItem json(BatchCalls.Call call, int status, String body, String... headers) {
+        final HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setContentType(MediaType.APPLICATION_JSON);
+        for (int i = 0; i < headers.length; i += 2) {
+            responseHeaders.set(headers[i], headers[i + 1]);
+        }
+        return batchCalls.response(call, status, responseHeaders, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static BatchRequest batch(BatchRequestItem... requests) {
+        return new BatchRequest().requests(List.of(requests));
+    }
+
+    private static BatchRequestItem get(String id, String url) {
+        return new BatchRequestItem().id(id).method("GET").url(url);
+    }
+
+    private static BatchRequestItem post(String id, String url, Object body) {
+        return new BatchRequestItem().id(id).method("POST").url(url).body(body);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class ContinuationTokenTest {
+
+    private static final String BY_DUE_DATE = "dueDate";
+
+    @Test
+    void startHasNoLastIdAndNoToken() {
+        final ContinuationToken start = ContinuationToken.start(ContinuationToken.BY_ID);
+
+        assertThat(start.getSortValue()).isEmpty();
+        assertThat(start.getLastId()).isNull();
+        assertThatThrownBy(start::encode).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void encodedTokenParsesBackToItself() {
+        final String lastId = new ObjectId().toHexString();
+        final ContinuationToken token = ContinuationToken.after(BY_DUE_DATE, "1767225600000", lastId).orElseThrow();
+
+        assertThat(ContinuationToken.parse(token.encode(), BY_DUE_DATE)).contains(token);
+        assertThat(token.getSort()).isEqualTo(BY_DUE_DATE);
+        assertThat(token.getSortValue()).isEqualTo("1767225600000");
+        assertThat(token.getLastId()).isEqualTo(lastId);
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        final ContinuationToken token = ContinuationToken
+            .after(BY_DUE_DATE, "?>?>", new ObjectId().toHexString())
+            .orElseThrow();
+
+        assertThat(token.encode()).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void tokenWithoutSortValueParsesBackToItself() {
+        final ContinuationToken token = ContinuationToken
+            .after(ContinuationToken.BY_ID, null, new ObjectId().toHexString())
+            .orElseThrow();
+
+        assertThat(token.getSortValue()).isEmpty();
+        assertThat(ContinuationToken.parse(token.encode(), ContinuationToken.BY_ID)).contains(token);
+    }
+
+    @Test
+    void stringIdsParseBackToThemselves() {
+        for (String id : List.of("abc", "a|b", "'quoted", "", "0123456789abcdef0123456")) {
+            final ContinuationToken token = ContinuationToken.after(ContinuationToken.BY_ID, null, id).orElseThrow();
+
+            assertThat(ContinuationToken.parse(token.encode(), ContinuationToken.BY_ID)).as(id).contains(token);
+        }
+    }
+
+    @Test
+    void tokenOfAnObjectIdIsItsHexString() {
+        final String lastId = new ObjectId().toHexString();
+
+        assertThat(ContinuationToken.after(ContinuationToken.BY_ID, null, lastId).orElseThrow().encode())
+            .isEqualTo(encode("id||" + lastId));
+    }
+
+    @Test
+    void itemsWithoutIdHaveNoPosition() {
+        assertThat(ContinuationToken.after(ContinuationToken.BY_ID, null, null)).isEmpty();
+    }
+
+    @Test
+    void rejectsTheTokensOfAnotherOrdering() {
+        final String token = ContinuationToken.after(BY_DUE_DATE, "0", new ObjectId().toHexString()).orElseThrow().encode();
+
+        assertThat(ContinuationToken.parse(token, ContinuationToken.BY_ID)).isEmpty();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        final String lastId = new ObjectId().toHexString();
+
+        assertThat(ContinuationToken.parse("not a token", ContinuationToken.BY_ID)).isEmpty();
+        assertThat(ContinuationToken.parse(encode("id|" + lastId), ContinuationToken.BY_ID)).isEmpty();
+        assertThat(ContinuationToken.parse(encode("id||" + lastId + "|"), ContinuationToken.BY_ID)).isEmpty();
+        assertThat(ContinuationToken.parse(encode("id||item1"), ContinuationToken.BY_ID)).isEmpty();
+        assertThat(ContinuationToken.parse(encode("id||" + lastId), ContinuationToken.BY_ID)).isPresent();
+        assertThat(ContinuationToken.parse(encode("id||'item1"), ContinuationToken.BY_ID)).isPresent();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class DateRangeTest {
+
+    private static final OffsetDateTime DUE = OffsetDateTime.of(2030, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC);
+
+    @Test
+    void firstPageStartsAtTheRangeWithoutId() {
+        final DateRange range = DateRange.of(DateRange.BY_DUE_DATE, DUE, null, null);
+
+        assertThat(range.getAfter()).isEqualTo(DUE);
+        assertThat(range.getAfterId()).isNull();
+    }
+
+    @Test
+    void pageEndingOnAStringIdContinuesAfterIt() {
+        final DateRange first = DateRange.of(DateRange.BY_DUE_DATE, null, null, null);
+        final List<TodoItem> page = List.of(item(new ObjectId().toHexString()), item("xyz"));
+
+        final String token = first.nextPage(page, BigDecimal.valueOf(2)).orElseThrow().encode();
+        final DateRange next = DateRange.of(DateRange.BY_DUE_DATE, null, null, token);
+
+        assertThat(next.getAfter()).isEqualTo(DUE);
+        assertThat(next.getAfterId()).isEqualTo("xyz");
+    }
+
+    private static TodoItem item(String id) {
+        final TodoItem item = new TodoItem();
+        item.setId(id);
+        item.setDueDate(DUE);
+        return item;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.configuration.JacksonConfiguration;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoState;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class ItemPatchTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = objectMapper();
+
+    @Test
+    void setsTheValuesOfThePatch() {
+        final ItemPatch patch = ItemPatch
+            .parse(Map.of("name", "Groceries", "state", "done", "dueDate", "2026-01-02T03:04:05Z"), OBJECT_MAPPER)
+            .orElseThrow();
+
+        final TodoItem values = patch.getValues();
+        assertThat(values.getName()).isEqualTo("Groceries");
+        assertThat(values.getState()).isEqualTo(TodoState.DONE);
+        assertThat(values.getDueDate()).isEqualTo(OffsetDateTime.of(2026, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC));
+        assertThat(values.getDescription()).isNull();
+        assertThat(patch.getProperties()).containsExactlyInAnyOrder("name", "state", "dueDate");
+    }
+
+    @Test
+    void removesThePropertiesSetToNull() {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("dueDate", null);
+        body.put("name", "Groceries");
+
+        final ItemPatch patch = ItemPatch.parse(body, OBJECT_MAPPER).orElseThrow();
+
+        assertThat(patch.getValues().getDueDate()).isNull();
+        assertThat(patch.getProperties()).containsExactlyInAnyOrder("dueDate", "name");
+    }
+
+    @Test
+    void emptyPatchLeavesTheItemAsItIs() {
+        assertThat(ItemPatch.parse(Map.of(), OBJECT_MAPPER).orElseThrow().getProperties()).isEmpty();
+    }
+
+    @Test
+    void rejectsRemovingARequiredProperty() {
+        final Map<String, Object> body = new HashMap<>();
+        body.put("description", null);
+
+        assertThat(ItemPatch.parse(body, OBJECT_MAPPER)).isEmpty();
+    }
+
+    @Test
+    void rejectsTheReadOnlyAndUnknownProperties() {
+        assertThat(ItemPatch.parse(Map.of("id", "item2"), OBJECT_MAPPER)).isEmpty();
+        assertThat(ItemPatch.parse(Map.of("listId", "list2"), OBJECT_MAPPER)).isEmpty();
+        assertThat(ItemPatch.parse(Map.of("version", 3), OBJECT_MAPPER)).isEmpty();
+        assertThat(ItemPatch.parse(Map.of("priority", "high"), OBJECT_MAPPER)).isEmpty();
+    }
+
+    @Test
+    void rejectsInvalidValues() {
+        assertThat(ItemPatch.parse(Map.of("state", "started"), OBJECT_MAPPER)).isEmpty();
+        assertThat(ItemPatch.parse(Map.of("dueDate", "tomorrow"), OBJECT_MAPPER)).isEmpty();
+        assertThat(ItemPatch.parse(Map.of("completedDate", Map.of("year", 2026)), OBJECT_MAPPER)).isEmpty();
+    }
+
+    @Test
+    void rejectsAMissingBody() {
+        assertThat(ItemPatch.parse(null, OBJECT_MAPPER)).isEmpty();
+    }
+
+    private static ObjectMapper objectMapper() {
+        final Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        JacksonConfiguration.rfc3339DateTime(builder);
+        return builder.build();
+    }
+}
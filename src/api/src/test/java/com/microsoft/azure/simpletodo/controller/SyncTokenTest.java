@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoItemChanges;
+import com.microsoft.azure.simpletodo.repository.DeletedTodoItem;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class SyncTokenTest {
+
+    private static final String LIST_ID = "list1";
+
+    @Test
+    void clientWithoutCopyGetsAllTheItemsButNoTombstones() {
+        final SyncToken position = SyncToken.parse(null, LIST_ID).resume(7L);
+
+        assertThat(position.isDeletions()).isFalse();
+        assertThat(position.getSince()).isNull();
+        assertThat(position.getUntil()).isEqualTo(7);
+        assertThat(position.getAfterSeq()).isNull();
+        assertThat(position.getAfterId()).isNull();
+    }
+
+    @Test
+    void listWhoseItemsWereNeverWrittenIsAtVersion0() {
+        assertThat(SyncToken.parse(null, LIST_ID).resume(null).getUntil()).isZero();
+    }
+
+    @Test
+    void completeTokenStartsFromTheTombstonesSinceItsVersion() {
+        final SyncToken position = parse(complete(7)).resume(9L);
+
+        assertThat(position.isDeletions()).isTrue();
+        assertThat(position.getSince()).isEqualTo(7);
+        assertThat(position.getUntil()).isEqualTo(9);
+    }
+
+    @Test
+    void fullPageOfTombstonesContinuesAfterTheLastOne() {
+        final SyncToken start = parse(complete(7)).resume(9L);
+
+        final SyncToken next = roundTrip(start.afterDeletions(List.of(deletion("d1", 8), deletion("d2", 9)), 2));
+
+        assertThat(next.isDeletions()).isTrue();
+        assertThat(next.getAfterSeq()).isEqualTo(9);
+        assertThat(next.getAfterId()).isEqualTo("d2");
+        // the version read when the sync started is kept, a new one would skip the writes in between.
+        assertThat(next.resume(12L).getUntil()).isEqualTo(9);
+    }
+
+    @Test
+    void lastPageOfTombstonesMovesOnToTheItems() {
+        final SyncToken next = parse(complete(7)).resume(9L).afterDeletions(List.of(deletion("d1", 8)), 2);
+
+        assertThat(next.isDeletions()).isFalse();
+        assertThat(next.getSince()).isEqualTo(7);
+        assertThat(next.getAfterSeq()).isNull();
+        assertThat(next.getAfterId()).isNull();
+    }
+
+    @Test
+    void fullPageOfItemsHasMore() {
+        final SyncToken position = SyncToken.parse(null, LIST_ID).resume(9L);
+        final List<TodoItem> items = List.of(item("a|b", 3L), item("c", null));
+
+        final TodoItemChanges changes = position.afterItems(items, 2).changes(List.of(), items);
+
+        assertThat(changes.getHasMore()).isTrue();
+        final SyncToken next = SyncToken.parse(changes.getSyncToken(), LIST_ID);
+        assertThat(next.getAfterSeq()).isNull();
+        assertThat(next.getAfterId()).isEqualTo("c");
+    }
+
+    @Test
+    void lastPageOfItemsCompletesTheSyncAtItsVersion() {
+        final List<DeletedTodoItem> deletions = List.of(deletion("d1", 8));
+        final List<TodoItem> items = List.of(item("a|b", 9L));
+
+        final TodoItemChanges changes = parse(complete(7)).resume(9L).afterItems(items, 2).changes(deletions, items);
+
+        assertThat(changes.getHasMore()).isFalse();
+        assertThat(changes.getDeletedItemIds()).containsExactly("item-d1");
+        assertThat(changes.getItems()).isEqualTo(items);
+        final SyncToken next = SyncToken.parse(changes.getSyncToken(), LIST_ID).resume(11L);
+        assertThat(next.getSince()).isEqualTo(9);
+        assertThat(next.getUntil()).isEqualTo(11);
+    }
+
+    @Test
+    void idOfTheLastItemMayContainTheSeparator() {
+        final SyncToken position = SyncToken.parse(null, LIST_ID).resume(9L);
+
+        assertThat(roundTrip(position.afterItems(List.of(item("a|b", 4L)), 1)).getAfterId()).isEqualTo("a|b");
+    }
+
+    @Test
+    void rejectsTheTokensOfOtherLists() {
+        final String token = complete(7);
+
+        assertStatus(() -> SyncToken.parse(token, "list2"), HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertStatus(() -> SyncToken.parse("not a token", LIST_ID), HttpStatus.BAD_REQUEST);
+        assertStatus(() -> SyncToken.parse(encode(listHash() + "|7|0|0|0|"), LIST_ID), HttpStatus.BAD_REQUEST);
+        assertStatus(() -> SyncToken.parse(encode(listHash() + "|7|0|9|0|other||"), LIST_ID), HttpStatus.BAD_REQUEST);
+        assertStatus(() -> SyncToken.parse(encode(listHash() + "|x|0|0|0|||"), LIST_ID), HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void rejectsTokensOlderThanTheTombstones() {
+        final long expired = System.currentTimeMillis() - DeletedTodoItem.RETENTION.toMillis() - 1000;
+
+        assertStatus(() -> SyncToken.parse(encode(listHash() + "|7|" + expired + "|0|0|||"), LIST_ID), HttpStatus.GONE);
+    }
+
+    private static String complete(long version) {
+        return SyncToken.parse(null, LIST_ID).resume(version).afterItems(List.of(), 1).encode();
+    }
+
+    private static SyncToken parse(String token) {
+        return SyncToken.parse(token, LIST_ID);
+    }
+
+    private static SyncToken roundTrip(SyncToken token) {
+        return SyncToken.parse(token.encode(), LIST_ID);
+    }
+
+    private static String listHash() {
+        return Integer.toHexString(LIST_ID.hashCode());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static DeletedTodoItem deletion(String id, long changeSeq) {
+        final DeletedTodoItem deletion = mock(DeletedTodoItem.class);
+        when(deletion.getId()).thenReturn(id);
+        when(deletion.getItemId()).thenReturn("item-" + id);
+        when(deletion.getChangeSeq()).thenReturn(changeSeq);
+        return deletion;
+    }
+
+    private static TodoItem item(String id, Long changeSeq) {
+        final TodoItem item = new TodoItem();
+        item.setId(id);
+        item.setChangeSeq(changeSeq);
+        return item;
+    }
+
+    private static void assertStatus(Runnable call, HttpStatus status) {
+        assertThatThrownBy(call::run)
+            .isInstanceOfSatisfying(ResponseStatusException.class, e -> assertThat(e.getStatusCode()).isEqualTo(status));
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.repository.ItemIds;
+import com.microsoft.azure.simpletodo.repository.TodoItemRepository;
+import com.microsoft.azure.simpletodo.repository.TodoListRepository;
+import com.microsoft.azure.simpletodo.service.TodoItemEventService;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+class TodoItemsControllerTest {
+
+    private static final String LIST_ID = "list1";
+
+    private TodoItemRepository todoItemRepository;
+
+    private TodoItemsController controller;
+
+    @BeforeEach
+    void setUp() {
+        todoItemRepository = mock(TodoItemRepository.class);
+        final TodoListRepository todoListRepository = mock(TodoListRepository.class);
+        final TodoList list = new TodoList();
+        list.setId(LIST_ID);
+        list.setItemsVersion(3L);
+        when(todoListRepository.findById(LIST_ID)).thenReturn(Optional.of(list));
+        controller =
+            new TodoItemsController(
+                todoItemRepository,
+                todoListRepository,
+                new ObjectMapper(),
+                10,
+                10,
+                mock(TodoItemEventService.class),
+                Duration.ofMinutes(1)
+            );
+    }
+
+    @Test
+    void listsAMixedIdListWithoutAToken() {
+        // the ids given by the clients are stored as strings, which sort before the ObjectIds.
+        final String objectId = new ObjectId().toHexString();
+        final List<TodoItem> items = List.of(item("abc"), item("xyz"), item(objectId));
+        when(todoItemRepository.findTodoItemsByTodoListAfter(eq(LIST_ID), eq(new Document()), eq(3), any()))
+            .thenReturn(items);
+
+        final ResponseEntity<List<TodoItem>> response = list(null, 3);
+
+        assertThat(response.getBody()).isEqualTo(items);
+        assertThat(next(response)).isEqualTo(objectId);
+        verify(todoItemRepository, never()).findTodoItemsByTodoList(any(), anyInt(), anyInt(), any());
+    }
+
+    @Test
+    void pagesPastAStringIdIntoTheObjectIds() {
+        final String objectId = new ObjectId().toHexString();
+        when(todoItemRepository.findTodoItemsByTodoListAfter(eq(LIST_ID), eq(new Document()), eq(2), any()))
+            .thenReturn(List.of(item("abc"), item("x|y")));
+        when(todoItemRepository.findTodoItemsByTodoListAfter(eq(LIST_ID), eq(ItemIds.after("x|y")), eq(2), any()))
+            .thenReturn(List.of(item(objectId)));
+
+        final ResponseEntity<List<TodoItem>> first = list(null, 2);
+        final ResponseEntity<List<TodoItem>> second = list(first.getHeaders().getFirst(ContinuationToken.HEADER), 2);
+
+        assertThat(next(first)).isEqualTo("x|y");
+        assertThat(second.getBody()).extracting(TodoItem::getId).containsExactly(objectId);
+        assertThat(second.getHeaders().containsKey(ContinuationToken.HEADER)).isFalse();
+    }
+
+    private ResponseEntity<List<TodoItem>> list(String continuationToken, int top) {
+        return controller.getItemsByListId(
+            LIST_ID,
+            BigDecimal.valueOf(top),
+            BigDecimal.ZERO,
+            continuationToken,
+            null,
+            null
+        );
+    }
+
+    private static String next(ResponseEntity<List<TodoItem>> response) {
+        return ContinuationToken
+            .parse(response.getHeaders().getFirst(ContinuationToken.HEADER), ContinuationToken.BY_ID)
+            .orElseThrow()
+            .getLastId();
+    }
+
+    private static TodoItem item(String id) {
+        final TodoItem item = new TodoItem();
+        item.setId(id);
+        item.setListId(LIST_ID);
+        return item;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+class ItemChangesTest {
+
+    @Test
+    void pendingChangesAreNegativeAndDistinct() {
+        final Set<Long> changes = IntStream
+            .range(0, 1000)
+            .mapToObj(i -> ItemChanges.pending())
+            .collect(Collectors.toSet());
+
+        assertThat(changes).hasSize(1000).allMatch(change -> change < 0);
+    }
+
+    @Test
+    void pendingQueryMatchesTheDocumentsOfTheChange() {
+        assertThat(ItemChanges.pendingQuery("list1", -5).getQueryObject())
+            .isEqualTo(new Document("listId", "list1").append("changeSeq", -5L));
+        assertThat(ItemChanges.pendingQuery("list1", -5, List.of("item1")).getQueryObject())
+            .isEqualTo(
+                new Document("listId", "list1")
+                    .append("changeSeq", -5L)
+                    .append("id", new Document("$in", List.of("item1")))
+            );
+    }
+
+    @Test
+    void pendingChangesQueryReadsTheOldestWritesFirst() {
+        final Query query = ItemChanges.pendingChangesQuery(10);
+
+        assertThat(query.getQueryObject()).isEqualTo(new Document("changeSeq", new Document("$lt", 0)));
+        assertThat(query.getSortObject()).isEqualTo(new Document("changeSeq", 1).append("id", 1));
+        assertThat(query.getFieldsObject()).isEqualTo(new Document("listId", 1).append("changeSeq", 1));
+        assertThat(query.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void fullSyncReadsTheDocumentsWithoutChangeFirst() {
+        final Query query = ItemChanges.changesQuery("list1", null, 7, null, null, 50);
+
+        assertThat(query.getQueryObject())
+            .isEqualTo(
+                and(
+                    new Document("listId", "list1"),
+                    or(new Document("changeSeq", null), new Document("changeSeq", new Document("$lte", 7L)))
+                )
+            );
+        assertThat(query.getSortObject()).isEqualTo(new Document("changeSeq", 1).append("id", 1));
+        assertThat(query.getLimit()).isEqualTo(50);
+    }
+
+    @Test
+    void deltaSyncReadsThePendingDocumentsAndTheOnesChangedSince() {
+        final Query query = ItemChanges.changesQuery("list1", 3L, 7, null, null, 50);
+
+        assertThat(query.getQueryObject())
+            .isEqualTo(
+                and(
+                    new Document("listId", "list1"),
+                    or(
+                        new Document("changeSeq", new Document("$lt", 0)),
+                        new Document("changeSeq", new Document("$gt", 3L).append("$lte", 7L))
+                    )
+                )
+            );
+    }
+
+    @Test
+    void nextPageStartsAfterTheLastDocument() {
+        final ObjectId afterId = new ObjectId();
+
+        final Query query = ItemChanges.changesQuery("list1", 3L, 7, 5L, afterId.toHexString(), 50);
+
+        assertThat(query.getQueryObject().getList("$and", Document.class))
+            .last()
+            .isEqualTo(
+                or(
+                    new Document("changeSeq", new Document("$gt", 5L)),
+                    and(new Document("changeSeq", 5L), new Document("id", new Document("$gt", afterId)))
+                )
+            );
+    }
+
+    @Test
+    void nextPageOfTheDocumentsWithoutChangeMovesOnToTheOthers() {
+        final Query query = ItemChanges.changesQuery("list1", null, 7, null, "item1", 50);
+
+        final Document position = query.getQueryObject().getList("$and", Document.class).get(2);
+        assertThat(position.getList("$or", Document.class).get(0))
+            .isEqualTo(new Document("changeSeq", new Document("$ne", null)));
+        // an id that isn't an ObjectId is a string, which sorts before the ObjectIds.
+        final Document idAfter = position.getList("$or", Document.class).get(1).getList("$and", Document.class).get(1);
+        assertThat(idAfter.getList("$or", Document.class)).hasSize(2).first().isEqualTo(gt("id", "item1"));
+    }
+
+    @Test
+    void pendingDocumentsAreEqualWithTheSameChange() {
+        final ItemChanges.Pending item = new ItemChanges.Pending(false, "list1", "item1", -5);
+
+        assertThat(item).isEqualTo(new ItemChanges.Pending(false, "list1", "item1", -5));
+        assertThat(item).hasSameHashCodeAs(new ItemChanges.Pending(false, "list1", "item1", -5));
+        assertThat(item).isNotEqualTo(new ItemChanges.Pending(false, "list1", "item1", -6));
+        assertThat(item).isNotEqualTo(new ItemChanges.Pending(true, "list1", "item1", -5));
+    }
+
+    private static Document and(Document... criteria) {
+        return new Document("$and", List.of(criteria));
+    }
+
+    private static Document or(Document... criteria) {
+        return new Document("$or", List.of(criteria));
+    }
+
+    private static Document gt(String field, Object value) {
+        return new Document(field, new Document("$gt", value));
+    }
+}
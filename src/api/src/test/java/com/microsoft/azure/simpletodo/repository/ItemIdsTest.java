@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+class ItemIdsTest {
+
+    @Test
+    void firstPageHasNoIdFilter() {
+        assertThat(ItemIds.after(null)).isEmpty();
+    }
+
+    @Test
+    void objectIdIsFollowedByTheGreaterObjectIds() {
+        final ObjectId id = new ObjectId();
+
+        assertThat(ItemIds.after(id.toHexString())).isEqualTo(new Document("_id", new Document("$gt", id)));
+    }
+
+    @Test
+    void stringIdIsFollowedByTheGreaterStringsAndEveryObjectId() {
+        assertThat(ItemIds.after("abc"))
+            .isEqualTo(
+                new Document(
+                    "$or",
+                    List.of(
+                        new Document("_id", new Document("$gt", "abc")),
+                        new Document("_id", new Document("$type", "objectId"))
+                    )
+                )
+            );
+    }
+
+    @Test
+    void criteriaAreTheSameSeek() {
+        final String id = new ObjectId().toHexString();
+
+        assertThat(ItemIds.criteriaAfter(id).getCriteriaObject())
+            .isEqualTo(new Document("id", new Document("$gt", new ObjectId(id))));
+        assertThat(ItemIds.criteriaAfter("abc").getCriteriaObject().getList("$or", Document.class))
+            .extracting(d -> d.get("id", Document.class).keySet().iterator().next())
+            .containsExactly("$gt", "$type");
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.microsoft.azure.simpletodo.configuration.CacheConfiguration;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import java.util.List;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.mock.env.MockEnvironment;
+
+class TodoItemRepositoryCustomImplTest {
+
+    private MongoTemplate mongoTemplate;
+
+    private TodoItemRepositoryCustomImpl repository;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        repository =
+            new TodoItemRepositoryCustomImpl(
+                mongoTemplate,
+                new ConcurrentMapCacheManager(CacheConfiguration.TODO_LISTS, CacheConfiguration.TODO_ITEMS),
+                new MockEnvironment(),
+                1
+            );
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.destroy();
+    }
+
+    @Test
+    void finishesThePendingChangesWithANewVersion() {
+        final TodoList list = new TodoList();
+        list.setId("list1");
+        list.setItemsVersion(42L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(), any(FindAndModifyOptions.class), eq(TodoList.class)))
+            .thenReturn(list);
+
+        repository.finishPendingChanges(
+            "list1",
+            List.of(
+                new ItemChanges.Pending(false, "list1", "item1", -5),
+                new ItemChanges.Pending(false, "list1", "item2", -5),
+                new ItemChanges.Pending(true, "list1", "deleted1", -7)
+            )
+        );
+
+        final ArgumentCaptor<Query> items = ArgumentCaptor.forClass(Query.class);
+        final ArgumentCaptor<UpdateDefinition> itemUpdate = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).updateMulti(items.capture(), itemUpdate.capture(), eq(TodoItem.class));
+        assertThat(items.getValue().getQueryObject())
+            .isEqualTo(
+                new Document("listId", "list1")
+                    .append(ItemChanges.CHANGE_SEQ, -5L)
+                    .append("id", new Document("$in", List.of("item1", "item2")))
+            );
+        assertThat(itemUpdate.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry(ItemChanges.CHANGE_SEQ, 42L);
+
+        final ArgumentCaptor<Query> deletions = ArgumentCaptor.forClass(Query.class);
+        final ArgumentCaptor<UpdateDefinition> deletionUpdate = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).updateMulti(deletions.capture(), deletionUpdate.capture(), eq(DeletedTodoItem.class));
+        assertThat(deletions.getValue().getQueryObject())
+            .isEqualTo(
+                new Document("listId", "list1")
+                    .append(ItemChanges.CHANGE_SEQ, -7L)
+                    .append("id", new Document("$in", List.of("deleted1")))
+            );
+        assertThat(deletionUpdate.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry(ItemChanges.CHANGE_SEQ, 42L);
+    }
+
+    @Test
+    void stampsTheWrittenItemsOffTheRequestPath() {
+        final TodoList list = new TodoList();
+        list.setId("list1");
+        list.setItemsVersion(42L);
+        when(mongoTemplate.findAndModify(any(Query.class), any(), any(FindAndModifyOptions.class), eq(TodoList.class)))
+            .thenReturn(list);
+
+        repository.markItemsChanged("list1", -5);
+
+        final ArgumentCaptor<Query> items = ArgumentCaptor.forClass(Query.class);
+        final ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate, timeout(1000)).updateMulti(items.capture(), update.capture(), eq(TodoItem.class));
+        assertThat(items.getValue().getQueryObject())
+            .isEqualTo(new Document("listId", "list1").append(ItemChanges.CHANGE_SEQ, -5L));
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry(ItemChanges.CHANGE_SEQ, 42L);
+    }
+
+    @Test
+    void stopsTheChangesOfADeletedListBeingPending() {
+        repository.finishPendingChanges("list1", List.of(new ItemChanges.Pending(false, "list1", "item1", -5)));
+
+        final ArgumentCaptor<UpdateDefinition> update = ArgumentCaptor.forClass(UpdateDefinition.class);
+        verify(mongoTemplate).updateMulti(any(Query.class), update.capture(), eq(TodoItem.class));
+        assertThat(update.getValue().getUpdateObject().get("$set", Document.class))
+            .containsEntry(ItemChanges.CHANGE_SEQ, 0L);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.microsoft.azure.simpletodo.repository.ItemChanges;
+import com.microsoft.azure.simpletodo.repository.TodoItemRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+class ItemChangesRepairServiceTest {
+
+    private static final ItemChanges.Pending ITEM = new ItemChanges.Pending(false, "list1", "item1", -5);
+
+    private static final ItemChanges.Pending DELETION = new ItemChanges.Pending(true, "list1", "deleted1", -7);
+
+    private static final ItemChanges.Pending OTHER_LIST_ITEM = new ItemChanges.Pending(false, "list2", "item2", -9);
+
+    private TodoItemRepository todoItemRepository;
+
+    private ItemChangesRepairService service;
+
+    @BeforeEach
+    void setUp() {
+        todoItemRepository = mock(TodoItemRepository.class);
+        service = new ItemChangesRepairService(todoItemRepository);
+    }
+
+    @Test
+    void leavesTheChangesFoundOnceToTheirWrites() {
+        when(todoItemRepository.findPendingChanges(anyInt())).thenReturn(List.of(ITEM, DELETION));
+
+        assertThat(service.sweepPendingChanges()).isZero();
+        verify(todoItemRepository, never()).finishPendingChanges(anyString(), any());
+    }
+
+    @Test
+    void finishesTheChangesFoundTwiceByList() {
+        when(todoItemRepository.findPendingChanges(anyInt()))
+            .thenReturn(List.of(ITEM, DELETION, OTHER_LIST_ITEM))
+            .thenReturn(List.of(ITEM, DELETION, OTHER_LIST_ITEM));
+
+        service.sweepPendingChanges();
+
+        assertThat(service.sweepPendingChanges()).isEqualTo(2);
+        verify(todoItemRepository).finishPendingChanges("list1", List.of(ITEM, DELETION));
+        verify(todoItemRepository).finishPendingChanges("list2", List.of(OTHER_LIST_ITEM));
+    }
+
+    @Test
+    void leavesADocumentWrittenAgainToItsNewWrite() {
+        final ItemChanges.Pending rewritten = new ItemChanges.Pending(false, "list1", "item1", -6);
+        when(todoItemRepository.findPendingChanges(anyInt())).thenReturn(List.of(ITEM)).thenReturn(List.of(rewritten));
+
+        service.sweepPendingChanges();
+
+        assertThat(service.sweepPendingChanges()).isZero();
+        verify(todoItemRepository, never()).finishPendingChanges(anyString(), any());
+    }
+
+    @Test
+    void retriesTheChangesThatFailedToFinish() {
+        when(todoItemRepository.findPendingChanges(anyInt()))
+            .thenReturn(List.of(ITEM, OTHER_LIST_ITEM))
+            .thenReturn(List.of(ITEM, OTHER_LIST_ITEM))
+            .thenReturn(List.of(ITEM));
+        doThrow(new DataAccessResourceFailureException("timeout"))
+            .doNothing()
+            .when(todoItemRepository)
+            .finishPendingChanges(eq("list1"), any());
+
+        service.sweepPendingChanges();
+
+        assertThat(service.sweepPendingChanges()).isEqualTo(1);
+        verify(todoItemRepository).finishPendingChanges("list2", List.of(OTHER_LIST_ITEM));
+        assertThat(service.sweepPendingChanges()).isEqualTo(1);
+    }
+}
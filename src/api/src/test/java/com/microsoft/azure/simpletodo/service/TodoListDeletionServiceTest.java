@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.model.TodoListDeletion;
+import com.microsoft.azure.simpletodo.model.TodoListDeletion.StatusEnum;
+import com.microsoft.azure.simpletodo.repository.ListItemsDeletion;
+import com.microsoft.azure.simpletodo.repository.TodoItemRepository;
+import com.microsoft.azure.simpletodo.repository.TodoListRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TodoListDeletionServiceTest {
+
+    private TodoListRepository todoListRepository;
+
+    private TodoItemRepository todoItemRepository;
+
+    private TodoListDeletionService service;
+
+    @BeforeEach
+    void setUp() {
+        todoListRepository = mock(TodoListRepository.class);
+        todoItemRepository = mock(TodoItemRepository.class);
+        service = new TodoListDeletionService(todoListRepository, todoItemRepository, Runnable::run, 10);
+    }
+
+    @Test
+    void deletesTheItemsInBatchesAndRecordsThem() {
+        final ListItemsDeletion deletion = deletion(StatusEnum.INPROGRESS, Instant.now());
+        when(todoListRepository.startItemsDeletion(eq("list1"), any())).thenReturn(Optional.of(deletion));
+        when(todoItemRepository.deleteItemsByListId("list1", 10)).thenReturn(10L, 3L, 0L);
+        when(todoListRepository.recordItemsDeleted(eq(deletion), anyLong())).thenReturn(true);
+
+        service.deleteItemsOf("list1");
+
+        verify(todoListRepository).recordItemsDeleted(deletion, 10);
+        verify(todoListRepository).recordItemsDeleted(deletion, 3);
+        verify(todoListRepository).finishItemsDeletion(deletion, StatusEnum.COMPLETED);
+    }
+
+    @Test
+    void stopsARunTakenOverByAnotherInstance() {
+        final ListItemsDeletion deletion = deletion(StatusEnum.INPROGRESS, Instant.now());
+        when(todoListRepository.startItemsDeletion(eq("list1"), any())).thenReturn(Optional.of(deletion));
+        when(todoItemRepository.deleteItemsByListId("list1", 10)).thenReturn(10L);
+        when(todoListRepository.recordItemsDeleted(deletion, 10)).thenReturn(false);
+
+        service.deleteItemsOf("list1");
+
+        verify(todoItemRepository, times(1)).deleteItemsByListId("list1", 10);
+        verify(todoListRepository, never()).finishItemsDeletion(any(), any());
+    }
+
+    @Test
+    void reportsTheDeletionInProgressOfAnotherInstance() {
+        final ListItemsDeletion inProgress = deletion(StatusEnum.INPROGRESS, Instant.now());
+        when(todoListRepository.startItemsDeletion(eq("list1"), any())).thenReturn(Optional.empty());
+        when(todoListRepository.findItemsDeletion("list1")).thenReturn(Optional.of(inProgress));
+
+        final TodoListDeletion status = service.deleteItemsOf("list1");
+
+        assertThat(status.getStatus()).isEqualTo(StatusEnum.INPROGRESS);
+        assertThat(status.getDeletedItemCount()).isEqualTo(7L);
+        verify(todoItemRepository, never()).deleteItemsByListId(any(), anyInt());
+    }
+
+    @Test
+    void reportsADeletionWhoseRunStoppedAsFailed() {
+        final ListItemsDeletion stopped = deletion(StatusEnum.INPROGRESS, Instant.now().minus(Duration.ofHours(1)));
+        when(todoListRepository.findItemsDeletion("list1")).thenReturn(Optional.of(stopped));
+
+        assertThat(service.getDeletion("list1")).map(TodoListDeletion::getStatus).contains(StatusEnum.FAILED);
+    }
+
+    @Test
+    void sweepsTheListsThatNoLongerExist() {
+        final ListItemsDeletion deletion = deletion(StatusEnum.INPROGRESS, Instant.now());
+        final TodoList existing = new TodoList();
+        existing.setId("list1");
+        when(todoItemRepository.streamListIds()).thenReturn(Stream.of("list1", "list2"));
+        when(todoListRepository.findTodoListsByIdIn(List.of("list1", "list2"))).thenReturn(List.of(existing));
+        when(todoListRepository.startItemsDeletion(eq("list2"), any())).thenReturn(Optional.of(deletion));
+
+        assertThat(service.sweepOrphanedItems()).isEqualTo(1);
+        verify(todoListRepository, never()).startItemsDeletion(eq("list1"), any());
+    }
+
+    private static ListItemsDeletion deletion(StatusEnum status, Instant updatedDate) {
+        final ListItemsDeletion deletion = mock(ListItemsDeletion.class);
+        when(deletion.getListId()).thenReturn("list1");
+        when(deletion.getStatus()).thenReturn(status);
+        when(deletion.getDeletedItemCount()).thenReturn(7L);
+        when(deletion.getStartedDate()).thenReturn(updatedDate);
+        when(deletion.getUpdatedDate()).thenReturn(updatedDate);
+        return deletion;
+    }
+}
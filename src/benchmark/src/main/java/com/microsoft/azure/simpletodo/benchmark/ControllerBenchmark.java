@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.benchmark;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.controller.ContinuationToken;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+/**
+ * Requests served by the controllers, from the dispatcher servlet to the database and back.
+ * <p>
+ * The application runs with its own configuration against mongo-java-server, an in-memory stand-in
+ * for MongoDB, so the numbers cover the work done by the application and its libraries rather than
+ * the network and the database. Requests are sent through MockMvc, without going through Tomcat.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ControllerBenchmark {
+
+    // `spring.cache.type` of the application, lookups of lists and items are served from the cache
+    // with `caffeine`.
+    @Param({ "caffeine", "none" })
+    public String cache;
+
+    // number of items of the list the requests are sent to. The in-memory database serves most queries
+    // by scanning the collection, with a much larger list it would be most of what gets measured.
+    @Param({ "100" })
+    public int itemCount;
+
+    private LocalApplication application;
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    private ObjectMapper objectMapper;
+
+    private String listId;
+
+    private String itemId;
+
+    private byte[] updatedItemJson;
+
+    private byte[] newItemJson;
+
+    private String secondPageToken;
+
+    @Setup
+    public void setUp() throws Exception {
+        application = LocalApplication.start(null, "--spring.cache.type=" + cache);
+        context = application.context();
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        final MongoTemplate mongoTemplate = context.getBean(MongoTemplate.class);
+        final TodoList list = mongoTemplate.insert(Fixtures.list());
+        listId = list.getId();
+        final List<TodoItem> items = Fixtures.items(listId, itemCount, true);
+        mongoTemplate.insertAll(items);
+        itemId = items.get(itemCount / 2).getId();
+
+        final TodoItem updatedItem = Fixtures.item(listId, itemCount / 2, true);
+        updatedItem.setDescription("Updated description");
+        updatedItemJson = objectMapper.writeValueAsBytes(updatedItem);
+        newItemJson = objectMapper.writeValueAsBytes(Fixtures.item(listId, itemCount, false));
+        secondPageToken =
+            send(get("/lists/{listId}/items", listId).param("top", "20"), HttpStatus.OK)
+                .getHeader(ContinuationToken.HEADER);
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    @Benchmark
+    public byte[] getLists() throws Exception {
+        return send(get("/lists").param("top", "20"), HttpStatus.OK).getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getListById() throws Exception {
+        return send(get("/lists/{listId}", listId), HttpStatus.OK).getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getItemById() throws Exception {
+        return send(get("/lists/{listId}/items/{itemId}", listId, itemId), HttpStatus.OK).getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getItemsFirstPage() throws Exception {
+        return send(get("/lists/{listId}/items", listId).param("top", "20"), HttpStatus.OK).getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getItemsNextPage() throws Exception {
+        return send(
+            get("/lists/{listId}/items", listId).param("top", "20").param("continuationToken", secondPageToken),
+            HttpStatus.OK
+        )
+            .getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] getItemsByState() throws Exception {
+        return send(get("/lists/{listId}/items/state/{state}", listId, "inprogress").param("top", "20"), HttpStatus.OK)
+            .getContentAsByteArray();
+    }
+
+    @Benchmark
+    public byte[] updateItem() throws Exception {
+        return send(
+            put("/lists/{listId}/items/{itemId}", listId, itemId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(updatedItemJson),
+            HttpStatus.OK
+        )
+            .getContentAsByteArray();
+    }
+
+    // the item is deleted right away so the list keeps the same size through the run.
+    @Benchmark
+    public int createAndDeleteItem() throws Exception {
+        final MockHttpServletResponse created = send(
+            post("/lists/{listId}/items", listId).contentType(MediaType.APPLICATION_JSON).content(newItemJson),
+            HttpStatus.CREATED
+        );
+        final URI location = URI.create(created.getHeader(HttpHeaders.LOCATION));
+        return send(delete(location.getPath()), HttpStatus.NO_CONTENT).getStatus();
+    }
+
+    // a benchmark answering with another status would measure the wrong path.
+    private MockHttpServletResponse send(MockHttpServletRequestBuilder request, HttpStatus expectedStatus)
+        throws Exception {
+        final MvcResult result = mockMvc.perform(request.accept(MediaType.APPLICATION_JSON)).andReturn();
+        final MockHttpServletResponse response = result.getResponse();
+        if (response.getStatus() != expectedStatus.value()) {
+            throw new IllegalStateException(
+                result.getRequest().getMethod() +
+                " " +
+                result.getRequest().getRequestURI() +
+                " answered " +
+                response.getStatus() +
+                " instead of " +
+                expectedStatus.value()
+            );
+        }
+        return response;
+    }
+}
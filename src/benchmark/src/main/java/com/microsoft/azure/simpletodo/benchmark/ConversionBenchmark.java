@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.benchmark;
+
+import com.microsoft.azure.simpletodo.configuration.MongoDBConfiguration;
+import com.microsoft.azure.simpletodo.configuration.RFC3339DateTimeCodec;
+import com.microsoft.azure.simpletodo.configuration.StringToTodoStateConverter;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoState;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+/**
+ * The conversions applied to every date and state going through the API: the RFC 3339 dates of
+ * {@link RFC3339DateTimeCodec}, the `OffsetDateTime` converters of {@link MongoDBConfiguration}, alone
+ * and as part of the mapping of a whole item, and the parsing of the `state` path variables.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ConversionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class DateTextState {
+
+        private OffsetDateTime date;
+
+        private String text;
+
+        @Setup
+        public void setUp() {
+            date = Fixtures.COMPLETED_DATE;
+            text = RFC3339DateTimeCodec.format(date);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class MongoState {
+
+        private GenericConversionService conversionService;
+
+        private MappingMongoConverter mongoConverter;
+
+        private OffsetDateTime offsetDateTime;
+
+        private Date date;
+
+        private TodoItem item;
+
+        private Document document;
+
+        @Setup
+        public void setUp() {
+            final MongoCustomConversions conversions = new MongoDBConfiguration().mongoCustomConversions();
+            // the converters are looked up the way the mapping converter does it, through a conversion service.
+            conversionService = new GenericConversionService();
+            conversions.registerConvertersIn(conversionService);
+
+            final MongoMappingContext mappingContext = new MongoMappingContext();
+            mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+            mappingContext.afterPropertiesSet();
+            mongoConverter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+            mongoConverter.setCustomConversions(conversions);
+            mongoConverter.afterPropertiesSet();
+
+            offsetDateTime = Fixtures.COMPLETED_DATE;
+            date = Date.from(offsetDateTime.toInstant());
+            item = Fixtures.item(Fixtures.list().getId(), 2, true);
+            document = new Document();
+            mongoConverter.write(item, document);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class TodoStateState {
+
+        // as found in the path of the requests, the parsing ignores the case.
+        @Param({ "todo", "inprogress", "DONE" })
+        public String value;
+
+        private StringToTodoStateConverter converter;
+
+        @Setup
+        public void setUp() {
+            converter = new StringToTodoStateConverter();
+        }
+    }
+
+    @Benchmark
+    public String formatDate(DateTextState state) {
+        return RFC3339DateTimeCodec.format(state.date);
+    }
+
+    @Benchmark
+    public OffsetDateTime parseDate(DateTextState state) {
+        return RFC3339DateTimeCodec.parse(state.text);
+    }
+
+    @Benchmark
+    public Date writeOffsetDateTime(MongoState state) {
+        return state.conversionService.convert(state.offsetDateTime, Date.class);
+    }
+
+    @Benchmark
+    public OffsetDateTime readOffsetDateTime(MongoState state) {
+        return state.conversionService.convert(state.date, OffsetDateTime.class);
+    }
+
+    @Benchmark
+    public Document writeItem(MongoState state) {
+        final Document document = new Document();
+        state.mongoConverter.write(state.item, document);
+        return document;
+    }
+
+    @Benchmark
+    public TodoItem readItem(MongoState state) {
+        return state.mongoConverter.read(TodoItem.class, state.document);
+    }
+
+    @Benchmark
+    public TodoState todoStateFromValue(TodoStateState state) {
+        return TodoState.fromValue(state.value);
+    }
+
+    @Benchmark
+    public TodoState convertTodoState(TodoStateState state) {
+        return state.converter.convert(state.value);
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.benchmark;
+
+import com.microsoft.azure.simpletodo.configuration.RFC3339DateTimeCodec;
+import java.text.DateFormat;
+import java.text.ParsePosition;
+import java.time.OffsetDateTime;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The dates formatted and parsed by concurrent requests, with {@link RFC3339DateTimeCodec} and with the
+ * {@link RFC3339DateFormat} it replaced, whose single instance the threads shared.
+ * <p>
+ * The threads format and parse different dates at the same time, and check every result against the one
+ * computed by a single thread beforehand: `wrongResults` counts the dates that came out wrong, or failed,
+ * next to the throughput. Use `-t` to change the number of threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+public class DateCodecBenchmark {
+
+    private static final int DATES = 64;
+
+    @State(Scope.Benchmark)
+    public static class Dates {
+
+        // one instance for all the threads, like the object mapper of the API did.
+        private DateFormat dateFormat;
+
+        private OffsetDateTime[] dates;
+
+        private String[] texts;
+
+        private Date[] legacyDates;
+
+        private String[] legacyTexts;
+
+        @Setup
+        public void setUp() {
+            dateFormat = new RFC3339DateFormat();
+            dates = new OffsetDateTime[DATES];
+            texts = new String[DATES];
+            legacyDates = new Date[DATES];
+            legacyTexts = new String[DATES];
+            for (int n = 0; n < DATES; n++) {
+                // different days, times and milliseconds, which BSON dates keep.
+                dates[n] = Fixtures.COMPLETED_DATE.plusSeconds(n * 86_413L).plusNanos(n * 7_000_000L);
+                texts[n] = RFC3339DateTimeCodec.format(dates[n]);
+                legacyDates[n] = Date.from(dates[n].toInstant());
+                legacyTexts[n] = dateFormat.format(legacyDates[n]);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Results {
+
+        public long wrongResults;
+
+        private int next;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            wrongResults = 0;
+            // the threads start at different dates.
+            next = ThreadLocalRandom.current().nextInt(DATES);
+        }
+
+        int next() {
+            next = (next + 1) % DATES;
+            return next;
+        }
+
+        void check(Object expected, Object actual) {
+            if (!expected.equals(actual)) {
+                wrongResults++;
+            }
+        }
+    }
+
+    @Benchmark
+    public String format(Dates dates, Results results) {
+        final int n = results.next();
+        final String text = RFC3339DateTimeCodec.format(dates.dates[n]);
+        results.check(dates.texts[n], text);
+        return text;
+    }
+
+    @Benchmark
+    public OffsetDateTime parse(Dates dates, Results results) {
+        final int n = results.next();
+        final OffsetDateTime date = RFC3339DateTimeCodec.parse(dates.texts[n]);
+        results.check(dates.dates[n], date);
+        return date;
+    }
+
+    @Benchmark
+    public String legacyFormat(Dates dates, Results results) {
+        final int n = results.next();
+        try {
+            final String text = dates.dateFormat.format(dates.legacyDates[n]);
+            results.check(dates.legacyTexts[n], text);
+            return text;
+        } catch (RuntimeException e) {
+            results.wrongResults++;
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Date legacyParse(Dates dates, Results results) {
+        final int n = results.next();
+        try {
+            // the method implemented by the format, `parse(String)` fails as the position is not updated.
+            final Date date = dates.dateFormat.parse(dates.legacyTexts[n], new ParsePosition(0));
+            results.check(dates.legacyDates[n], date);
+            return date;
+        } catch (RuntimeException e) {
+            results.wrongResults++;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.microsoft.azure.simpletodo.configuration.JacksonConfiguration;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.model.TodoState;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.bson.types.ObjectId;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Sample data shared by the benchmarks. Everything is derived from fixed values so every run works
+ * on the same documents.
+ */
+final class Fixtures {
+
+    static final OffsetDateTime DUE_DATE = OffsetDateTime.of(2024, 6, 30, 17, 0, 0, 0, ZoneOffset.UTC);
+
+    static final OffsetDateTime COMPLETED_DATE = OffsetDateTime.of(2024, 6, 28, 9, 41, 23, 512_000_000, ZoneOffset.UTC);
+
+    private Fixtures() {}
+
+    /**
+     * @return an object mapper configured like the one of the application, see the `spring.jackson.*`
+     *         properties of application.properties and {@link JacksonConfiguration}.
+     */
+    static ObjectMapper objectMapper() {
+        final Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder
+            .json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        JacksonConfiguration.rfc3339DateTime(builder);
+        return builder.build();
+    }
+
+    static TodoList list() {
+        final TodoList list = new TodoList();
+        list.setId(objectId(0));
+        list.setName("Groceries");
+        list.setDescription("Things to buy before the weekend");
+        return list;
+    }
+
+    /**
+     * @return the nth item of a list, with its id set when `withId` is true.
+     */
+    static TodoItem item(String listId, int n, boolean withId) {
+        final TodoItem item = new TodoItem();
+        if (withId) {
+            item.setId(objectId(n + 1));
+        }
+        item.setListId(listId);
+        item.setName("Item " + n);
+        item.setDescription("Description of item " + n + " of the list");
+        item.setState(TodoState.values()[n % TodoState.values().length]);
+        item.setDueDate(DUE_DATE.plusHours(n));
+        if (item.getState() == TodoState.DONE) {
+            item.setCompletedDate(COMPLETED_DATE.plusMinutes(n));
+        }
+        return item;
+    }
+
+    static List<TodoItem> items(String listId, int count, boolean withId) {
+        final List<TodoItem> items = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            items.add(item(listId, n, withId));
+        }
+        return items;
+    }
+
+    // increasing ids, in the order the items are created.
+    private static String objectId(int n) {
+        return new ObjectId(0x66000000 + n, n).toHexString();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Jackson (de)serialization of the request and response bodies, with the object mapper settings of
+ * the application.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    // number of items of a listing response, the default `top` of the API.
+    @Param({ "20" })
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private JavaType itemListType;
+
+    private TodoList list;
+
+    private byte[] listJson;
+
+    private TodoItem item;
+
+    private byte[] itemJson;
+
+    private List<TodoItem> page;
+
+    private byte[] pageJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Fixtures.objectMapper();
+        itemListType = objectMapper.getTypeFactory().constructCollectionType(List.class, TodoItem.class);
+        list = Fixtures.list();
+        listJson = objectMapper.writeValueAsBytes(list);
+        // a DONE item, so both dates are set.
+        item = Fixtures.item(list.getId(), 2, true);
+        itemJson = objectMapper.writeValueAsBytes(item);
+        page = Fixtures.items(list.getId(), pageSize, true);
+        pageJson = objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return objectMapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public TodoList deserializeList() throws IOException {
+        return objectMapper.readValue(listJson, TodoList.class);
+    }
+
+    @Benchmark
+    public byte[] serializeItem() throws IOException {
+        return objectMapper.writeValueAsBytes(item);
+    }
+
+    @Benchmark
+    public TodoItem deserializeItem() throws IOException {
+        return objectMapper.readValue(itemJson, TodoItem.class);
+    }
+
+    @Benchmark
+    public byte[] serializeItemPage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<TodoItem> deserializeItemPage() throws IOException {
+        return objectMapper.readValue(pageJson, itemListType);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a mixed workload against the API and reports the throughput and latency percentiles of
+ * each endpoint, see {@link LoadTestWorkload}.
+ * <p>
+ * By default it starts the application in this JVM against an in-memory MongoDB stand-in, or against
+ * `--mongodb-uri`. With `--target` it sends the requests to an API running elsewhere instead, which
+ * keeps the load generator from competing with the application for CPU. Options:
+ * <ul>
+ * <li>`--clients` number of concurrent clients, 16 by default.</li>
+ * <li>`--warmup` and `--duration` seconds spent sending requests before and while measuring, 15 and 60
+ * by default.</li>
+ * <li>`--rate` total requests per second to send, at a fixed pace, instead of each client sending a
+ * request as soon as it has the previous response.</li>
+ * <li>`--lists` and `--items` number of lists, and of items per list, created before the run, 10 and
+ * 200 by default.</li>
+ * <li>`--skip-depths` comma separated `skip` values of the item listings, 0,50,150 by default.</li>
+ * <li>`--seed` seed of the random choices of the clients, for runs sending the same requests.</li>
+ * <li>`--output` file the results are written to as JSON, target/loadtest-result.json by default.</li>
+ * <li>`--baseline` results of an earlier run to compare this one to.</li>
+ * </ul>
+ * Other arguments are passed to the application, e.g. `--spring.cache.type=none`.
+ */
+public final class LoadTest {
+
+    private static final Map<String, String> DEFAULTS = Map.ofEntries(
+        Map.entry("clients", "16"),
+        Map.entry("warmup", "15"),
+        Map.entry("duration", "60"),
+        Map.entry("rate", "0"),
+        Map.entry("lists", "10"),
+        Map.entry("items", "200"),
+        Map.entry("skip-depths", "0,50,150"),
+        Map.entry("seed", "42"),
+        Map.entry("output", "target/loadtest-result.json")
+    );
+
+    private static final List<String> OPTIONS = List.of("target", "mongodb-uri", "baseline");
+
+    private LoadTest() {}
+
+    public static void main(String[] args) throws Exception {
+        // sorted, so the settings are in the same order in every result file.
+        final Map<String, String> options = new TreeMap<>(DEFAULTS);
+        final List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            final int equals = arg.indexOf('=');
+            final String name = arg.startsWith("--") && equals > 2 ? arg.substring(2, equals) : null;
+            if (name != null && (DEFAULTS.containsKey(name) || OPTIONS.contains(name))) {
+                options.put(name, arg.substring(equals + 1));
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+        final int clients = Integer.parseInt(options.get("clients"));
+        final int warmup = Integer.parseInt(options.get("warmup"));
+        final int duration = Integer.parseInt(options.get("duration"));
+        final int rate = Integer.parseInt(options.get("rate"));
+        final int[] skipDepths = Arrays.stream(options.get("skip-depths").split(",")).mapToInt(Integer::parseInt).toArray();
+
+        final ObjectMapper objectMapper = Fixtures.objectMapper();
+        final ObjectNode settings = objectMapper.createObjectNode();
+        settings.put("startedAt", OffsetDateTime.now(ZoneOffset.UTC).toString());
+        settings.put("javaVersion", Runtime.version().toString());
+        settings.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        options.forEach(settings::put);
+        settings.putPOJO("applicationArgs", applicationArgs);
+
+        final LocalApplication application = options.containsKey("target")
+            ? null
+            : LocalApplication.start(options.get("mongodb-uri"), applicationArgs.toArray(String[]::new));
+        try {
+            final URI baseUri = URI.create(
+                application == null ? options.get("target") : "http://localhost:" + application.port()
+            );
+            final LoadTestWorkload workload = new LoadTestWorkload(baseUri, objectMapper, skipDepths);
+            System.out.printf("Creating %s lists of %s items on %s%n", options.get("lists"), options.get("items"), baseUri);
+            workload.seed(Integer.parseInt(options.get("lists")), Integer.parseInt(options.get("items")), clients);
+
+            System.out.printf("Running %d clients for %ds of warmup and %ds of measurement%n", clients, warmup, duration);
+            final LoadTestWorkload.Recording recording = run(workload, options, clients, warmup, duration, rate);
+
+            final ObjectNode report = LoadTestReport.create(settings, recording, duration);
+            LoadTestReport.print(System.out, report);
+            final Path output = Path.of(options.get("output"));
+            if (output.getParent() != null) {
+                Files.createDirectories(output.getParent());
+            }
+            objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), report);
+            System.out.printf("Results saved to %s%n", output.toAbsolutePath());
+            if (options.containsKey("baseline")) {
+                System.out.printf("Compared to %s%n", options.get("baseline"));
+                LoadTestReport.compare(System.out, readBaseline(objectMapper, options.get("baseline")), report);
+            }
+        } finally {
+            if (application != null) {
+                application.close();
+            }
+        }
+    }
+
+    private static LoadTestWorkload.Recording run(
+        LoadTestWorkload workload,
+        Map<String, String> options,
+        int clients,
+        int warmup,
+        int duration,
+        int rate
+    ) throws Exception {
+        final long seed = Long.parseLong(options.get("seed"));
+        // each client sends its share of the requests, spread evenly over the interval.
+        final long interval = rate > 0 ? TimeUnit.SECONDS.toNanos(clients) / rate : 0;
+        final long start = System.nanoTime();
+        final long measuredFrom = start + TimeUnit.SECONDS.toNanos(warmup);
+        final long until = measuredFrom + TimeUnit.SECONDS.toNanos(duration);
+        final ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            final List<Future<LoadTestWorkload.Recording>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                final int client = c;
+                final long clientStart = start + interval * client / clients;
+                futures.add(executor.submit(() -> workload.run(seed + client, clientStart, measuredFrom, until, interval)));
+            }
+            final LoadTestWorkload.Recording recording = new LoadTestWorkload.Recording();
+            for (Future<LoadTestWorkload.Recording> future : futures) {
+                recording.add(future.get());
+            }
+            return recording;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static JsonNode readBaseline(ObjectMapper objectMapper, String path) throws IOException {
+        return objectMapper.readTree(Path.of(path).toFile());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The results of a load test run, as JSON.
+ * <p>
+ * Each endpoint has its throughput, error count and latency percentiles in milliseconds, plus its
+ * full latency histogram in nanoseconds, compressed and base64 encoded as in HdrHistogram logs, so
+ * other percentiles can be computed later. Endpoints are sorted by name so two result files can be
+ * compared with any diff tool.
+ */
+final class LoadTestReport {
+
+    static final String TOTAL = "total";
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private LoadTestReport() {}
+
+    static ObjectNode create(ObjectNode settings, LoadTestWorkload.Recording recording, double measuredSeconds) {
+        final ObjectNode report = JsonNodeFactory.instance.objectNode();
+        report.set("settings", settings);
+        final ObjectNode endpoints = report.putObject("endpoints");
+        final Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        final TreeSet<String> labels = new TreeSet<>(recording.latencies().keySet());
+        labels.addAll(recording.errors().keySet());
+        for (String label : labels) {
+            final Histogram histogram = recording.latencies().getOrDefault(label, new Histogram(3));
+            final long errors = recording.errors().getOrDefault(label, 0L);
+            endpoints.set(label, summary(histogram, errors, measuredSeconds));
+            total.add(histogram);
+            totalErrors += errors;
+        }
+        report.set(TOTAL, summary(total, totalErrors, measuredSeconds));
+        return report;
+    }
+
+    private static ObjectNode summary(Histogram histogram, long errors, double measuredSeconds) {
+        final ObjectNode summary = JsonNodeFactory.instance.objectNode();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughput", round(histogram.getTotalCount() / measuredSeconds));
+        summary.put("meanMs", round(histogram.getMean() / NANOS_PER_MILLI));
+        summary.put("p50Ms", percentile(histogram, 50));
+        summary.put("p90Ms", percentile(histogram, 90));
+        summary.put("p99Ms", percentile(histogram, 99));
+        summary.put("p999Ms", percentile(histogram, 99.9));
+        summary.put("maxMs", round(histogram.getMaxValue() / NANOS_PER_MILLI));
+        final ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        final int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        summary.put("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length)));
+        return summary;
+    }
+
+    private static double percentile(Histogram histogram, double percentile) {
+        return round(histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    static void print(PrintStream out, JsonNode report) {
+        final String format = "%-36s %9s %7s %10s %10s %10s %10s %10s%n";
+        out.printf(format, "Endpoint", "Count", "Errors", "Req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        final Map.Entry<String, JsonNode> total = Map.entry(TOTAL, report.get(TOTAL));
+        for (Map.Entry<String, JsonNode> endpoint : iterable(report.get("endpoints"), total)) {
+            final JsonNode summary = endpoint.getValue();
+            out.printf(
+                format,
+                endpoint.getKey(),
+                summary.get("count").asText(),
+                summary.get("errors").asText(),
+                summary.get("throughput").asText(),
+                summary.get("p50Ms").asText(),
+                summary.get("p99Ms").asText(),
+                summary.get("p999Ms").asText(),
+                summary.get("maxMs").asText()
+            );
+        }
+    }
+
+    /**
+     * Prints the change of the throughput and latency percentiles of each endpoint since a baseline
+     * run, as a percentage of the baseline.
+     */
+    static void compare(PrintStream out, JsonNode baseline, JsonNode report) {
+        final String format = "%-36s %18s %18s %18s %18s%n";
+        out.printf(format, "Endpoint", "Req/s", "p50 ms", "p99 ms", "p99.9 ms");
+        final Map.Entry<String, JsonNode> total = Map.entry(TOTAL, report.get(TOTAL));
+        for (Map.Entry<String, JsonNode> endpoint : iterable(report.get("endpoints"), total)) {
+            final JsonNode before = TOTAL.equals(endpoint.getKey())
+                ? baseline.get(TOTAL)
+                : baseline.path("endpoints").get(endpoint.getKey());
+            if (before == null) {
+                out.printf(format, endpoint.getKey(), "new", "new", "new", "new");
+                continue;
+            }
+            final JsonNode after = endpoint.getValue();
+            out.printf(
+                format,
+                endpoint.getKey(),
+                change(before, after, "throughput"),
+                change(before, after, "p50Ms"),
+                change(before, after, "p99Ms"),
+                change(before, after, "p999Ms")
+            );
+        }
+    }
+
+    private static String change(JsonNode before, JsonNode after, String field) {
+        final double from = before.get(field).asDouble();
+        final double to = after.get(field).asDouble();
+        if (from == 0) {
+            return String.valueOf(to);
+        }
+        return String.format("%s (%+.1f%%)", to, (to - from) * 100 / from);
+    }
+
+    private static Iterable<Map.Entry<String, JsonNode>> iterable(JsonNode endpoints, Map.Entry<String, JsonNode> total) {
+        final List<Map.Entry<String, JsonNode>> entries = new ArrayList<>();
+        endpoints.fields().forEachRemaining(entries::add);
+        entries.add(total);
+        return entries;
+    }
+}
@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.azure.simpletodo.model.TodoItem;
+import com.microsoft.azure.simpletodo.model.TodoList;
+import com.microsoft.azure.simpletodo.model.TodoState;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.HdrHistogram.Histogram;
+
+/**
+ * The mix of requests replayed by the load test, over lists and items seeded beforehand.
+ * <p>
+ * Each client sends one request at a time, picking the next operation at random with the weights
+ * below. Lists and items created by a client are the ones it deletes later, so the seeded data stays
+ * in place for the reads.
+ */
+final class LoadTestWorkload {
+
+    private static final int PAGE_SIZE = 20;
+
+    private static final int BULK_UPDATE_SIZE = 20;
+
+    private static final String[] STATES = { "todo", "inprogress", "done" };
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+    /**
+     * The endpoints of `ListsApi` and `ItemsApi`, named after their operation id, with their share of
+     * the requests.
+     */
+    enum Operation {
+        CREATE_LIST("createList", 2),
+        GET_LISTS("getLists", 4),
+        GET_LIST_BY_ID("getListById", 8),
+        UPDATE_LIST_BY_ID("updateListById", 2),
+        DELETE_LIST_BY_ID("deleteListById", 1),
+        CREATE_ITEM("createItem", 10),
+        GET_ITEM_BY_ID("getItemById", 20),
+        GET_ITEMS_BY_LIST_ID("getItemsByListId", 20),
+        GET_ITEMS_BY_LIST_ID_AND_STATE("getItemsByListIdAndState", 10),
+        UPDATE_ITEM_BY_ID("updateItemById", 8),
+        UPDATE_ITEMS_STATE_BY_LIST_ID("updateItemsStateByListId", 2),
+        DELETE_ITEM_BY_ID("deleteItemById", 5);
+
+        private final String endpoint;
+
+        private final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+    }
+
+    private static final Operation[] OPERATIONS = weighted();
+
+    private final HttpClient httpClient = HttpClient
+        .newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+
+    private final URI baseUri;
+
+    private final ObjectMapper objectMapper;
+
+    private final int[] skipDepths;
+
+    private final List<SeededList> seededLists = Collections.synchronizedList(new ArrayList<>());
+
+    LoadTestWorkload(URI baseUri, ObjectMapper objectMapper, int[] skipDepths) {
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+        this.skipDepths = skipDepths;
+    }
+
+    /**
+     * Creates the lists and items read by the workload, through the API.
+     */
+    void seed(int listCount, int itemCount, int parallelism) throws InterruptedException, ExecutionException {
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int l = 0; l < listCount; l++) {
+                final int n = l;
+                futures.add(executor.submit(() -> seedList(n, itemCount)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Void seedList(int n, int itemCount) throws IOException, InterruptedException {
+        final TodoList list = new TodoList();
+        list.setName("Load test list " + n);
+        final String listId = idOf(expect(send("POST", "/lists", list), 201));
+        final List<String> itemIds = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            itemIds.add(idOf(expect(send("POST", "/lists/" + listId + "/items", Fixtures.item(listId, i, false)), 201)));
+        }
+        seededLists.add(new SeededList(listId, itemIds));
+        return null;
+    }
+
+    /**
+     * Sends requests until `until`, recording the ones started from `measuredFrom` on.
+     *
+     * @param intervalNanos the time between the starts of two requests, or 0 to send them back to
+     *                      back. With an interval, latencies are measured from the time each request
+     *                      should have started, so a slow response also counts against the requests
+     *                      it holds up.
+     */
+    Recording run(long seed, long startNanos, long measuredFrom, long until, long intervalNanos)
+        throws InterruptedException {
+        final ClientState client = new ClientState(seed);
+        final Recording recording = new Recording();
+        long intended = startNanos;
+        while (true) {
+            if (intervalNanos > 0) {
+                final long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+            }
+            final Step step = next(OPERATIONS[client.random.nextInt(OPERATIONS.length)], client);
+            final long start = System.nanoTime();
+            if (start >= until) {
+                return recording;
+            }
+            boolean succeeded;
+            try {
+                final HttpResponse<byte[]> response = httpClient.send(step.request, HttpResponse.BodyHandlers.ofByteArray());
+                succeeded = response.statusCode() == step.expectedStatus;
+                if (succeeded && step.onSuccess != null) {
+                    step.onSuccess.accept(response);
+                }
+            } catch (IOException | UncheckedIOException e) {
+                succeeded = false;
+            }
+            final long end = System.nanoTime();
+            if (start >= measuredFrom) {
+                recording.record(step.label, end - (intervalNanos > 0 ? intended : start), succeeded);
+            }
+            intended += intervalNanos;
+        }
+    }
+
+    private Step next(Operation operation, ClientState client) {
+        final SeededList list = seededLists.get(client.random.nextInt(seededLists.size()));
+        final String listPath = "/lists/" + list.id;
+        return switch (operation) {
+            case CREATE_LIST -> {
+                final TodoList newList = new TodoList();
+                newList.setName("Load test list");
+                yield new Step(operation.endpoint, request("POST", "/lists", newList), 201, r -> client.lists.push(idOf(r)));
+            }
+            case GET_LISTS -> new Step(operation.endpoint, request("GET", "/lists?top=" + PAGE_SIZE, null), 200, null);
+            case GET_LIST_BY_ID -> new Step(operation.endpoint, request("GET", listPath, null), 200, null);
+            case UPDATE_LIST_BY_ID -> {
+                final TodoList update = new TodoList();
+                update.setName("Load test list, updated");
+                yield new Step(operation.endpoint, request("PUT", listPath, update), 200, null);
+            }
+            case DELETE_LIST_BY_ID -> client.lists.isEmpty()
+                ? next(Operation.CREATE_LIST, client)
+                : new Step(operation.endpoint, request("DELETE", "/lists/" + client.lists.pop(), null), 202, null);
+            case CREATE_ITEM -> new Step(
+                operation.endpoint,
+                request("POST", listPath + "/items", Fixtures.item(list.id, client.random.nextInt(1000), false)),
+                201,
+                r -> client.items.push(listPath + "/items/" + idOf(r))
+            );
+            case GET_ITEM_BY_ID -> new Step(operation.endpoint, request("GET", itemPath(list, client), null), 200, null);
+            case GET_ITEMS_BY_LIST_ID -> {
+                // offset paging goes through the documents of the previous pages, report each depth apart.
+                final int skip = skipDepths[client.random.nextInt(skipDepths.length)];
+                yield new Step(
+                    operation.endpoint + " skip=" + skip,
+                    request("GET", listPath + "/items?top=" + PAGE_SIZE + "&skip=" + skip, null),
+                    200,
+                    null
+                );
+            }
+            case GET_ITEMS_BY_LIST_ID_AND_STATE -> new Step(
+                operation.endpoint,
+                request("GET", listPath + "/items/state/" + state(client) + "?top=" + PAGE_SIZE, null),
+                200,
+                null
+            );
+            case UPDATE_ITEM_BY_ID -> {
+                final TodoItem update = Fixtures.item(list.id, client.random.nextInt(1000), false);
+                update.setState(TodoState.fromValue(state(client)));
+                yield new Step(operation.endpoint, request("PUT", itemPath(list, client), update), 200, null);
+            }
+            case UPDATE_ITEMS_STATE_BY_LIST_ID -> {
+                final List<String> itemIds = new ArrayList<>(BULK_UPDATE_SIZE);
+                for (int i = 0; i < BULK_UPDATE_SIZE && !list.itemIds.isEmpty(); i++) {
+                    itemIds.add(list.itemIds.get(client.random.nextInt(list.itemIds.size())));
+                }
+                yield new Step(
+                    operation.endpoint,
+                    request("PUT", listPath + "/items/state/" + state(client), itemIds),
+                    200,
+                    null
+                );
+            }
+            case DELETE_ITEM_BY_ID -> client.items.isEmpty()
+                ? next(Operation.CREATE_ITEM, client)
+                : new Step(operation.endpoint, request("DELETE", client.items.pop(), null), 204, null);
+        };
+    }
+
+    private static String itemPath(SeededList list, ClientState client) {
+        return "/lists/" + list.id + "/items/" + list.itemIds.get(client.random.nextInt(list.itemIds.size()));
+    }
+
+    private static String state(ClientState client) {
+        return STATES[client.random.nextInt(STATES.length)];
+    }
+
+    private HttpResponse<byte[]> send(String method, String path, Object body) throws IOException, InterruptedException {
+        return httpClient.send(request(method, path, body), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpRequest request(String method, String path, Object body) {
+        final HttpRequest.Builder request = HttpRequest
+            .newBuilder(baseUri.resolve(path))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Accept", "application/json");
+        if (body == null) {
+            return request.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        try {
+            return request
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private String idOf(HttpResponse<byte[]> response) {
+        try {
+            return objectMapper.readTree(response.body()).get("id").asText();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static HttpResponse<byte[]> expect(HttpResponse<byte[]> response, int status) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(
+                response.request().method() +
+                " " +
+                response.uri() +
+                " answered " +
+                response.statusCode() +
+                " instead of " +
+                status
+            );
+        }
+        return response;
+    }
+
+    private static Operation[] weighted() {
+        final List<Operation> operations = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            operations.addAll(Collections.nCopies(operation.weight, operation));
+        }
+        return operations.toArray(Operation[]::new);
+    }
+
+    private record SeededList(String id, List<String> itemIds) {}
+
+    private record Step(String label, HttpRequest request, int expectedStatus, Consumer<HttpResponse<byte[]>> onSuccess) {}
+
+    private static final class ClientState {
+
+        private final SplittableRandom random;
+
+        // paths of the lists and items created by this client, which it may delete.
+        private final Deque<String> lists = new ArrayDeque<>();
+
+        private final Deque<String> items = new ArrayDeque<>();
+
+        private ClientState(long seed) {
+            this.random = new SplittableRandom(seed);
+        }
+    }
+
+    /**
+     * The latencies of the successful requests and the number of failed ones, by endpoint.
+     */
+    static final class Recording {
+
+        private final Map<String, Histogram> latencies = new TreeMap<>();
+
+        private final Map<String, Long> errors = new TreeMap<>();
+
+        void record(String label, long latencyNanos, boolean succeeded) {
+            if (succeeded) {
+                latencies.computeIfAbsent(label, l -> new Histogram(3)).recordValue(latencyNanos);
+            } else {
+                errors.merge(label, 1L, Long::sum);
+            }
+        }
+
+        void add(Recording other) {
+            other.latencies.forEach((label, histogram) ->
+                latencies.computeIfAbsent(label, l -> new Histogram(3)).add(histogram)
+            );
+            other.errors.forEach((label, count) -> errors.merge(label, count, Long::sum));
+        }
+
+        Map<String, Histogram> latencies() {
+            return latencies;
+        }
+
+        Map<String, Long> errors() {
+            return errors;
+        }
+    }
+}
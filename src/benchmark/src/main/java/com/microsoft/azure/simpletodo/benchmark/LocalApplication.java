@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.benchmark;
+
+import com.microsoft.azure.simpletodo.SimpleTodoApplication;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The API running in this JVM with its own configuration, on a random port, against mongo-java-server
+ * (an in-memory stand-in for MongoDB) or the given database.
+ */
+final class LocalApplication implements AutoCloseable {
+
+    private final MongoServer mongoServer;
+
+    private final ConfigurableApplicationContext context;
+
+    private LocalApplication(MongoServer mongoServer, ConfigurableApplicationContext context) {
+        this.mongoServer = mongoServer;
+        this.context = context;
+    }
+
+    /**
+     * @param mongoUri the connection string of the database, or null to start an in-memory one.
+     * @param args     arguments of the application, e.g. `--spring.cache.type=none`.
+     */
+    static LocalApplication start(String mongoUri, String... args) {
+        final MongoServer mongoServer = mongoUri == null ? new MongoServer(new MemoryBackend()) : null;
+        final List<String> arguments = new ArrayList<>();
+        final String uri = mongoServer == null ? mongoUri : mongoServer.bindAndGetConnectionString();
+        arguments.add("--spring.data.mongodb.uri=" + uri);
+        arguments.add("--server.port=0");
+        arguments.add("--management.server.port=-1");
+        arguments.add("--todo.orphan-sweep.initial-delay=P1D");
+        arguments.add("--spring.main.banner-mode=off");
+        arguments.add("--logging.level.root=WARN");
+        // the in-memory database warns about every index it doesn't implement.
+        arguments.add("--logging.level.de.bwaldvogel=ERROR");
+        // command line arguments override the properties of the application, the last ones win.
+        arguments.addAll(List.of(args));
+        try {
+            return new LocalApplication(
+                mongoServer,
+                new SpringApplication(SimpleTodoApplication.class).run(arguments.toArray(String[]::new))
+            );
+        } catch (RuntimeException e) {
+            if (mongoServer != null) {
+                mongoServer.shutdownNow();
+            }
+            throw e;
+        }
+    }
+
+    ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    int port() {
+        return ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        if (mongoServer != null) {
+            mongoServer.shutdownNow();
+        }
+    }
+}
@@ -1,4 +1,9 @@
-package com.microsoft.azure.simpletodo.configuration;
+/*
+ * Copyright (c) Microsoft Corporation. All rights reserved.
+ * Licensed under the MIT License. See License.txt in the project root for license information.
+ */
+
+package com.microsoft.azure.simpletodo.benchmark;
 
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 import java.text.DateFormat;
@@ -8,7 +13,13 @@ import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.TimeZone;
 
-public class RFC3339DateFormat extends DateFormat {
+/**
+ * The `spring.jackson.date-format` of the API before
+ * {@link com.microsoft.azure.simpletodo.configuration.RFC3339DateTimeCodec}, kept as the baseline of
+ * {@link DateCodecBenchmark}. As {@link #clone()} returns the instance itself, the object mapper used a
+ * single instance, and its calendar, from all the request threads.
+ */
+final class RFC3339DateFormat extends DateFormat {
 
     private static final long serialVersionUID = 1L;
 